@@ -0,0 +1,74 @@
+package com.exemple.sortinganalysis.bench;
+
+import com.exemple.sortinganalysis.DataGenerators;
+import com.exemple.sortinganalysis.SortMetrics;
+import com.exemple.sortinganalysis.SortingComparisonEnhanced;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH do Counting Sort para inteiros, com o Radix Sort LSD (8 bits)
+ * como referência. O Counting Sort só aceita intervalos estreitos de valores
+ * ({@link SortingComparisonEnhanced#COUNTING_SORT_MAX_RANGE}) e lança exceção nos
+ * demais, por isso as distribuições ficam numa classe à parte, restritas às de
+ * intervalo estreito (few-unique).
+ * Cada invocação ordena uma cópia nova da entrada, restaurada fora da medição.
+ * O método com sufixo {@code Fast} executa o mesmo algoritmo sem contagem
+ * ({@link SortMetrics#uncounted()}).
+ * Modo: uma execução por iteração (SingleShotTime), com média e percentis das iterações.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(2)
+@State(Scope.Thread)
+public class CountingSortBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"few-unique"})
+    public String distribution;
+
+    // Entrada original (gerada uma vez por trial) e cópia de trabalho
+    private int[] source;
+    private int[] work;
+    private final SortMetrics metrics = new SortMetrics();
+    // Mesma instância sem contagem, para o método com sufixo Fast
+    private final SortMetrics uncounted = metrics.uncounted();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = DataGenerators.ints(distribution, size, DataGenerators.DEFAULT_SEED);
+        if (!SortingComparisonEnhanced.isCountingSortApplicable(source)) {
+            throw new IllegalArgumentException("Intervalo de valores grande demais para o Counting Sort: " + distribution);
+        }
+        work = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        System.arraycopy(source, 0, work, 0, size);
+        metrics.reset();
+    }
+
+    @Benchmark
+    public int[] countingSort() {
+        SortingComparisonEnhanced.countingSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] countingSortFast() {
+        SortingComparisonEnhanced.countingSort(work, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public int[] radixSort8() {
+        SortingComparisonEnhanced.radixSort(work, 8, metrics);
+        return work;
+    }
+}
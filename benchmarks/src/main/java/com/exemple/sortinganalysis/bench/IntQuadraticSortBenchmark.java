@@ -0,0 +1,56 @@
+package com.exemple.sortinganalysis.bench;
+
+import com.exemple.sortinganalysis.DataGenerators;
+import com.exemple.sortinganalysis.SortMetrics;
+import com.exemple.sortinganalysis.SortingComparisonEnhanced;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH dos algoritmos para inteiros que podem degradar para O(n²):
+ * Bubble Sort sempre, e o Quick Sort com pivô fixo em entradas ordenadas.
+ * Usa tamanhos menores e pilha maior (a recursão do Quick Sort chega a n níveis).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(value = 2, jvmArgsAppend = "-Xss64m")
+@State(Scope.Thread)
+public class IntQuadraticSortBenchmark {
+
+    @Param({"5000", "10000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    private int[] source;
+    private int[] work;
+    private final SortMetrics metrics = new SortMetrics();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = DataGenerators.ints(distribution, size, DataGenerators.DEFAULT_SEED);
+        work = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        System.arraycopy(source, 0, work, 0, size);
+        metrics.reset();
+    }
+
+    @Benchmark
+    public int[] bubbleSort() {
+        SortingComparisonEnhanced.bubbleSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        SortingComparisonEnhanced.quickSort(work, 0, work.length - 1, metrics);
+        return work;
+    }
+}
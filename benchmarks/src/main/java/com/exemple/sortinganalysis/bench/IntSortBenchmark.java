@@ -0,0 +1,165 @@
+package com.exemple.sortinganalysis.bench;
+
+import com.exemple.sortinganalysis.DataGenerators;
+import com.exemple.sortinganalysis.ParallelMergeSort;
+import com.exemple.sortinganalysis.SortMetrics;
+import com.exemple.sortinganalysis.SortingComparisonEnhanced;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH dos algoritmos para inteiros que não degradam para O(n²):
+ * Merge Sort, Merge Sort com buffer único, TimSort, Heap Sort (binário, bottom-up e 4-ário), Parallel Merge Sort,
+ * Introsort, Quick Sort 3-way, Dual-Pivot Quick Sort e Radix Sort LSD.
+ * Cada invocação ordena uma cópia nova da entrada, restaurada fora da medição.
+ * Os métodos com sufixo {@code Fast} executam os mesmos algoritmos sem contagem
+ * ({@link SortMetrics#uncounted()}), para medir o custo da instrumentação.
+ * Modo: uma execução por iteração (SingleShotTime). A restauração a cada invocação
+ * só fica de fora da medição sem distorcê-la quando cada chamada é cronometrada
+ * isoladamente; o JMH reporta a média e os percentis das iterações.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(2)
+@State(Scope.Thread)
+public class IntSortBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    // Entrada original (gerada uma vez por trial) e cópia de trabalho
+    private int[] source;
+    private int[] work;
+    // Buffer auxiliar reaproveitado pelo Merge Sort com buffer único
+    private int[] buffer;
+    private final SortMetrics metrics = new SortMetrics();
+    // Mesma instância sem contagem, para os métodos com sufixo Fast
+    private final SortMetrics uncounted = metrics.uncounted();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = DataGenerators.ints(distribution, size, DataGenerators.DEFAULT_SEED);
+        work = new int[size];
+        buffer = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        System.arraycopy(source, 0, work, 0, size);
+        metrics.reset();
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        SortingComparisonEnhanced.mergeSort(work, 0, work.length - 1, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] mergeSortBuffered() {
+        SortingComparisonEnhanced.mergeSortBuffered(work, buffer, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] timSort() {
+        SortingComparisonEnhanced.timSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapSort() {
+        SortingComparisonEnhanced.heapSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] bottomUpHeapSort() {
+        SortingComparisonEnhanced.bottomUpHeapSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] fourAryHeapSort() {
+        SortingComparisonEnhanced.fourAryHeapSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() {
+        ParallelMergeSort.sort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] introSort() {
+        SortingComparisonEnhanced.introSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] quickSort3Way() {
+        SortingComparisonEnhanced.quickSort3Way(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] dualPivotQuickSort() {
+        SortingComparisonEnhanced.dualPivotQuickSort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] radixSort8() {
+        SortingComparisonEnhanced.radixSort(work, 8, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] radixSort11() {
+        SortingComparisonEnhanced.radixSort(work, 11, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] radixSort16() {
+        SortingComparisonEnhanced.radixSort(work, 16, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] mergeSortBufferedFast() {
+        SortingComparisonEnhanced.mergeSortBuffered(work, buffer, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapSortFast() {
+        SortingComparisonEnhanced.heapSort(work, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public int[] introSortFast() {
+        SortingComparisonEnhanced.introSort(work, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public int[] quickSort3WayFast() {
+        SortingComparisonEnhanced.quickSort3Way(work, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public int[] radixSort8Fast() {
+        SortingComparisonEnhanced.radixSort(work, 8, uncounted);
+        return work;
+    }
+}
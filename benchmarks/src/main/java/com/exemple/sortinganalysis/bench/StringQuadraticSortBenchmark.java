@@ -0,0 +1,55 @@
+package com.exemple.sortinganalysis.bench;
+
+import com.exemple.sortinganalysis.DataGenerators;
+import com.exemple.sortinganalysis.SortMetrics;
+import com.exemple.sortinganalysis.SortingComparisonEnhanced;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH dos algoritmos para strings que podem degradar para O(n²)
+ * (Bubble Sort e Quick Sort com pivô fixo), com tamanhos menores e pilha maior.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(value = 2, jvmArgsAppend = "-Xss64m")
+@State(Scope.Thread)
+public class StringQuadraticSortBenchmark {
+
+    @Param({"5000", "10000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    private String[] source;
+    private String[] work;
+    private final SortMetrics metrics = new SortMetrics();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = DataGenerators.strings(distribution, size, DataGenerators.DEFAULT_SEED);
+        work = new String[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        System.arraycopy(source, 0, work, 0, size);
+        metrics.reset();
+    }
+
+    @Benchmark
+    public String[] bubbleSortStrings() {
+        SortingComparisonEnhanced.bubbleSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] quickSortStrings() {
+        SortingComparisonEnhanced.quickSortStrings(work, 0, work.length - 1, metrics);
+        return work;
+    }
+}
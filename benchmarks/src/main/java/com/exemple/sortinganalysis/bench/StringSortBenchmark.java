@@ -0,0 +1,135 @@
+package com.exemple.sortinganalysis.bench;
+
+import com.exemple.sortinganalysis.DataGenerators;
+import com.exemple.sortinganalysis.FoldedStringSort;
+import com.exemple.sortinganalysis.ParallelMergeSort;
+import com.exemple.sortinganalysis.SortMetrics;
+import com.exemple.sortinganalysis.SortingComparisonEnhanced;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH dos algoritmos O(n log n) para strings (comparação ignorando case),
+ * incluindo o Multikey Quick Sort sobre chaves pré-normalizadas. Os métodos com
+ * sufixo {@code Fast} executam os mesmos algoritmos sem contagem ({@link SortMetrics#uncounted()}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(2)
+@State(Scope.Thread)
+public class StringSortBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed", "few-unique"})
+    public String distribution;
+
+    private String[] source;
+    private String[] work;
+    // Buffer auxiliar reaproveitado pelo Merge Sort com buffer único
+    private String[] buffer;
+    private final SortMetrics metrics = new SortMetrics();
+    // Mesma instância sem contagem, para os métodos com sufixo Fast
+    private final SortMetrics uncounted = metrics.uncounted();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = DataGenerators.strings(distribution, size, DataGenerators.DEFAULT_SEED);
+        work = new String[size];
+        buffer = new String[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        System.arraycopy(source, 0, work, 0, size);
+        metrics.reset();
+    }
+
+    @Benchmark
+    public String[] mergeSortStrings() {
+        SortingComparisonEnhanced.mergeSortStrings(work, 0, work.length - 1, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] mergeSortBufferedStrings() {
+        SortingComparisonEnhanced.mergeSortBufferedStrings(work, buffer, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] timSortStrings() {
+        SortingComparisonEnhanced.timSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] heapSortStrings() {
+        SortingComparisonEnhanced.heapSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] bottomUpHeapSortStrings() {
+        SortingComparisonEnhanced.bottomUpHeapSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] fourAryHeapSortStrings() {
+        SortingComparisonEnhanced.fourAryHeapSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] parallelMergeSortStrings() {
+        ParallelMergeSort.sortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] introSortStrings() {
+        SortingComparisonEnhanced.introSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] quickSort3WayStrings() {
+        SortingComparisonEnhanced.quickSort3WayStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] dualPivotQuickSortStrings() {
+        SortingComparisonEnhanced.dualPivotQuickSortStrings(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] multikeyQuickSort() {
+        FoldedStringSort.sort(work, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public String[] mergeSortBufferedStringsFast() {
+        SortingComparisonEnhanced.mergeSortBufferedStrings(work, buffer, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public String[] introSortStringsFast() {
+        SortingComparisonEnhanced.introSortStrings(work, uncounted);
+        return work;
+    }
+
+    @Benchmark
+    public String[] quickSort3WayStringsFast() {
+        SortingComparisonEnhanced.quickSort3WayStrings(work, uncounted);
+        return work;
+    }
+}
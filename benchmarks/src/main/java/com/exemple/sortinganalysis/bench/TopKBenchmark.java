@@ -0,0 +1,76 @@
+package com.exemple.sortinganalysis.bench;
+
+import com.exemple.sortinganalysis.DataGenerators;
+import com.exemple.sortinganalysis.SortMetrics;
+import com.exemple.sortinganalysis.SortingComparisonEnhanced;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH das consultas de top-k para inteiros: Introselect, Top-k com
+ * heap limitado e Ordenação parcial, com o Introsort (ordenação completa)
+ * como referência. A consulta é um k fixo ou um percentil
+ * ({@link SortingComparisonEnhanced#topKRank}).
+ * Cada invocação consulta uma cópia nova da entrada, restaurada fora da medição.
+ * Modo: uma execução por iteração (SingleShotTime), com média e percentis das iterações.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(2)
+@State(Scope.Thread)
+public class TopKBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"uniform", "sorted", "reversed"})
+    public String distribution;
+
+    @Param({"100", "p50", "p99"})
+    public String query;
+
+    // Entrada original (gerada uma vez por trial), cópia de trabalho e k da consulta
+    private int[] source;
+    private int[] work;
+    private int k;
+    private final SortMetrics metrics = new SortMetrics();
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = DataGenerators.ints(distribution, size, DataGenerators.DEFAULT_SEED);
+        work = new int[size];
+        k = SortingComparisonEnhanced.topKRank(query, size);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        System.arraycopy(source, 0, work, 0, size);
+        metrics.reset();
+    }
+
+    @Benchmark
+    public int introSelect() {
+        return SortingComparisonEnhanced.introSelect(work, k - 1, metrics);
+    }
+
+    @Benchmark
+    public int[] heapTopK() {
+        SortingComparisonEnhanced.heapTopK(work, k, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] partialSort() {
+        SortingComparisonEnhanced.partialSort(work, k, metrics);
+        return work;
+    }
+
+    @Benchmark
+    public int[] introSort() {
+        SortingComparisonEnhanced.introSort(work, metrics);
+        return work;
+    }
+}
@@ -0,0 +1,303 @@
+package com.exemple.sortinganalysis;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Geradores determinísticos de entradas para os algoritmos (mesma semente,
+ * mesmos dados), usados quando não há arquivo de entrada e nos experimentos
+ * de escala.
+ *
+ * Distribuições: uniforme, ordenada, invertida, quase ordenada (k trocas
+ * aleatórias sobre a ordenada), poucos valores distintos, "organ pipe"
+ * (crescente e depois decrescente), dente de serra (trechos crescentes
+ * repetidos) e Zipf (poucos valores muito frequentes e uma cauda longa).
+ * Todas geram {@code int[]} e {@code String[]}; nas formas baseadas em posição
+ * (ordenada, organ pipe etc.) os textos seguem o mesmo padrão sobre um
+ * vocabulário de palavras aleatórias ordenado.
+ *
+ * Os valores aleatórios são gerados em blocos de tamanho fixo, cada um com
+ * o seu gerador derivado da semente e do número do bloco. Assim a geração é
+ * paralela para entradas grandes e o resultado não depende da quantidade de
+ * threads.
+ */
+public final class DataGenerators {
+
+    // Nomes das distribuições aceitas por ints() e strings()
+    public static final List<String> DISTRIBUTIONS = List.of(
+            "uniform", "sorted", "reversed", "nearly-sorted", "few-unique", "organ-pipe", "sawtooth", "zipfian");
+    // Semente usada quando nenhuma é informada
+    public static final long DEFAULT_SEED = 42L;
+    // Quantidade de valores distintos na distribuição few-unique
+    static final int FEW_UNIQUE_VALUES = 16;
+    // Quantidade de trechos crescentes na distribuição sawtooth
+    static final int SAWTOOTH_TEETH = 16;
+    // Tamanho do vocabulário e expoente da distribuição zipfian
+    static final int ZIPF_VOCABULARY = 1 << 16;
+    static final double ZIPF_EXPONENT = 1.0;
+
+    // Tamanho de cada bloco com gerador próprio
+    private static final int BLOCK_SIZE = 1 << 16;
+    // A partir deste tamanho a geração usa o pool comum do ForkJoin
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private DataGenerators() {
+    }
+
+    /**
+     * Quantidade padrão de trocas da distribuição nearly-sorted: 1% de n (no mínimo 1).
+     */
+    public static int defaultSwaps(int n) {
+        return Math.max(1, n / 100);
+    }
+
+    /**
+     * Cria um array de inteiros com a distribuição pedida (nearly-sorted com {@link #defaultSwaps}).
+     *
+     * @throws IllegalArgumentException se a distribuição não existir
+     */
+    public static int[] ints(String distribution, int n, long seed) {
+        return ints(distribution, n, seed, defaultSwaps(n));
+    }
+
+    /**
+     * Cria um array de inteiros com a distribuição pedida.
+     *
+     * @param swaps quantidade de trocas aleatórias da distribuição nearly-sorted (ignorado nas demais)
+     * @throws IllegalArgumentException se a distribuição não existir
+     */
+    public static int[] ints(String distribution, int n, long seed, int swaps) {
+        int[] arr = new int[n];
+        switch (distribution) {
+            case "uniform":
+                fillBlocks(n, seed, (random, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        arr[i] = random.nextInt();
+                    }
+                });
+                break;
+            case "few-unique":
+                fillBlocks(n, seed, (random, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        arr[i] = random.nextInt(FEW_UNIQUE_VALUES);
+                    }
+                });
+                break;
+            case "zipfian": {
+                double[] cdf = zipfCdf();
+                fillBlocks(n, seed, (random, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        arr[i] = zipfRank(cdf, random);
+                    }
+                });
+                break;
+            }
+            case "reversed":
+                setAll(arr, i -> n - 1 - i);
+                break;
+            default:
+                // Formas baseadas em posição: o valor é a posição no padrão
+                fillShape(arr, distribution, seed, swaps);
+        }
+        return arr;
+    }
+
+    /**
+     * Cria um array de strings com a distribuição pedida (nearly-sorted com {@link #defaultSwaps}).
+     *
+     * @throws IllegalArgumentException se a distribuição não existir
+     */
+    public static String[] strings(String distribution, int n, long seed) {
+        return strings(distribution, n, seed, defaultSwaps(n));
+    }
+
+    /**
+     * Cria um array de strings com a distribuição pedida. As palavras misturam
+     * maiúsculas e minúsculas para exercitar a comparação ignorando case.
+     *
+     * @param swaps quantidade de trocas aleatórias da distribuição nearly-sorted (ignorado nas demais)
+     * @throws IllegalArgumentException se a distribuição não existir
+     */
+    public static String[] strings(String distribution, int n, long seed, int swaps) {
+        if (!DISTRIBUTIONS.contains(distribution)) {
+            throw new IllegalArgumentException("Distribuição desconhecida: " + distribution);
+        }
+        String[] arr = new String[n];
+        switch (distribution) {
+            case "uniform":
+                fillBlocks(n, seed, (random, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        arr[i] = randomWord(random);
+                    }
+                });
+                return arr;
+            case "few-unique":
+            case "zipfian": {
+                boolean zipf = distribution.equals("zipfian");
+                String[] words = vocabulary(zipf ? ZIPF_VOCABULARY : FEW_UNIQUE_VALUES, seed);
+                double[] cdf = zipf ? zipfCdf() : null;
+                fillBlocks(n, seed + 1, (random, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        arr[i] = words[zipf ? zipfRank(cdf, random) : random.nextInt(words.length)];
+                    }
+                });
+                return arr;
+            }
+            default: {
+                // Vocabulário ordenado de n palavras, percorrido no padrão da distribuição
+                String[] sorted = strings("uniform", n, seed);
+                parallelSort(sorted);
+                int[] positions = new int[n];
+                if (distribution.equals("reversed")) {
+                    setAll(positions, i -> n - 1 - i);
+                } else {
+                    fillShape(positions, distribution, seed, swaps);
+                }
+                if (n >= PARALLEL_THRESHOLD) {
+                    Arrays.parallelSetAll(arr, i -> sorted[positions[i]]);
+                } else {
+                    Arrays.setAll(arr, i -> sorted[positions[i]]);
+                }
+                return arr;
+            }
+        }
+    }
+
+    /**
+     * Preenche {@code arr} com posições em [0, n) no padrão da distribuição
+     * (sorted, nearly-sorted, organ-pipe ou sawtooth).
+     */
+    private static void fillShape(int[] arr, String distribution, long seed, int swaps) {
+        int n = arr.length;
+        switch (distribution) {
+            case "sorted":
+                setAll(arr, i -> i);
+                break;
+            case "nearly-sorted": {
+                setAll(arr, i -> i);
+                // As trocas são sequenciais (k costuma ser pequeno perto de n)
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int s = 0; s < swaps && n > 1; s++) {
+                    int a = random.nextInt(n), b = random.nextInt(n);
+                    int temp = arr[a];
+                    arr[a] = arr[b];
+                    arr[b] = temp;
+                }
+                break;
+            }
+            case "organ-pipe": {
+                // 0, 2, 4, ..., pico, ..., 5, 3, 1: crescente e depois decrescente, sem repetição
+                int half = (n + 1) / 2;
+                setAll(arr, i -> i < half ? 2 * i : 2 * (n - 1 - i) + 1);
+                break;
+            }
+            case "sawtooth": {
+                // 0, 1, ..., m-1, 0, 1, ...: SAWTOOTH_TEETH trechos crescentes iguais
+                int tooth = Math.max(1, (n + SAWTOOTH_TEETH - 1) / SAWTOOTH_TEETH);
+                setAll(arr, i -> i % tooth);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Distribuição desconhecida: " + distribution);
+        }
+    }
+
+    /**
+     * Preenche um trecho [from, to) da saída usando o gerador do bloco.
+     */
+    @FunctionalInterface
+    private interface BlockFiller {
+        void fill(SplittableRandom random, int from, int to);
+    }
+
+    /**
+     * Divide [0, n) em blocos de {@link #BLOCK_SIZE} e preenche cada um com um
+     * gerador próprio, semeado pela semente e pelo número do bloco; em paralelo
+     * quando n é grande.
+     */
+    private static void fillBlocks(int n, long seed, BlockFiller filler) {
+        int blocks = (int) (((long) n + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        IntStream range = IntStream.range(0, blocks);
+        if (n >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to = (int) Math.min((long) from + BLOCK_SIZE, n);
+            filler.fill(new SplittableRandom(seed * 0x9E3779B97F4A7C15L + b), from, to);
+        });
+    }
+
+    private static void setAll(int[] arr, IntUnaryOperator generator) {
+        if (arr.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(arr, generator);
+        } else {
+            Arrays.setAll(arr, generator);
+        }
+    }
+
+    private static void parallelSort(String[] arr) {
+        if (arr.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(arr, String.CASE_INSENSITIVE_ORDER);
+        } else {
+            Arrays.sort(arr, String.CASE_INSENSITIVE_ORDER);
+        }
+    }
+
+    /**
+     * Vocabulário de palavras aleatórias (podem repetir em vocabulários grandes).
+     */
+    private static String[] vocabulary(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            words[i] = randomWord(random);
+        }
+        return words;
+    }
+
+    /**
+     * Distribuição acumulada de Zipf sobre os postos 0..V-1: P(k) ∝ 1 / (k+1)^s.
+     */
+    private static double[] zipfCdf() {
+        double[] cdf = new double[ZIPF_VOCABULARY];
+        double sum = 0;
+        for (int k = 0; k < cdf.length; k++) {
+            sum += 1.0 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < cdf.length; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    /**
+     * Sorteia um posto pela distribuição acumulada (busca binária).
+     */
+    private static int zipfRank(double[] cdf, SplittableRandom random) {
+        double u = random.nextDouble();
+        int lo = 0, hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Palavra aleatória de 3 a 12 letras, com case misturado.
+     */
+    private static String randomWord(SplittableRandom random) {
+        int length = 3 + random.nextInt(10);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(26));
+            chars[i] = random.nextBoolean() ? Character.toUpperCase(c) : c;
+        }
+        return new String(chars);
+    }
+}
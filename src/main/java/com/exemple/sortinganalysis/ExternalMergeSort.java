@@ -0,0 +1,544 @@
+package com.exemple.sortinganalysis;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Ordenação externa (merge sort externo) para arquivos maiores que a memória.
+ *
+ * O arquivo de entrada é lido em blocos que cabem no orçamento de memória;
+ * cada bloco é ordenado com um dos algoritmos em memória do catálogo e gravado
+ * como um run num arquivo temporário. Os runs são então intercalados k a k com
+ * um heap mínimo (k limitado pelo orçamento, já que cada run aberto ocupa um
+ * buffer de leitura) até sobrar uma única passada, que grava o arquivo de saída
+ * no mesmo formato da entrada (um valor por linha).
+ *
+ * O orçamento limita os dados de cada bloco e os buffers do merge; algoritmos
+ * que usam memória auxiliar O(n), como o Merge Sort, alocam além disso.
+ * Além das comparações e trocas, o {@link SortMetrics} recebe a quantidade de
+ * runs, de passadas de merge e de bytes lidos e gravados em disco.
+ * Se a execução for cancelada, os runs temporários são removidos e o arquivo
+ * de saída pode ficar incompleto.
+ */
+public final class ExternalMergeSort {
+
+    // Tamanho do buffer de cada run aberto durante o merge (e da escrita dos runs)
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    // Menor orçamento de memória aceito
+    public static final long MIN_MEMORY_BUDGET = 4L * IO_BUFFER_SIZE;
+    // Limite de runs intercalados de uma vez (arquivos abertos simultaneamente)
+    private static final int MAX_FAN_IN = 256;
+    // Maior array que pode ser alocado na JVM
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    // Custo estimado de uma String na memória além dos caracteres (objeto, array e referência)
+    private static final int STRING_OVERHEAD_BYTES = 56;
+    // O pedido de cancelamento é consultado a cada 64K valores intercalados
+    private static final long CANCEL_CHECK_MASK = (1 << 16) - 1;
+
+    private ExternalMergeSort() {
+    }
+
+    /**
+     * Ordena um arquivo de inteiros (um por linha) gravando o resultado em {@code output}.
+     * Os runs intermediários ficam num diretório temporário ao lado da saída,
+     * removido ao final, e são gravados em binário para não repetir a conversão de texto.
+     *
+     * @param memoryBudget bytes disponíveis para cada bloco e para os buffers do merge
+     * @param runSorter algoritmo em memória usado para ordenar cada bloco
+     * @throws IntFileLoader.InvalidValueException se alguma linha não contiver um inteiro válido
+     */
+    public static void sortIntFile(Path input, Path output, long memoryBudget,
+                                   BiConsumer<int[], SortMetrics> runSorter, SortMetrics m) throws IOException {
+        checkBudget(memoryBudget);
+        int fanIn = fanIn(memoryBudget);
+        Path tempDir = createTempDir(output);
+        Throwable primary = null;
+        try {
+            List<Path> runs = new ArrayList<>();
+            int[] chunk = new int[(int) Math.min(memoryBudget / Integer.BYTES, MAX_ARRAY_LENGTH)];
+            try (IntFileLoader.ChunkReader reader = IntFileLoader.openChunks(input)) {
+                m.bytesES += reader.size();
+                int count;
+                while ((count = reader.read(chunk)) > 0) {
+                    m.checkCancelled();
+                    boolean last = count < chunk.length;
+                    if (last) {
+                        chunk = Arrays.copyOf(chunk, count);
+                    }
+                    runSorter.accept(chunk, m);
+                    if (last && runs.isEmpty()) {
+                        // Tudo coube num único bloco: grava direto na saída, sem runs
+                        try (IntTextWriter out = new IntTextWriter(output)) {
+                            for (int v : chunk) {
+                                out.put(v);
+                            }
+                        }
+                        m.bytesES += Files.size(output);
+                        return;
+                    }
+                    Path run = Files.createTempFile(tempDir, "run-", ".bin");
+                    try (IntRunWriter writer = new IntRunWriter(run)) {
+                        for (int v : chunk) {
+                            writer.put(v);
+                        }
+                    }
+                    m.bytesES += Files.size(run);
+                    m.runs++;
+                    runs.add(run);
+                }
+            }
+
+            // Passadas intermediárias até que todos os runs caibam num único merge
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path run = Files.createTempFile(tempDir, "run-", ".bin");
+                    try (IntRunWriter writer = new IntRunWriter(run)) {
+                        mergeIntRuns(group, writer, m);
+                    }
+                    m.bytesES += Files.size(run);
+                    deleteAll(group);
+                    merged.add(run);
+                }
+                runs = merged;
+                m.passadasMerge++;
+            }
+
+            try (IntTextWriter out = new IntTextWriter(output)) {
+                mergeIntRuns(runs, out, m);
+            }
+            m.bytesES += Files.size(output);
+            if (!runs.isEmpty()) {
+                m.passadasMerge++;
+            }
+        } catch (Throwable e) {
+            primary = e;
+            throw e;
+        } finally {
+            deleteTempDir(tempDir, primary);
+        }
+    }
+
+    /**
+     * Ordena um arquivo de textos (um por linha, ignorando case) gravando o
+     * resultado em {@code output}. Linhas são aparadas e linhas vazias ignoradas,
+     * como na leitura em memória. Os runs são arquivos de texto no mesmo formato.
+     *
+     * @param memoryBudget bytes disponíveis para cada bloco e para os buffers do merge
+     * @param runSorter algoritmo em memória usado para ordenar cada bloco
+     */
+    public static void sortTextFile(Path input, Path output, long memoryBudget,
+                                    BiConsumer<String[], SortMetrics> runSorter, SortMetrics m) throws IOException {
+        checkBudget(memoryBudget);
+        int fanIn = fanIn(memoryBudget);
+        Path tempDir = createTempDir(output);
+        Throwable primary = null;
+        try {
+            List<Path> runs = new ArrayList<>();
+            m.bytesES += Files.size(input);
+            try (BufferedReader br = new BufferedReader(new FileReader(input.toFile()), IO_BUFFER_SIZE / Character.BYTES)) {
+                List<String> chunk = new ArrayList<>();
+                long chunkBytes = 0;
+                boolean eof = false;
+                while (!eof) {
+                    String line = br.readLine();
+                    eof = line == null;
+                    if (!eof) {
+                        line = line.trim();
+                        if (line.isEmpty()) {
+                            continue;
+                        }
+                        chunk.add(line);
+                        chunkBytes += STRING_OVERHEAD_BYTES + (long) line.length() * Character.BYTES;
+                        if (chunkBytes < memoryBudget && chunk.size() < MAX_ARRAY_LENGTH) {
+                            continue;
+                        }
+                    }
+                    if (chunk.isEmpty()) {
+                        break;
+                    }
+
+                    m.checkCancelled();
+                    String[] sorted = chunk.toArray(new String[0]);
+                    chunk.clear();
+                    chunkBytes = 0;
+                    runSorter.accept(sorted, m);
+                    if (eof && runs.isEmpty()) {
+                        // Tudo coube num único bloco: grava direto na saída, sem runs
+                        try (BufferedWriter out = newTextWriter(output)) {
+                            for (String s : sorted) {
+                                out.write(s);
+                                out.newLine();
+                            }
+                        }
+                        m.bytesES += Files.size(output);
+                        return;
+                    }
+                    Path run = Files.createTempFile(tempDir, "run-", ".txt");
+                    try (BufferedWriter writer = newTextWriter(run)) {
+                        for (String s : sorted) {
+                            writer.write(s);
+                            writer.newLine();
+                        }
+                    }
+                    m.bytesES += Files.size(run);
+                    m.runs++;
+                    runs.add(run);
+                }
+            }
+
+            // Passadas intermediárias até que todos os runs caibam num único merge
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path run = Files.createTempFile(tempDir, "run-", ".txt");
+                    try (BufferedWriter writer = newTextWriter(run)) {
+                        mergeTextRuns(group, writer, m);
+                    }
+                    m.bytesES += Files.size(run);
+                    deleteAll(group);
+                    merged.add(run);
+                }
+                runs = merged;
+                m.passadasMerge++;
+            }
+
+            try (BufferedWriter out = newTextWriter(output)) {
+                mergeTextRuns(runs, out, m);
+            }
+            m.bytesES += Files.size(output);
+            if (!runs.isEmpty()) {
+                m.passadasMerge++;
+            }
+        } catch (Throwable e) {
+            primary = e;
+            throw e;
+        } finally {
+            deleteTempDir(tempDir, primary);
+        }
+    }
+
+    /**
+     * Intercala os runs binários de inteiros em {@code out} usando um heap mínimo
+     * de índices de runs, ordenado pelo valor atual de cada run.
+     */
+    private static void mergeIntRuns(List<Path> runs, IntSink out, SortMetrics m) throws IOException {
+        int k = runs.size();
+        IntRunReader[] readers = new IntRunReader[k];
+        int[] heads = new int[k];
+        int[] heap = new int[k];
+        int size = 0;
+        try {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new IntRunReader(runs.get(r));
+                m.bytesES += readers[r].size();
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                    heap[size++] = r;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heads, i, size, m);
+            }
+            while (size > 0) {
+                int r = heap[0];
+                out.put(heads[r]);
+                if ((++m.trocas & CANCEL_CHECK_MASK) == 0) {
+                    m.checkCancelled();
+                }
+                if (readers[r].hasNext()) {
+                    heads[r] = readers[r].next();
+                } else {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, heads, 0, size, m);
+            }
+        } finally {
+            closeAll(readers);
+        }
+    }
+
+    private static void siftDown(int[] heap, int[] heads, int i, int size, SortMetrics m) {
+        int r = heap[i];
+        int value = heads[r];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size) {
+                m.comparacoes++;
+                if (heads[heap[child + 1]] < heads[heap[child]]) {
+                    child++;
+                }
+            }
+            m.comparacoes++;
+            if (heads[heap[child]] >= value) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = r;
+    }
+
+    /**
+     * Intercala os runs de texto em {@code out} usando um heap mínimo de índices
+     * de runs, ordenado pela linha atual de cada run (ignorando case).
+     */
+    private static void mergeTextRuns(List<Path> runs, BufferedWriter out, SortMetrics m) throws IOException {
+        int k = runs.size();
+        BufferedReader[] readers = new BufferedReader[k];
+        String[] heads = new String[k];
+        int[] heap = new int[k];
+        int size = 0;
+        try {
+            for (int r = 0; r < k; r++) {
+                Path run = runs.get(r);
+                readers[r] = new BufferedReader(new FileReader(run.toFile()), IO_BUFFER_SIZE / Character.BYTES);
+                m.bytesES += Files.size(run);
+                heads[r] = readers[r].readLine();
+                if (heads[r] != null) {
+                    heap[size++] = r;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDownStrings(heap, heads, i, size, m);
+            }
+            while (size > 0) {
+                int r = heap[0];
+                out.write(heads[r]);
+                out.newLine();
+                if ((++m.trocas & CANCEL_CHECK_MASK) == 0) {
+                    m.checkCancelled();
+                }
+                heads[r] = readers[r].readLine();
+                if (heads[r] == null) {
+                    heap[0] = heap[--size];
+                }
+                siftDownStrings(heap, heads, 0, size, m);
+            }
+        } finally {
+            closeAll(readers);
+        }
+    }
+
+    private static void siftDownStrings(int[] heap, String[] heads, int i, int size, SortMetrics m) {
+        int r = heap[i];
+        String value = heads[r];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size) {
+                m.comparacoes++;
+                if (heads[heap[child + 1]].compareToIgnoreCase(heads[heap[child]]) < 0) {
+                    child++;
+                }
+            }
+            m.comparacoes++;
+            if (heads[heap[child]].compareToIgnoreCase(value) >= 0) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = r;
+    }
+
+    private static void checkBudget(long memoryBudget) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Orçamento de memória deve ser de pelo menos " + MIN_MEMORY_BUDGET + " bytes: " + memoryBudget);
+        }
+    }
+
+    /**
+     * Quantidade de runs intercalados por vez: um buffer por run mais o da saída.
+     */
+    private static int fanIn(long memoryBudget) {
+        long k = memoryBudget / IO_BUFFER_SIZE - 1;
+        return (int) Math.max(2, Math.min(k, MAX_FAN_IN));
+    }
+
+    private static BufferedWriter newTextWriter(Path path) throws IOException {
+        return new BufferedWriter(new FileWriter(path.toFile()), IO_BUFFER_SIZE / Character.BYTES);
+    }
+
+    private static Path createTempDir(Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        return Files.createTempDirectory(parent, "sort-runs-");
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path p : paths) {
+            Files.deleteIfExists(p);
+        }
+    }
+
+    private static void deleteTempDir(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Remove o diretório temporário sem substituir a exceção original
+     * ({@code primary}, null se a ordenação terminou bem): um erro na limpeza
+     * fica suprimido nela e só é lançado quando não há outra.
+     */
+    private static void deleteTempDir(Path dir, Throwable primary) throws IOException {
+        if (primary == null) {
+            deleteTempDir(dir);
+            return;
+        }
+        try {
+            deleteTempDir(dir);
+        } catch (IOException | RuntimeException e) {
+            primary.addSuppressed(e);
+        }
+    }
+
+    private static void closeAll(Closeable[] resources) throws IOException {
+        IOException error = null;
+        for (Closeable c : resources) {
+            if (c == null) continue;
+            try {
+                c.close();
+            } catch (IOException e) {
+                if (error == null) error = e; else error.addSuppressed(e);
+            }
+        }
+        if (error != null) throw error;
+    }
+
+    /**
+     * Destino dos valores intercalados (run binário ou arquivo de saída em texto).
+     */
+    private interface IntSink extends Closeable {
+        void put(int value) throws IOException;
+    }
+
+    /**
+     * Grava um run binário de inteiros (ordem de bytes nativa) através de um buffer fixo.
+     */
+    private static final class IntRunWriter implements IntSink {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.nativeOrder());
+
+        IntRunWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        @Override
+        public void put(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Lê sequencialmente um run binário gravado por {@link IntRunWriter}.
+     */
+    private static final class IntRunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.nativeOrder());
+        private final long size;
+        private long remaining;
+
+        IntRunReader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            size = channel.size();
+            remaining = size / Integer.BYTES;
+            buffer.limit(0);
+        }
+
+        long size() {
+            return size;
+        }
+
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        int next() throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.compact();
+                while (buffer.position() < Integer.BYTES) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("Run truncado");
+                    }
+                }
+                buffer.flip();
+            }
+            remaining--;
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Grava inteiros como texto, um por linha, no formato lido por {@link IntFileLoader}.
+     */
+    private static final class IntTextWriter implements IntSink {
+        private final BufferedWriter writer;
+
+        IntTextWriter(Path path) throws IOException {
+            writer = newTextWriter(path);
+        }
+
+        @Override
+        public void put(int value) throws IOException {
+            writer.write(Integer.toString(value));
+            writer.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
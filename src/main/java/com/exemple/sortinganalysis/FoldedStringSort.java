@@ -0,0 +1,215 @@
+package com.exemple.sortinganalysis;
+
+/**
+ * Ordenação rápida de strings ignorando case: cada chave é normalizada
+ * (case-folded) uma única vez para um buffer compacto de chars, e a ordenação
+ * é um Quick Sort multichave (3-way string quicksort, Bentley-Sedgewick) sobre
+ * um array de índices, lendo um caractere por vez direto do buffer.
+ *
+ * A normalização de cada char é {@code toLowerCase(toUpperCase(c))}, a mesma
+ * que {@link String#compareToIgnoreCase} aplica caractere a caractere, e chaves
+ * mais curtas vêm antes quando uma é prefixo da outra, portanto a ordem final é
+ * idêntica à do comparador atual. Entradas com pares surrogate (fora do BMP),
+ * que o comparador trata por code point, usam o Introsort de
+ * {@link SortingComparisonEnhanced} como alternativa.
+ *
+ * As comparações contadas são de caracteres, não de strings inteiras.
+ */
+public final class FoldedStringSort {
+
+    // Intervalos com até este tamanho são finalizados com Insertion Sort
+    private static final int INSERTION_SORT_CUTOFF = 16;
+    // Maior buffer de chars que pode ser alocado num array Java
+    private static final long MAX_POOL_SIZE = Integer.MAX_VALUE - 8;
+
+    // Tabela de normalização de case para todos os chars do BMP (também usada por StringArena)
+    static final char[] FOLD = new char[1 << 16];
+
+    static {
+        for (int c = 0; c < FOLD.length; c++) {
+            FOLD[c] = Character.toLowerCase(Character.toUpperCase((char) c));
+        }
+    }
+
+    // Chaves normalizadas concatenadas; a chave k ocupa pool[start[k] .. start[k+1])
+    private final char[] pool;
+    private final int[] start;
+    // Permutação sendo ordenada: idx[i] é o índice da chave na posição i
+    private final int[] idx;
+    private long comparacoes;
+    private long trocas;
+    // Se conta comparações e trocas ({@link SortMetrics#isCounting()})
+    private final boolean counting;
+
+    private FoldedStringSort(char[] pool, int[] start, int[] idx, boolean counting) {
+        this.pool = pool;
+        this.start = start;
+        this.idx = idx;
+        this.counting = counting;
+    }
+
+    /**
+     * Ordena o array de strings (ignorando case) normalizando cada chave uma vez.
+     */
+    public static void sort(String[] arr, SortMetrics m) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        long total = 0;
+        for (String s : arr) {
+            total += s.length();
+        }
+        if (total > MAX_POOL_SIZE) {
+            SortingComparisonEnhanced.introSortStrings(arr, m);
+            return;
+        }
+
+        // Normaliza todas as chaves numa única passada
+        char[] pool = new char[(int) total];
+        int[] start = new int[n + 1];
+        int pos = 0;
+        for (int k = 0; k < n; k++) {
+            String s = arr[k];
+            int len = s.length();
+            start[k] = pos;
+            s.getChars(0, len, pool, pos);
+            for (int end = pos + len; pos < end; pos++) {
+                char c = pool[pos];
+                if (Character.isSurrogate(c)) {
+                    SortingComparisonEnhanced.introSortStrings(arr, m);
+                    return;
+                }
+                pool[pos] = FOLD[c];
+            }
+        }
+        start[n] = pos;
+        m.passadas++;
+
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = i;
+        }
+        FoldedStringSort sorter = new FoldedStringSort(pool, start, idx, m.isCounting());
+        sorter.sort(0, n - 1, 0);
+        m.comparacoes += sorter.comparacoes;
+        m.trocas += sorter.trocas;
+
+        // Aplica a permutação às strings originais
+        String[] sorted = new String[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = arr[idx[i]];
+        }
+        System.arraycopy(sorted, 0, arr, 0, n);
+        if (m.isCounting()) m.trocas += n;
+        m.passadas++;
+    }
+
+    /**
+     * Caractere d da chave k, ou -1 depois do fim da chave.
+     */
+    private int charAt(int k, int d) {
+        int p = start[k] + d;
+        return p < start[k + 1] ? pool[p] : -1;
+    }
+
+    /**
+     * Quick Sort multichave de idx[lo..hi], sabendo que as chaves já são
+     * iguais nos d primeiros caracteres. As duas menores partes vão para a
+     * recursão e a maior continua no laço, limitando a pilha a O(log n).
+     */
+    private void sort(int lo, int hi, int d) {
+        while (hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            int mid = (lo + hi) >>> 1;
+            swap(lo, medianOfThree(lo, mid, hi, d));
+            int v = charAt(idx[lo], d);
+
+            // Partição em três vias pelo caractere d
+            int lt = lo, gt = hi, i = lo + 1;
+            while (i <= gt) {
+                int t = charAt(idx[i], d);
+                if (counting) comparacoes++;
+                if (t < v) {
+                    swap(lt++, i++);
+                } else if (t > v) {
+                    swap(i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            // Se o pivô é o fim da chave, a parte do meio já está ordenada
+            int lessSize = lt - lo, equalSize = v < 0 ? 0 : gt - lt + 1, greaterSize = hi - gt;
+            if (lessSize >= equalSize && lessSize >= greaterSize) {
+                if (v >= 0) sort(lt, gt, d + 1);
+                sort(gt + 1, hi, d);
+                hi = lt - 1;
+            } else if (greaterSize >= equalSize) {
+                sort(lo, lt - 1, d);
+                if (v >= 0) sort(lt, gt, d + 1);
+                lo = gt + 1;
+            } else {
+                sort(lo, lt - 1, d);
+                sort(gt + 1, hi, d);
+                lo = lt;
+                hi = gt;
+                d++;
+            }
+        }
+        insertionSort(lo, hi, d);
+    }
+
+    /**
+     * Posição (entre a, b e c) cuja chave tem o caractere d mediano.
+     */
+    private int medianOfThree(int a, int b, int c, int d) {
+        int va = charAt(idx[a], d), vb = charAt(idx[b], d), vc = charAt(idx[c], d);
+        if (counting) comparacoes += 3;
+        if (va < vb) {
+            if (vb < vc) return b;
+            return va < vc ? c : a;
+        } else {
+            if (va < vc) return a;
+            return vb < vc ? c : b;
+        }
+    }
+
+    /**
+     * Insertion Sort de idx[lo..hi] comparando as chaves a partir do caractere d.
+     */
+    private void insertionSort(int lo, int hi, int d) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = idx[i];
+            int j = i - 1;
+            while (j >= lo && less(key, idx[j], d)) {
+                idx[j + 1] = idx[j];
+                if (counting) trocas++;
+                j--;
+            }
+            idx[j + 1] = key;
+        }
+    }
+
+    /**
+     * Indica se a chave a é menor que a chave b, comparando a partir do caractere d.
+     */
+    private boolean less(int a, int b, int d) {
+        int pa = start[a] + d, endA = start[a + 1];
+        int pb = start[b] + d, endB = start[b + 1];
+        while (pa < endA && pb < endB) {
+            if (counting) comparacoes++;
+            char ca = pool[pa++], cb = pool[pb++];
+            if (ca != cb) {
+                return ca < cb;
+            }
+        }
+        if (counting) comparacoes++;
+        return endA - pa < endB - pb;
+    }
+
+    private void swap(int i, int j) {
+        int temp = idx[i];
+        idx[i] = idx[j];
+        idx[j] = temp;
+        if (counting) trocas++;
+    }
+}
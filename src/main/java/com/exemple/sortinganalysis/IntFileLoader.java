@@ -0,0 +1,454 @@
+package com.exemple.sortinganalysis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Carregador de arquivos de números inteiros (um por linha) sem boxing:
+ * o arquivo é mapeado em memória via {@link FileChannel} e os dígitos ASCII
+ * são convertidos direto para um {@code int[]}, sem {@code String},
+ * {@code Integer} nem listas intermediárias.
+ *
+ * Segue as mesmas regras de {@code Integer.parseInt} aplicadas à linha após
+ * {@code trim()}: espaços nas pontas são ignorados, linhas vazias são puladas,
+ * sinal opcional ('+' ou '-') e apenas dígitos em seguida. Valores inválidos
+ * geram {@link InvalidValueException} com linha e coluna do problema.
+ *
+ * Uma primeira varredura conta as quebras de linha para dimensionar o array,
+ * de modo que o pico de memória fica próximo do tamanho do array final.
+ * Arquivos grandes são divididos em faixas de bytes alinhadas em quebras de
+ * linha, contadas e analisadas em paralelo direto no array final; os erros
+ * de validação são os mesmos (o primeiro do arquivo, com linha e coluna).
+ * Para arquivos maiores que a memória, {@link ChunkReader} entrega os valores
+ * em blocos de tamanho fixo, com as mesmas regras de validação.
+ */
+public final class IntFileLoader {
+
+    // Tamanho máximo de cada janela mapeada do arquivo
+    private static final long WINDOW_SIZE = 1L << 30;
+    // A partir deste tamanho o arquivo é analisado em paralelo, em faixas de pelo menos MIN_RANGE_SIZE bytes
+    private static final long PARALLEL_THRESHOLD = 16L << 20;
+    private static final long MIN_RANGE_SIZE = 4L << 20;
+    // Faixas por núcleo, para equilibrar a carga entre as threads
+    private static final int RANGES_PER_CORE = 4;
+    // Maior array que pode ser alocado
+    private static final long MAX_VALUES = Integer.MAX_VALUE - 8;
+
+    // Estados do analisador de cada linha
+    private static final int BEFORE_VALUE = 0;
+    private static final int AFTER_SIGN = 1;
+    private static final int IN_DIGITS = 2;
+    private static final int AFTER_VALUE = 3;
+
+    private IntFileLoader() {
+    }
+
+    /**
+     * Valor inválido encontrado no arquivo, com a posição (1-based) do problema.
+     */
+    public static final class InvalidValueException extends IOException {
+        private final long line;
+        private final long column;
+
+        InvalidValueException(String reason, long line, long column) {
+            super(reason + " na linha " + line + ", coluna " + column);
+            this.line = line;
+            this.column = column;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public long getColumn() {
+            return column;
+        }
+    }
+
+    /**
+     * Lê o arquivo inteiro e retorna os valores na ordem em que aparecem.
+     *
+     * @throws InvalidValueException se alguma linha não contiver um inteiro válido
+     * @throws IOException em caso de erro de leitura
+     */
+    public static int[] load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new int[0];
+            }
+            int cores = Runtime.getRuntime().availableProcessors();
+            if (size >= PARALLEL_THRESHOLD && cores > 1) {
+                return loadParallel(channel, size, cores);
+            }
+
+            // Primeira varredura: limite superior de valores = linhas do arquivo
+            long lines = 0;
+            byte last = 0;
+            for (long offset = 0; offset < size; offset += WINDOW_SIZE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, size - offset));
+                while (buffer.hasRemaining()) {
+                    last = buffer.get();
+                    if (last == '\n') {
+                        lines++;
+                    }
+                }
+            }
+            // Última linha sem quebra no final
+            if (last != '\n') {
+                lines++;
+            }
+            if (lines > MAX_VALUES) {
+                throw new IOException("Arquivo com linhas demais para um array: " + lines);
+            }
+
+            Parser parser = new Parser(new int[Math.max((int) lines, 16)], true);
+            for (long offset = 0; offset < size; offset += WINDOW_SIZE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, size - offset));
+                parser.consume(buffer);
+            }
+            parser.endOfInput();
+            return parser.toArray();
+        }
+    }
+
+    /**
+     * Carga paralela: divide o arquivo em faixas que começam logo após um '\n',
+     * conta as quebras de linha de cada faixa (limite de valores e número da
+     * primeira linha) e analisa cada faixa na sua região do array final. Ao
+     * fim, as regiões são juntadas em ordem e, se alguma faixa tiver erro, o da
+     * primeira é lançado, igual ao da leitura sequencial.
+     */
+    private static int[] loadParallel(FileChannel channel, long size, int cores) throws IOException {
+        long[] bounds = rangeBounds(channel, size, (int) Math.min(Math.max(1, size / MIN_RANGE_SIZE), (long) cores * RANGES_PER_CORE));
+        int ranges = bounds.length - 1;
+
+        // Primeira varredura: quebras de linha de cada faixa
+        long[] breaks = new long[ranges];
+        IOException[] errors = new IOException[ranges];
+        IntStream.range(0, ranges).parallel().forEach(r -> {
+            try {
+                breaks[r] = countLineBreaks(channel, bounds[r], bounds[r + 1]);
+            } catch (IOException e) {
+                errors[r] = e;
+            }
+        });
+        throwFirst(errors);
+
+        // Cada faixa tem no máximo (quebras + 1) valores, a partir de base[r]
+        int[] base = new int[ranges];
+        long[] firstLine = new long[ranges];
+        long capacity = 0, line = 1;
+        for (int r = 0; r < ranges; r++) {
+            base[r] = (int) capacity;
+            firstLine[r] = line;
+            capacity += breaks[r] + 1;
+            line += breaks[r];
+            if (capacity > MAX_VALUES) {
+                throw new IOException("Arquivo com linhas demais para um array: " + capacity);
+            }
+        }
+
+        int[] values = new int[(int) capacity];
+        int[] counts = new int[ranges];
+        IntStream.range(0, ranges).parallel().forEach(r -> {
+            Parser parser = new Parser(values, base[r], firstLine[r]);
+            try {
+                for (long offset = bounds[r]; offset < bounds[r + 1]; offset += WINDOW_SIZE) {
+                    parser.consume(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, bounds[r + 1] - offset)));
+                }
+                parser.endOfInput();
+            } catch (IOException e) {
+                errors[r] = e;
+            }
+            counts[r] = parser.size;
+        });
+        throwFirst(errors);
+
+        // Junta as regiões em ordem, removendo os espaços das linhas vazias
+        int total = 0;
+        for (int r = 0; r < ranges; r++) {
+            System.arraycopy(values, base[r], values, total, counts[r]);
+            total += counts[r];
+        }
+        return total == values.length ? values : Arrays.copyOf(values, total);
+    }
+
+    /**
+     * Limites das faixas: divisões aproximadamente iguais, cada uma avançada
+     * até logo depois do próximo '\n' (faixas que ficariam vazias são descartadas).
+     */
+    private static long[] rangeBounds(FileChannel channel, long size, int ranges) throws IOException {
+        long[] bounds = new long[ranges + 1];
+        int count = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+        for (int r = 1; r < ranges; r++) {
+            long position = Math.max(size / ranges * r, bounds[count - 1]);
+            long bound = size;
+            search:
+            while (position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        bound = position + i + 1;
+                        break search;
+                    }
+                }
+                position += Math.max(read, 0);
+            }
+            if (bound < size && bound > bounds[count - 1]) {
+                bounds[count++] = bound;
+            }
+        }
+        bounds[count++] = size;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Quebras de linha em [from, to), com as regras do {@link Parser}: "\r\n"
+     * conta uma vez e '\r' sozinho também é quebra.
+     */
+    private static long countLineBreaks(FileChannel channel, long from, long to) throws IOException {
+        long breaks = 0;
+        boolean previousWasCR = false;
+        for (long offset = from; offset < to; offset += WINDOW_SIZE) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, to - offset));
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    if (!previousWasCR) {
+                        breaks++;
+                    }
+                    previousWasCR = false;
+                } else if (b == '\r') {
+                    breaks++;
+                    previousWasCR = true;
+                } else {
+                    previousWasCR = false;
+                }
+            }
+        }
+        return breaks;
+    }
+
+    private static void throwFirst(IOException[] errors) throws IOException {
+        for (IOException e : errors) {
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Abre o arquivo para leitura em blocos: cada chamada de
+     * {@link ChunkReader#read(int[])} preenche o array recebido com os próximos
+     * valores, sem nunca manter o arquivo inteiro na memória.
+     */
+    public static ChunkReader openChunks(Path path) throws IOException {
+        return new ChunkReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Leitor sequencial em blocos de um arquivo de inteiros. O arquivo é
+     * mapeado uma janela por vez e o estado do analisador é mantido entre
+     * blocos, então um valor pode começar numa chamada e terminar na outra.
+     */
+    public static final class ChunkReader implements Closeable {
+        private final FileChannel channel;
+        private final long fileSize;
+        private long offset;
+        private MappedByteBuffer window;
+        private final Parser parser = new Parser(new int[0], false);
+        private boolean finished;
+
+        private ChunkReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+        }
+
+        /**
+         * Preenche {@code dst} com os próximos valores do arquivo.
+         *
+         * @return quantidade de valores lidos; 0 indica fim do arquivo
+         * @throws InvalidValueException se alguma linha não contiver um inteiro válido
+         */
+        public int read(int[] dst) throws IOException {
+            parser.reset(dst);
+            while (parser.size < dst.length) {
+                if (window == null || !window.hasRemaining()) {
+                    if (offset >= fileSize) {
+                        if (!finished) {
+                            parser.endOfInput();
+                            finished = true;
+                        }
+                        break;
+                    }
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, fileSize - offset));
+                    offset += window.capacity();
+                }
+                parser.consume(window);
+            }
+            return parser.size;
+        }
+
+        /**
+         * Tamanho do arquivo em bytes.
+         */
+        public long size() {
+            return fileSize;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Analisador incremental: o estado é mantido entre janelas, então valores
+     * que cruzam a fronteira de duas janelas mapeadas são tratados normalmente.
+     * Quando não é expansível, para de consumir assim que o array de destino
+     * enche, deixando o restante da janela para a próxima chamada. Na carga
+     * paralela, cada faixa grava a partir de {@code base} num array comum, já
+     * dimensionado para todas as suas linhas, e conta as linhas a partir da
+     * primeira linha da faixa.
+     */
+    private static final class Parser {
+        private int[] values;
+        private int base;
+        private int size;
+        private final boolean growable;
+
+        private int state = BEFORE_VALUE;
+        private boolean negative;
+        private long accumulator;
+        private long line = 1;
+        private long column = 0;
+        private long valueColumn;
+        private boolean previousWasCR;
+
+        Parser(int[] values, boolean growable) {
+            this.values = values;
+            this.growable = growable;
+        }
+
+        Parser(int[] values, int base, long firstLine) {
+            this.values = values;
+            this.base = base;
+            this.line = firstLine;
+            // O espaço da faixa comporta todas as suas linhas: nunca cresce nem enche
+            this.growable = true;
+        }
+
+        /**
+         * Passa a gravar os próximos valores no início de {@code dst}.
+         */
+        void reset(int[] dst) {
+            values = dst;
+            size = 0;
+        }
+
+        void consume(MappedByteBuffer buffer) throws InvalidValueException {
+            while (buffer.hasRemaining() && (growable || size < values.length)) {
+                byte b = buffer.get();
+                if (b == '\n' || b == '\r') {
+                    // "\r\n" conta como uma única quebra de linha
+                    if (b == '\n' && previousWasCR) {
+                        previousWasCR = false;
+                        continue;
+                    }
+                    endOfLine();
+                    previousWasCR = b == '\r';
+                    line++;
+                    column = 0;
+                    continue;
+                }
+                previousWasCR = false;
+                column++;
+                accept(b);
+            }
+        }
+
+        private void accept(byte b) throws InvalidValueException {
+            boolean whitespace = (b & 0xFF) <= ' ';
+            switch (state) {
+                case BEFORE_VALUE:
+                    if (whitespace) {
+                        return;
+                    }
+                    valueColumn = column;
+                    negative = false;
+                    accumulator = 0;
+                    if (b == '-' || b == '+') {
+                        negative = b == '-';
+                        state = AFTER_SIGN;
+                        return;
+                    }
+                    if (b >= '0' && b <= '9') {
+                        addDigit(b);
+                        state = IN_DIGITS;
+                        return;
+                    }
+                    throw new InvalidValueException("Caractere inválido", line, column);
+                case AFTER_SIGN:
+                    if (b >= '0' && b <= '9') {
+                        addDigit(b);
+                        state = IN_DIGITS;
+                        return;
+                    }
+                    throw new InvalidValueException("Sinal sem dígitos", line, column);
+                case IN_DIGITS:
+                    if (b >= '0' && b <= '9') {
+                        addDigit(b);
+                        return;
+                    }
+                    if (whitespace) {
+                        state = AFTER_VALUE;
+                        return;
+                    }
+                    throw new InvalidValueException("Caractere inválido", line, column);
+                default:
+                    if (!whitespace) {
+                        throw new InvalidValueException("Mais de um valor", line, column);
+                    }
+            }
+        }
+
+        private void addDigit(byte b) throws InvalidValueException {
+            accumulator = accumulator * 10 + (b - '0');
+            if (accumulator > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+                throw new InvalidValueException("Valor fora do intervalo de int", line, valueColumn);
+            }
+        }
+
+        private void endOfLine() throws InvalidValueException {
+            if (state == AFTER_SIGN) {
+                throw new InvalidValueException("Sinal sem dígitos", line, column + 1);
+            }
+            if (state == IN_DIGITS || state == AFTER_VALUE) {
+                if (base + size == values.length) {
+                    values = Arrays.copyOf(values, values.length + (values.length >> 1));
+                }
+                values[base + size++] = (int) (negative ? -accumulator : accumulator);
+            }
+            state = BEFORE_VALUE;
+        }
+
+        // A última linha pode terminar sem quebra de linha
+        void endOfInput() throws InvalidValueException {
+            endOfLine();
+        }
+
+        int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+}
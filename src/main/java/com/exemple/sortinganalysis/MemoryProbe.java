@@ -0,0 +1,206 @@
+package com.exemple.sortinganalysis;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leituras de memória da JVM usadas para medir o custo de alocação de cada
+ * execução. Baseado na extensão {@code com.sun.management.ThreadMXBean},
+ * disponível no HotSpot; quando não suportada, as leituras retornam -1.
+ *
+ * {@link #start()} e {@link Tracker#stop()} delimitam uma execução e devolvem,
+ * além dos bytes alocados pela thread, as coletas de lixo ocorridas e o pico
+ * de uso do heap acima do nível inicial ({@link Usage}).
+ */
+public final class MemoryProbe {
+
+    // Bean com contagem de bytes alocados por thread (null se indisponível)
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = initThreadBean();
+    // Coletores de lixo e pools do heap, consultados no início e no fim de cada execução
+    private static final List<GarbageCollectorMXBean> GC_BEANS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = initHeapPools();
+
+    private MemoryProbe() {
+    }
+
+    private static com.sun.management.ThreadMXBean initThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                return sunBean;
+            }
+        }
+        return null;
+    }
+
+    private static List<MemoryPoolMXBean> initHeapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * Total de bytes já alocados pela thread atual, ou -1 se não suportado.
+     * A diferença entre duas leituras dá o que foi alocado entre elas.
+     * Alocações feitas em outras threads (ex.: pool do ForkJoin) não entram.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Inicia a medição de uma execução na thread atual: zera o pico dos pools
+     * do heap e guarda as leituras iniciais. As coletas de lixo e o pico do heap
+     * são globais da JVM, então execuções simultâneas se misturam nessas leituras.
+     */
+    public static Tracker start() {
+        return new Tracker();
+    }
+
+    /**
+     * Medição em andamento, criada por {@link #start()}.
+     */
+    public static final class Tracker {
+        private final long allocatedBefore;
+        private final long gcCountBefore;
+        private final long gcMillisBefore;
+        private final long heapUsedBefore;
+
+        private Tracker() {
+            long heapUsed = 0;
+            for (MemoryPoolMXBean pool : HEAP_POOLS) {
+                pool.resetPeakUsage();
+                heapUsed += pool.getUsage().getUsed();
+            }
+            heapUsedBefore = heapUsed;
+            gcCountBefore = totalGcCount();
+            gcMillisBefore = totalGcMillis();
+            allocatedBefore = currentThreadAllocatedBytes();
+        }
+
+        /**
+         * Encerra a medição (na mesma thread de {@link #start()}) e devolve o consumo.
+         */
+        public Usage stop() {
+            long allocatedAfter = currentThreadAllocatedBytes();
+            long gcCountAfter = totalGcCount();
+            long gcMillisAfter = totalGcMillis();
+            long heapPeak = 0;
+            for (MemoryPoolMXBean pool : HEAP_POOLS) {
+                heapPeak += pool.getPeakUsage().getUsed();
+            }
+            return new Usage(allocatedBefore >= 0 ? allocatedAfter - allocatedBefore : -1,
+                    gcCountBefore >= 0 ? gcCountAfter - gcCountBefore : -1,
+                    gcMillisBefore >= 0 ? gcMillisAfter - gcMillisBefore : -1,
+                    HEAP_POOLS.isEmpty() ? -1 : Math.max(0, heapPeak - heapUsedBefore));
+        }
+    }
+
+    /**
+     * Consumo de memória de uma execução. Cada valor é -1 quando não medido.
+     */
+    public static final class Usage {
+        // Nenhuma leitura disponível (ex.: execuções sem medição de memória)
+        public static final Usage UNKNOWN = new Usage(-1, -1, -1, -1);
+
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcPauseMillis;
+        private final long peakHeapDeltaBytes;
+
+        public Usage(long allocatedBytes, long gcCount, long gcPauseMillis, long peakHeapDeltaBytes) {
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcPauseMillis = gcPauseMillis;
+            this.peakHeapDeltaBytes = peakHeapDeltaBytes;
+        }
+
+        /**
+         * Bytes alocados pela thread durante a execução.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * Coletas de lixo ocorridas durante a execução (todos os coletores).
+         */
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        /**
+         * Tempo acumulado de coleta informado pelos coletores, em milissegundos.
+         * No Serial, Parallel e G1 corresponde às pausas; em coletores concorrentes
+         * inclui trabalho feito em paralelo com a aplicação.
+         */
+        public long getGcPauseMillis() {
+            return gcPauseMillis;
+        }
+
+        /**
+         * Quanto o uso do heap subiu, no pico, acima do nível do início da execução.
+         * Soma o pico de cada pool, que podem ter ocorrido em instantes diferentes.
+         */
+        public long getPeakHeapDeltaBytes() {
+            return peakHeapDeltaBytes;
+        }
+
+        /**
+         * Média de várias execuções: bytes, coletas e pausa pela média (arredondada),
+         * pico do heap pelo maior valor. Um valor fica -1 se faltar em alguma execução.
+         */
+        public static Usage mean(List<Usage> usages) {
+            if (usages.isEmpty()) {
+                return UNKNOWN;
+            }
+            long allocated = 0, gcCount = 0, gcMillis = 0, peak = 0;
+            for (Usage u : usages) {
+                allocated = allocated >= 0 && u.allocatedBytes >= 0 ? allocated + u.allocatedBytes : -1;
+                gcCount = gcCount >= 0 && u.gcCount >= 0 ? gcCount + u.gcCount : -1;
+                gcMillis = gcMillis >= 0 && u.gcPauseMillis >= 0 ? gcMillis + u.gcPauseMillis : -1;
+                peak = peak >= 0 && u.peakHeapDeltaBytes >= 0 ? Math.max(peak, u.peakHeapDeltaBytes) : -1;
+            }
+            int count = usages.size();
+            return new Usage(meanOf(allocated, count), meanOf(gcCount, count), meanOf(gcMillis, count), peak);
+        }
+
+        private static long meanOf(long total, int count) {
+            return total >= 0 ? (total + count / 2) / count : -1;
+        }
+    }
+
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : GC_BEANS) {
+            long count = gc.getCollectionCount();
+            if (count < 0) {
+                return -1;
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : GC_BEANS) {
+            long millis = gc.getCollectionTime();
+            if (millis < 0) {
+                return -1;
+            }
+            total += millis;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,186 @@
+package com.exemple.sortinganalysis;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Região de memória fora do heap, endereçada por índice {@code long}, para
+ * ordenar conjuntos maiores que o limite dos arrays Java (cerca de 2^31
+ * elementos) sem ocupar o heap. A região é dividida em blocos de 1 GiB, cada
+ * um um {@link ByteBuffer} direto ({@link #allocate}) ou um trecho mapeado
+ * de um arquivo ({@link #map}); os valores ficam na ordem de bytes nativa.
+ *
+ * Como o tamanho dos blocos é múltiplo de 8, um {@code int} ou {@code long}
+ * nunca fica dividido entre dois blocos. Não é seguro para uso simultâneo
+ * por várias threads.
+ */
+public final class OffHeapSegment implements Closeable {
+
+    // Cada bloco tem 2^30 bytes (o mapeamento de arquivo aceita no máximo 2^31 - 1)
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final ByteBuffer[] chunks;
+    private final long byteSize;
+    // Arquivo mapeado (null para memória direta) e se ele deve ser apagado ao fechar
+    private final Path file;
+    private final boolean temporary;
+
+    private OffHeapSegment(ByteBuffer[] chunks, long byteSize, Path file, boolean temporary) {
+        this.chunks = chunks;
+        this.byteSize = byteSize;
+        this.file = file;
+        this.temporary = temporary;
+    }
+
+    /**
+     * Aloca {@code byteSize} bytes de memória direta, zerados. Limitado por
+     * {@code -XX:MaxDirectMemorySize} (por padrão, o tamanho máximo do heap).
+     */
+    public static OffHeapSegment allocate(long byteSize) {
+        checkSize(byteSize);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(byteSize)];
+        for (int c = 0; c < chunks.length; c++) {
+            long size = Math.min(CHUNK_SIZE, byteSize - c * CHUNK_SIZE);
+            chunks[c] = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+        }
+        return new OffHeapSegment(chunks, byteSize, null, false);
+    }
+
+    /**
+     * Mapeia o arquivo para leitura e escrita; as alterações vão para o arquivo.
+     * Com {@code byteSize} maior que o arquivo, ele é estendido (com zeros) ou
+     * criado; com {@code byteSize} negativo, o arquivo existente é mapeado inteiro.
+     */
+    public static OffHeapSegment map(Path file, long byteSize) throws IOException {
+        return map(file, byteSize, false);
+    }
+
+    private static OffHeapSegment map(Path file, long byteSize, boolean temporary) throws IOException {
+        StandardOpenOption[] options = byteSize >= 0
+                ? new StandardOpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            long size = byteSize >= 0 ? byteSize : channel.size();
+            checkSize(size);
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+            for (int c = 0; c < chunks.length; c++) {
+                long position = c * CHUNK_SIZE;
+                long length = Math.min(CHUNK_SIZE, size - position);
+                // O mapeamento continua válido depois que o canal é fechado
+                chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, position, length).order(ByteOrder.nativeOrder());
+            }
+            return new OffHeapSegment(chunks, size, file, temporary);
+        }
+    }
+
+    /**
+     * Área auxiliar do mesmo tipo deste segmento: um arquivo temporário ao lado
+     * do arquivo mapeado (apagado em {@link #close()}) ou memória direta.
+     */
+    public OffHeapSegment newScratch(long byteSize) throws IOException {
+        if (file == null) {
+            return allocate(byteSize);
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        Path scratch = Files.createTempFile(dir, "sort-scratch", ".bin");
+        try {
+            return map(scratch, byteSize, true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(scratch);
+            throw e;
+        }
+    }
+
+    private static void checkSize(long byteSize) {
+        if (byteSize < 0) {
+            throw new IllegalArgumentException("Tamanho inválido: " + byteSize + " bytes");
+        }
+    }
+
+    private static int chunkCount(long byteSize) {
+        return (int) ((byteSize + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    public long byteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Se a região é um arquivo mapeado.
+     */
+    public boolean isMapped() {
+        return file != null;
+    }
+
+    public int getInt(long index) {
+        long offset = index << 2;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    public void setInt(long index, int value) {
+        long offset = index << 2;
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putInt((int) (offset & CHUNK_MASK), value);
+    }
+
+    public long getLong(long index) {
+        long offset = index << 3;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    public void setLong(long index, long value) {
+        long offset = index << 3;
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putLong((int) (offset & CHUNK_MASK), value);
+    }
+
+    /**
+     * Copia {@code byteCount} bytes de {@code src} (a partir de {@code srcOffset})
+     * para este segmento (a partir de {@code dstOffset}), bloco a bloco.
+     */
+    public void copyFrom(OffHeapSegment src, long srcOffset, long dstOffset, long byteCount) {
+        while (byteCount > 0) {
+            ByteBuffer from = src.chunks[(int) (srcOffset >>> CHUNK_SHIFT)];
+            ByteBuffer to = chunks[(int) (dstOffset >>> CHUNK_SHIFT)];
+            int fromPos = (int) (srcOffset & CHUNK_MASK);
+            int toPos = (int) (dstOffset & CHUNK_MASK);
+            int length = (int) Math.min(byteCount, Math.min(from.capacity() - fromPos, to.capacity() - toPos));
+            to.put(toPos, from, fromPos, length);
+            srcOffset += length;
+            dstOffset += length;
+            byteCount -= length;
+        }
+    }
+
+    /**
+     * Grava no arquivo as alterações pendentes (sem efeito na memória direta).
+     */
+    public void force() {
+        if (file != null) {
+            for (ByteBuffer chunk : chunks) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    /**
+     * Grava as alterações de um arquivo mapeado e apaga os temporários. A memória
+     * é liberada quando o segmento deixa de ser referenciado (no JDK 17 não há
+     * como desfazer um mapeamento explicitamente).
+     */
+    @Override
+    public void close() throws IOException {
+        if (temporary) {
+            Files.deleteIfExists(file);
+        } else {
+            force();
+        }
+    }
+}
@@ -0,0 +1,577 @@
+package com.exemple.sortinganalysis;
+
+import static com.exemple.sortinganalysis.SortingComparisonEnhanced.CANCEL_CHECK_MASK;
+import static com.exemple.sortinganalysis.SortingComparisonEnhanced.INSERTION_SORT_CUTOFF;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Ordenações de {@code int} e {@code long} sobre segmentos fora do heap
+ * ({@link OffHeapSegment}), endereçados por índice {@code long}: permitem
+ * ordenar mais de 2^31 elementos, sem pressão sobre o GC e, com um arquivo
+ * mapeado, sem copiar os dados ao carregar. Os contadores seguem os das
+ * versões para arrays de {@link SortingComparisonEnhanced} (comparações,
+ * trocas/movimentações e passadas), em {@code long}, e também só contam
+ * quando {@link SortMetrics#isCounting()} é verdadeiro. Cada execução roda uma
+ * única vez, contando: repetir uma ordenação de bilhões de chaves sem contagem
+ * dobraria o tempo da comparação para uma diferença no nível do ruído.
+ *
+ * O Radix Sort e o Merge Sort usam uma área auxiliar do tamanho dos dados,
+ * criada por {@link OffHeapSegment#newScratch(long)}: memória direta para
+ * segmentos diretos e um arquivo temporário ao lado do arquivo mapeado.
+ */
+public final class OffHeapSorts {
+
+    // Tamanho dos blocos ordenados por inserção antes das intercalações do Merge Sort
+    static final int MERGE_BLOCK = 32;
+
+    /**
+     * Ordena os {@code n} primeiros elementos de um segmento.
+     */
+    @FunctionalInterface
+    public interface SegmentSort {
+        void sort(OffHeapSegment data, long n, SortMetrics m) throws IOException;
+    }
+
+    // Algoritmos para segmentos de int e de long, na ordem de exibição
+    public static final Map<String, SegmentSort> INT_ALGORITHMS;
+    public static final Map<String, SegmentSort> LONG_ALGORITHMS;
+
+    static {
+        Map<String, SegmentSort> ints = new LinkedHashMap<>();
+        ints.put("Radix Sort LSD (off-heap)", OffHeapSorts::radixSortInts);
+        ints.put("Quick Sort (off-heap)", OffHeapSorts::quickSortInts);
+        ints.put("Merge Sort (off-heap)", OffHeapSorts::mergeSortInts);
+        INT_ALGORITHMS = Collections.unmodifiableMap(ints);
+
+        Map<String, SegmentSort> longs = new LinkedHashMap<>();
+        longs.put("Radix Sort LSD (off-heap)", OffHeapSorts::radixSortLongs);
+        longs.put("Quick Sort (off-heap)", OffHeapSorts::quickSortLongs);
+        longs.put("Merge Sort (off-heap)", OffHeapSorts::mergeSortLongs);
+        LONG_ALGORITHMS = Collections.unmodifiableMap(longs);
+    }
+
+    private OffHeapSorts() {
+    }
+
+    // Se todos os n elementos caem no mesmo balde (a passada não mudaria a ordem)
+    private static boolean singleBucket(long[] count, long n) {
+        for(long c : count) {
+            if(c == n) return true;
+            if(c != 0) return false;
+        }
+        return false;
+    }
+
+    // -----------------------------------------------------
+    // Inteiros de 32 bits (4 bytes por elemento)
+
+    /**
+     * Radix Sort LSD com dígitos de 8 bits (4 passadas no máximo): um
+     * histograma de todos os dígitos numa única leitura e, para cada dígito, uma
+     * distribuição estável entre o segmento e uma área auxiliar do mesmo tamanho.
+     * Dígitos iguais em todos os elementos são pulados. Conta as passadas e os
+     * elementos movidos.
+     */
+    public static void radixSortInts(OffHeapSegment data, long n, SortMetrics m) throws IOException {
+        final boolean counting = m.isCounting();
+        if(n < 2) return;
+        long[][] counts = new long[4][256];
+        for(long i = 0; i < n; i++) {
+            if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            // O bit de sinal invertido põe os negativos antes dos positivos
+            int key = data.getInt(i) ^ Integer.MIN_VALUE;
+            for(int d = 0; d < 4; d++) {
+                counts[d][(key >>> (d << 3)) & 0xFF]++;
+            }
+        }
+        m.passadas++;
+
+        try (OffHeapSegment scratch = data.newScratch(n << 2)) {
+            OffHeapSegment src = data;
+            OffHeapSegment dst = scratch;
+            for(int d = 0; d < 4; d++) {
+                long[] count = counts[d];
+                if(singleBucket(count, n)) continue;
+                long[] offsets = new long[256];
+                for(int b = 1; b < 256; b++) {
+                    offsets[b] = offsets[b - 1] + count[b - 1];
+                }
+                int shift = d << 3;
+                for(long i = 0; i < n; i++) {
+                    if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+                    int value = src.getInt(i);
+                    int bucket = ((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+                    dst.setInt(offsets[bucket]++, value);
+                }
+                if(counting) m.trocas += n;
+                m.passadas++;
+                OffHeapSegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if(src != data) {
+                data.copyFrom(src, 0, 0, n << 2);
+                if(counting) m.trocas += n;
+            }
+        }
+    }
+
+    /**
+     * Introsort: Quick Sort com mediana de três e partição de Hoare, recorrendo
+     * no lado menor (pilha de O(log n)), Heap Sort quando a profundidade passa
+     * de 2·log2(n) e Insertion Sort nos intervalos pequenos. Ordena no próprio
+     * segmento, sem área auxiliar.
+     */
+    public static void quickSortInts(OffHeapSegment data, long n, SortMetrics m) {
+        if(n < 2) return;
+        int depthLimit = 2 * (63 - Long.numberOfLeadingZeros(n));
+        introSortInts(data, 0, n - 1, depthLimit, m);
+    }
+
+    private static void introSortInts(OffHeapSegment a, long low, long high, int depthLimit, SortMetrics m) {
+        while(high - low >= INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            if(depthLimit-- == 0) {
+                heapSortInts(a, low, high, m);
+                return;
+            }
+            long p = partitionInts(a, low, high, m);
+            if(p - low < high - p) {
+                introSortInts(a, low, p, depthLimit, m);
+                low = p + 1;
+            } else {
+                introSortInts(a, p + 1, high, depthLimit, m);
+                high = p;
+            }
+        }
+        insertionSortInts(a, low, high, m);
+    }
+
+    /**
+     * Partição de Hoare com o pivô na mediana de a[low], a[mid] e a[high]:
+     * devolve j tal que [low, j] ≤ pivô ≤ [j + 1, high], com low ≤ j < high.
+     */
+    private static long partitionInts(OffHeapSegment a, long low, long high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long mid = low + ((high - low) >>> 1);
+        if(a.getInt(mid) < a.getInt(low)) swapInts(a, low, mid, m);
+        if(a.getInt(high) < a.getInt(low)) swapInts(a, low, high, m);
+        if(a.getInt(high) < a.getInt(mid)) swapInts(a, mid, high, m);
+        if(counting) m.comparacoes += 3;
+        int pivot = a.getInt(mid);
+        long i = low - 1;
+        long j = high + 1;
+        while(true) {
+            do {
+                i++;
+                if(counting) m.comparacoes++;
+            } while(a.getInt(i) < pivot);
+            do {
+                j--;
+                if(counting) m.comparacoes++;
+            } while(a.getInt(j) > pivot);
+            if(i >= j) return j;
+            swapInts(a, i, j, m);
+        }
+    }
+
+    private static void heapSortInts(OffHeapSegment a, long low, long high, SortMetrics m) {
+        long n = high - low + 1;
+        for(long i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDownInts(a, low, i, n, m);
+        }
+        for(long end = n - 1; end > 0; end--) {
+            if((end & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            swapInts(a, low, low + end, m);
+            siftDownInts(a, low, 0, end, m);
+        }
+    }
+
+    // Desce o elemento i do heap a[base .. base + n - 1], movendo os filhos maiores para cima
+    private static void siftDownInts(OffHeapSegment a, long base, long i, long n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int value = a.getInt(base + i);
+        long child;
+        while((child = 2 * i + 1) < n) {
+            int c = a.getInt(base + child);
+            if(child + 1 < n) {
+                if(counting) m.comparacoes++;
+                int right = a.getInt(base + child + 1);
+                if(right > c) {
+                    child++;
+                    c = right;
+                }
+            }
+            if(counting) m.comparacoes++;
+            if(c <= value) break;
+            a.setInt(base + i, c);
+            if(counting) m.trocas++;
+            i = child;
+        }
+        a.setInt(base + i, value);
+    }
+
+    private static void insertionSortInts(OffHeapSegment a, long low, long high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        for(long i = low + 1; i <= high; i++) {
+            int value = a.getInt(i);
+            long j = i - 1;
+            while(j >= low) {
+                if(counting) m.comparacoes++;
+                int v = a.getInt(j);
+                if(v <= value) break;
+                a.setInt(j + 1, v);
+                if(counting) m.trocas++;
+                j--;
+            }
+            a.setInt(j + 1, value);
+        }
+    }
+
+    private static void swapInts(OffHeapSegment a, long i, long j, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int t = a.getInt(i);
+        a.setInt(i, a.getInt(j));
+        a.setInt(j, t);
+        if(counting) m.trocas++;
+    }
+
+    /**
+     * Merge Sort de baixo para cima: blocos de {@value #MERGE_BLOCK} elementos
+     * ordenados por inserção e intercalações de largura dobrada, alternando entre
+     * o segmento e uma área auxiliar do mesmo tamanho. Estável; as leituras e
+     * escritas são sequenciais, o que favorece segmentos mapeados maiores que a RAM.
+     */
+    public static void mergeSortInts(OffHeapSegment data, long n, SortMetrics m) throws IOException {
+        final boolean counting = m.isCounting();
+        if(n < 2) return;
+        for(long low = 0; low < n; low += MERGE_BLOCK) {
+            m.checkCancelled();
+            insertionSortInts(data, low, Math.min(low + MERGE_BLOCK, n) - 1, m);
+        }
+        if(n <= MERGE_BLOCK) return;
+
+        try (OffHeapSegment scratch = data.newScratch(n << 2)) {
+            OffHeapSegment src = data;
+            OffHeapSegment dst = scratch;
+            for(long width = MERGE_BLOCK; width < n; width <<= 1) {
+                for(long low = 0; low < n; low += width << 1) {
+                    long mid = Math.min(low + width, n);
+                    long high = Math.min(low + (width << 1), n);
+                    mergeInts(src, dst, low, mid, high, m);
+                }
+                OffHeapSegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if(src != data) {
+                data.copyFrom(src, 0, 0, n << 2);
+                if(counting) m.trocas += n;
+            }
+        }
+    }
+
+    // Intercala src[low, mid) e src[mid, high) em dst[low, high)
+    private static void mergeInts(OffHeapSegment src, OffHeapSegment dst, long low, long mid, long high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long i = low;
+        long j = mid;
+        long k = low;
+        while(i < mid && j < high) {
+            if((k & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.comparacoes++;
+            int left = src.getInt(i);
+            int right = src.getInt(j);
+            if(left <= right) {
+                dst.setInt(k++, left);
+                i++;
+            } else {
+                dst.setInt(k++, right);
+                j++;
+            }
+        }
+        // O restante de um dos lados já está em ordem: cópia em bloco
+        if(i < mid) dst.copyFrom(src, i << 2, k << 2, (mid - i) << 2);
+        if(j < high) dst.copyFrom(src, j << 2, k << 2, (high - j) << 2);
+        if(counting) m.trocas += high - low;
+    }
+
+    /**
+     * Verifica se os {@code n} primeiros int do segmento estão em ordem crescente.
+     */
+    public static boolean isSortedInts(OffHeapSegment data, long n) {
+        for(long i = 1; i < n; i++) {
+            if(data.getInt(i - 1) > data.getInt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Preenche os {@code n} primeiros int do segmento com valores uniformes em todo o intervalo do tipo.
+     */
+    public static void fillUniformInts(OffHeapSegment data, long n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for(long i = 0; i < n; i++) {
+            data.setInt(i, random.nextInt());
+        }
+    }
+
+    // -----------------------------------------------------
+    // Inteiros de 64 bits (8 bytes por elemento)
+
+    /**
+     * Radix Sort LSD com dígitos de 8 bits (8 passadas no máximo): um
+     * histograma de todos os dígitos numa única leitura e, para cada dígito, uma
+     * distribuição estável entre o segmento e uma área auxiliar do mesmo tamanho.
+     * Dígitos iguais em todos os elementos são pulados. Conta as passadas e os
+     * elementos movidos.
+     */
+    public static void radixSortLongs(OffHeapSegment data, long n, SortMetrics m) throws IOException {
+        final boolean counting = m.isCounting();
+        if(n < 2) return;
+        long[][] counts = new long[8][256];
+        for(long i = 0; i < n; i++) {
+            if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            // O bit de sinal invertido põe os negativos antes dos positivos
+            long key = data.getLong(i) ^ Long.MIN_VALUE;
+            for(int d = 0; d < 8; d++) {
+                counts[d][(int) (key >>> (d << 3)) & 0xFF]++;
+            }
+        }
+        m.passadas++;
+
+        try (OffHeapSegment scratch = data.newScratch(n << 3)) {
+            OffHeapSegment src = data;
+            OffHeapSegment dst = scratch;
+            for(int d = 0; d < 8; d++) {
+                long[] count = counts[d];
+                if(singleBucket(count, n)) continue;
+                long[] offsets = new long[256];
+                for(int b = 1; b < 256; b++) {
+                    offsets[b] = offsets[b - 1] + count[b - 1];
+                }
+                int shift = d << 3;
+                for(long i = 0; i < n; i++) {
+                    if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+                    long value = src.getLong(i);
+                    int bucket = (int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF;
+                    dst.setLong(offsets[bucket]++, value);
+                }
+                if(counting) m.trocas += n;
+                m.passadas++;
+                OffHeapSegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if(src != data) {
+                data.copyFrom(src, 0, 0, n << 3);
+                if(counting) m.trocas += n;
+            }
+        }
+    }
+
+    /**
+     * Introsort: Quick Sort com mediana de três e partição de Hoare, recorrendo
+     * no lado menor (pilha de O(log n)), Heap Sort quando a profundidade passa
+     * de 2·log2(n) e Insertion Sort nos intervalos pequenos. Ordena no próprio
+     * segmento, sem área auxiliar.
+     */
+    public static void quickSortLongs(OffHeapSegment data, long n, SortMetrics m) {
+        if(n < 2) return;
+        int depthLimit = 2 * (63 - Long.numberOfLeadingZeros(n));
+        introSortLongs(data, 0, n - 1, depthLimit, m);
+    }
+
+    private static void introSortLongs(OffHeapSegment a, long low, long high, int depthLimit, SortMetrics m) {
+        while(high - low >= INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            if(depthLimit-- == 0) {
+                heapSortLongs(a, low, high, m);
+                return;
+            }
+            long p = partitionLongs(a, low, high, m);
+            if(p - low < high - p) {
+                introSortLongs(a, low, p, depthLimit, m);
+                low = p + 1;
+            } else {
+                introSortLongs(a, p + 1, high, depthLimit, m);
+                high = p;
+            }
+        }
+        insertionSortLongs(a, low, high, m);
+    }
+
+    /**
+     * Partição de Hoare com o pivô na mediana de a[low], a[mid] e a[high]:
+     * devolve j tal que [low, j] ≤ pivô ≤ [j + 1, high], com low ≤ j < high.
+     */
+    private static long partitionLongs(OffHeapSegment a, long low, long high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long mid = low + ((high - low) >>> 1);
+        if(a.getLong(mid) < a.getLong(low)) swapLongs(a, low, mid, m);
+        if(a.getLong(high) < a.getLong(low)) swapLongs(a, low, high, m);
+        if(a.getLong(high) < a.getLong(mid)) swapLongs(a, mid, high, m);
+        if(counting) m.comparacoes += 3;
+        long pivot = a.getLong(mid);
+        long i = low - 1;
+        long j = high + 1;
+        while(true) {
+            do {
+                i++;
+                if(counting) m.comparacoes++;
+            } while(a.getLong(i) < pivot);
+            do {
+                j--;
+                if(counting) m.comparacoes++;
+            } while(a.getLong(j) > pivot);
+            if(i >= j) return j;
+            swapLongs(a, i, j, m);
+        }
+    }
+
+    private static void heapSortLongs(OffHeapSegment a, long low, long high, SortMetrics m) {
+        long n = high - low + 1;
+        for(long i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDownLongs(a, low, i, n, m);
+        }
+        for(long end = n - 1; end > 0; end--) {
+            if((end & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            swapLongs(a, low, low + end, m);
+            siftDownLongs(a, low, 0, end, m);
+        }
+    }
+
+    // Desce o elemento i do heap a[base .. base + n - 1], movendo os filhos maiores para cima
+    private static void siftDownLongs(OffHeapSegment a, long base, long i, long n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long value = a.getLong(base + i);
+        long child;
+        while((child = 2 * i + 1) < n) {
+            long c = a.getLong(base + child);
+            if(child + 1 < n) {
+                if(counting) m.comparacoes++;
+                long right = a.getLong(base + child + 1);
+                if(right > c) {
+                    child++;
+                    c = right;
+                }
+            }
+            if(counting) m.comparacoes++;
+            if(c <= value) break;
+            a.setLong(base + i, c);
+            if(counting) m.trocas++;
+            i = child;
+        }
+        a.setLong(base + i, value);
+    }
+
+    private static void insertionSortLongs(OffHeapSegment a, long low, long high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        for(long i = low + 1; i <= high; i++) {
+            long value = a.getLong(i);
+            long j = i - 1;
+            while(j >= low) {
+                if(counting) m.comparacoes++;
+                long v = a.getLong(j);
+                if(v <= value) break;
+                a.setLong(j + 1, v);
+                if(counting) m.trocas++;
+                j--;
+            }
+            a.setLong(j + 1, value);
+        }
+    }
+
+    private static void swapLongs(OffHeapSegment a, long i, long j, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long t = a.getLong(i);
+        a.setLong(i, a.getLong(j));
+        a.setLong(j, t);
+        if(counting) m.trocas++;
+    }
+
+    /**
+     * Merge Sort de baixo para cima: blocos de {@value #MERGE_BLOCK} elementos
+     * ordenados por inserção e intercalações de largura dobrada, alternando entre
+     * o segmento e uma área auxiliar do mesmo tamanho. Estável; as leituras e
+     * escritas são sequenciais, o que favorece segmentos mapeados maiores que a RAM.
+     */
+    public static void mergeSortLongs(OffHeapSegment data, long n, SortMetrics m) throws IOException {
+        final boolean counting = m.isCounting();
+        if(n < 2) return;
+        for(long low = 0; low < n; low += MERGE_BLOCK) {
+            m.checkCancelled();
+            insertionSortLongs(data, low, Math.min(low + MERGE_BLOCK, n) - 1, m);
+        }
+        if(n <= MERGE_BLOCK) return;
+
+        try (OffHeapSegment scratch = data.newScratch(n << 3)) {
+            OffHeapSegment src = data;
+            OffHeapSegment dst = scratch;
+            for(long width = MERGE_BLOCK; width < n; width <<= 1) {
+                for(long low = 0; low < n; low += width << 1) {
+                    long mid = Math.min(low + width, n);
+                    long high = Math.min(low + (width << 1), n);
+                    mergeLongs(src, dst, low, mid, high, m);
+                }
+                OffHeapSegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if(src != data) {
+                data.copyFrom(src, 0, 0, n << 3);
+                if(counting) m.trocas += n;
+            }
+        }
+    }
+
+    // Intercala src[low, mid) e src[mid, high) em dst[low, high)
+    private static void mergeLongs(OffHeapSegment src, OffHeapSegment dst, long low, long mid, long high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long i = low;
+        long j = mid;
+        long k = low;
+        while(i < mid && j < high) {
+            if((k & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.comparacoes++;
+            long left = src.getLong(i);
+            long right = src.getLong(j);
+            if(left <= right) {
+                dst.setLong(k++, left);
+                i++;
+            } else {
+                dst.setLong(k++, right);
+                j++;
+            }
+        }
+        // O restante de um dos lados já está em ordem: cópia em bloco
+        if(i < mid) dst.copyFrom(src, i << 3, k << 3, (mid - i) << 3);
+        if(j < high) dst.copyFrom(src, j << 3, k << 3, (high - j) << 3);
+        if(counting) m.trocas += high - low;
+    }
+
+    /**
+     * Verifica se os {@code n} primeiros long do segmento estão em ordem crescente.
+     */
+    public static boolean isSortedLongs(OffHeapSegment data, long n) {
+        for(long i = 1; i < n; i++) {
+            if(data.getLong(i - 1) > data.getLong(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Preenche os {@code n} primeiros long do segmento com valores uniformes em todo o intervalo do tipo.
+     */
+    public static void fillUniformLongs(OffHeapSegment data, long n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for(long i = 0; i < n; i++) {
+            data.setLong(i, random.nextLong());
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.exemple.sortinganalysis;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merge Sort paralelo baseado em {@link ForkJoinPool}, para inteiros e strings.
+ * As duas metades são ordenadas em paralelo e a mesclagem também é dividida:
+ * o elemento do meio do maior trecho é localizado por busca binária no outro,
+ * gerando duas mesclagens independentes. Abaixo do limiar sequencial
+ * (threshold) o trabalho é feito na própria thread.
+ *
+ * Um único buffer auxiliar é alocado por ordenação; origem e destino se
+ * alternam a cada nível da recursão, evitando cópias de volta, inclusive nas
+ * folhas sequenciais (Merge Sort com buffer único). Cada tarefa conta
+ * comparações e trocas no seu próprio {@link SortMetrics}, criado a partir do
+ * da tarefa pai ({@link SortMetrics#child()}, com o mesmo modo de contagem) e
+ * somado a ele ao final, sem contadores compartilhados entre threads. O
+ * cancelamento do {@link SortMetrics} do chamador chega às subtarefas por essa
+ * cadeia e é verificado em cada folha sequencial.
+ */
+public final class ParallelMergeSort {
+
+    // Limiar padrão abaixo do qual ordenação e mesclagem são sequenciais
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Ordena o array de inteiros com o limiar padrão no pool comum.
+     */
+    public static void sort(int[] arr, SortMetrics m) {
+        sort(arr, DEFAULT_THRESHOLD, m);
+    }
+
+    /**
+     * Ordena o array de inteiros no pool comum, usando o limiar sequencial informado.
+     */
+    public static void sort(int[] arr, int threshold, SortMetrics m) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Limiar sequencial deve ser >= 2: " + threshold);
+        }
+        if (arr.length < 2) {
+            return;
+        }
+        // Cópia inicial para o buffer auxiliar conta como movimentação
+        int[] aux = arr.clone();
+        if (m.isCounting()) m.trocas += arr.length;
+        IntSortTask task = new IntSortTask(aux, arr, 0, arr.length, threshold, m);
+        ForkJoinPool.commonPool().invoke(task);
+        m.add(task.metrics);
+    }
+
+    /**
+     * Ordena o array de strings (ignorando case) com o limiar padrão no pool comum.
+     */
+    public static void sortStrings(String[] arr, SortMetrics m) {
+        sortStrings(arr, DEFAULT_THRESHOLD, m);
+    }
+
+    /**
+     * Ordena o array de strings (ignorando case) no pool comum, usando o limiar informado.
+     */
+    public static void sortStrings(String[] arr, int threshold, SortMetrics m) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Limiar sequencial deve ser >= 2: " + threshold);
+        }
+        if (arr.length < 2) {
+            return;
+        }
+        // Cópia inicial para o buffer auxiliar conta como movimentação
+        String[] aux = arr.clone();
+        if (m.isCounting()) m.trocas += arr.length;
+        StringSortTask task = new StringSortTask(aux, arr, 0, arr.length, threshold, m);
+        ForkJoinPool.commonPool().invoke(task);
+        m.add(task.metrics);
+    }
+
+    // -----------------------------------------------------
+    // Tarefas para inteiros
+
+    /**
+     * Ordena dst[lo, hi) usando src como área auxiliar. No início, src e dst
+     * têm o mesmo conteúdo no intervalo; as metades são ordenadas em src
+     * (papéis invertidos) e depois mescladas em dst.
+     */
+    private static final class IntSortTask extends RecursiveAction {
+        private final int[] src, dst;
+        private final int lo, hi, threshold;
+        final SortMetrics metrics;
+
+        IntSortTask(int[] src, int[] dst, int lo, int hi, int threshold, SortMetrics parent) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.metrics = parent.child();
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                metrics.checkCancelled();
+                SortingComparisonEnhanced.mergeSortBuffered(src, dst, lo, hi - 1, metrics);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            IntSortTask left = new IntSortTask(dst, src, lo, mid, threshold, metrics);
+            IntSortTask right = new IntSortTask(dst, src, mid, hi, threshold, metrics);
+            invokeAll(left, right);
+            metrics.add(left.metrics);
+            metrics.add(right.metrics);
+
+            IntMergeTask merge = new IntMergeTask(src, lo, mid, mid, hi, dst, lo, threshold, metrics);
+            merge.compute();
+            metrics.add(merge.metrics);
+        }
+    }
+
+    /**
+     * Mescla src[lo1, hi1) (trecho da esquerda) com src[lo2, hi2) (trecho da
+     * direita) em dst a partir de dstLo, dividindo o trabalho recursivamente.
+     */
+    private static final class IntMergeTask extends RecursiveAction {
+        private final int[] src, dst;
+        private final int lo1, hi1, lo2, hi2, dstLo, threshold;
+        final SortMetrics metrics;
+
+        IntMergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int dstLo, int threshold, SortMetrics parent) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.dstLo = dstLo;
+            this.threshold = threshold;
+            this.metrics = parent.child();
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold) {
+                mergeSequential();
+                return;
+            }
+            int split1, split2;
+            if (n1 >= n2) {
+                // Pivô no trecho da esquerda: iguais da direita ficam depois dele
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(src, lo2, hi2, src[split1]);
+            } else {
+                // Pivô no trecho da direita: iguais da esquerda ficam antes dele
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(src, lo1, hi1, src[split2]);
+            }
+            int dstMid = dstLo + (split1 - lo1) + (split2 - lo2);
+            IntMergeTask left = new IntMergeTask(src, lo1, split1, lo2, split2, dst, dstLo, threshold, metrics);
+            IntMergeTask right = new IntMergeTask(src, split1, hi1, split2, hi2, dst, dstMid, threshold, metrics);
+            invokeAll(left, right);
+            metrics.add(left.metrics);
+            metrics.add(right.metrics);
+        }
+
+        private void mergeSequential() {
+            metrics.checkCancelled();
+            int i = lo1, j = lo2, k = dstLo;
+            final boolean counting = metrics.isCounting();
+            long comparacoes = 0;
+            while (i < hi1 && j < hi2) {
+                if (counting) comparacoes++;
+                if (src[i] <= src[j]) {
+                    dst[k++] = src[i++];
+                } else {
+                    dst[k++] = src[j++];
+                }
+            }
+            while (i < hi1) {
+                dst[k++] = src[i++];
+            }
+            while (j < hi2) {
+                dst[k++] = src[j++];
+            }
+            metrics.comparacoes += comparacoes;
+            if (counting) metrics.trocas += (hi1 - lo1) + (hi2 - lo2);
+        }
+
+        /**
+         * Primeira posição em [lo, hi) cujo valor é >= key.
+         */
+        private int lowerBound(int[] a, int lo, int hi, int key) {
+            final boolean counting = metrics.isCounting();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (counting) metrics.comparacoes++;
+                if (a[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Primeira posição em [lo, hi) cujo valor é > key.
+         */
+        private int upperBound(int[] a, int lo, int hi, int key) {
+            final boolean counting = metrics.isCounting();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (counting) metrics.comparacoes++;
+                if (a[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    // -----------------------------------------------------
+    // Tarefas para strings, com comparação ignorando case
+
+    private static final class StringSortTask extends RecursiveAction {
+        private final String[] src, dst;
+        private final int lo, hi, threshold;
+        final SortMetrics metrics;
+
+        StringSortTask(String[] src, String[] dst, int lo, int hi, int threshold, SortMetrics parent) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.metrics = parent.child();
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                metrics.checkCancelled();
+                SortingComparisonEnhanced.mergeSortBufferedStrings(src, dst, lo, hi - 1, metrics);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            StringSortTask left = new StringSortTask(dst, src, lo, mid, threshold, metrics);
+            StringSortTask right = new StringSortTask(dst, src, mid, hi, threshold, metrics);
+            invokeAll(left, right);
+            metrics.add(left.metrics);
+            metrics.add(right.metrics);
+
+            StringMergeTask merge = new StringMergeTask(src, lo, mid, mid, hi, dst, lo, threshold, metrics);
+            merge.compute();
+            metrics.add(merge.metrics);
+        }
+    }
+
+    private static final class StringMergeTask extends RecursiveAction {
+        private final String[] src, dst;
+        private final int lo1, hi1, lo2, hi2, dstLo, threshold;
+        final SortMetrics metrics;
+
+        StringMergeTask(String[] src, int lo1, int hi1, int lo2, int hi2, String[] dst, int dstLo, int threshold, SortMetrics parent) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.dstLo = dstLo;
+            this.threshold = threshold;
+            this.metrics = parent.child();
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold) {
+                mergeSequential();
+                return;
+            }
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(src, lo2, hi2, src[split1]);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(src, lo1, hi1, src[split2]);
+            }
+            int dstMid = dstLo + (split1 - lo1) + (split2 - lo2);
+            StringMergeTask left = new StringMergeTask(src, lo1, split1, lo2, split2, dst, dstLo, threshold, metrics);
+            StringMergeTask right = new StringMergeTask(src, split1, hi1, split2, hi2, dst, dstMid, threshold, metrics);
+            invokeAll(left, right);
+            metrics.add(left.metrics);
+            metrics.add(right.metrics);
+        }
+
+        private void mergeSequential() {
+            metrics.checkCancelled();
+            int i = lo1, j = lo2, k = dstLo;
+            final boolean counting = metrics.isCounting();
+            long comparacoes = 0;
+            while (i < hi1 && j < hi2) {
+                if (counting) comparacoes++;
+                if (src[i].compareToIgnoreCase(src[j]) <= 0) {
+                    dst[k++] = src[i++];
+                } else {
+                    dst[k++] = src[j++];
+                }
+            }
+            while (i < hi1) {
+                dst[k++] = src[i++];
+            }
+            while (j < hi2) {
+                dst[k++] = src[j++];
+            }
+            metrics.comparacoes += comparacoes;
+            if (counting) metrics.trocas += (hi1 - lo1) + (hi2 - lo2);
+        }
+
+        private int lowerBound(String[] a, int lo, int hi, String key) {
+            final boolean counting = metrics.isCounting();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (counting) metrics.comparacoes++;
+                if (a[mid].compareToIgnoreCase(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int upperBound(String[] a, int lo, int hi, String key) {
+            final boolean counting = metrics.isCounting();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (counting) metrics.comparacoes++;
+                if (a[mid].compareToIgnoreCase(key) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
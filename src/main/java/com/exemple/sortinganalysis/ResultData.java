@@ -11,12 +11,33 @@ import javafx.beans.property.SimpleStringProperty;
 public class ResultData {
     // Propriedade observável para nome do algoritmo
     private final SimpleStringProperty algorithm;
+    // Propriedade observável para o tamanho da entrada (-1 se desconhecido, ex.: ordenação externa)
+    private final SimpleLongProperty size;
     // Propriedade observável para tempo de execução em milissegundos
     private final SimpleDoubleProperty timeMillis;
+    // Propriedades observáveis do tempo da versão instrumentada (-1 se o tempo acima já é o dela)
+    // e da sobrecarga da instrumentação em % (NaN se não medida)
+    private final SimpleDoubleProperty instrumentedMillis;
+    private final SimpleDoubleProperty overheadPercent;
     // Propriedade observável para o número de comparações feitas
     private final SimpleLongProperty comparisons;
     // Propriedade observável para o número de trocas feitas
     private final SimpleLongProperty swaps;
+    // Propriedade observável para o número de passadas sobre os dados (algoritmos não comparativos)
+    private final SimpleLongProperty passes;
+    // Propriedade observável para os bytes alocados pela thread durante a ordenação (-1 se não medido)
+    private final SimpleLongProperty allocatedBytes;
+    // Propriedades observáveis das coletas de lixo durante a ordenação (quantidade e tempo em ms)
+    // e do pico de uso do heap acima do nível inicial, em bytes (-1 se não medidos)
+    private final SimpleLongProperty gcCount;
+    private final SimpleLongProperty gcPauseMillis;
+    private final SimpleLongProperty peakHeapDeltaBytes;
+    // Propriedades observáveis da ordenação externa (zero nas execuções em memória)
+    private final SimpleLongProperty runs;
+    private final SimpleLongProperty mergePasses;
+    private final SimpleLongProperty ioBytes;
+    // Propriedade observável do modo em que a execução foi agendada (ver RunScheduler)
+    private final SimpleStringProperty mode;
 
     /**
      * Construtor que inicializa todas as propriedades com os valores passados.
@@ -28,9 +49,77 @@ public class ResultData {
      */
     public ResultData(String algorithm, double timeMillis, long comparisons, long swaps) {
         this.algorithm = new SimpleStringProperty(algorithm);
+        this.size = new SimpleLongProperty(-1);
         this.timeMillis = new SimpleDoubleProperty(timeMillis);
+        this.instrumentedMillis = new SimpleDoubleProperty(-1);
+        this.overheadPercent = new SimpleDoubleProperty(Double.NaN);
         this.comparisons = new SimpleLongProperty(comparisons);
         this.swaps = new SimpleLongProperty(swaps);
+        this.passes = new SimpleLongProperty(0);
+        this.allocatedBytes = new SimpleLongProperty(-1);
+        this.gcCount = new SimpleLongProperty(-1);
+        this.gcPauseMillis = new SimpleLongProperty(-1);
+        this.peakHeapDeltaBytes = new SimpleLongProperty(-1);
+        this.runs = new SimpleLongProperty(0);
+        this.mergePasses = new SimpleLongProperty(0);
+        this.ioBytes = new SimpleLongProperty(0);
+        this.mode = new SimpleStringProperty(RunScheduler.ISOLATED);
+    }
+
+    /**
+     * Construtor que copia os contadores de uma execução já concluída.
+     *
+     * @param algorithm Nome do algoritmo
+     * @param timeMillis Tempo de execução em milissegundos
+     * @param metrics Contadores acumulados durante a execução
+     */
+    public ResultData(String algorithm, double timeMillis, SortMetrics metrics) {
+        this(algorithm, timeMillis, metrics.getComparisons(), metrics.getSwaps());
+        this.passes.set(metrics.getPasses());
+        this.runs.set(metrics.getRuns());
+        this.mergePasses.set(metrics.getMergePasses());
+        this.ioBytes.set(metrics.getIoBytes());
+    }
+
+    /**
+     * Construtor que copia os contadores de uma execução e registra a memória usada.
+     *
+     * @param algorithm Nome do algoritmo
+     * @param timeMillis Tempo de execução em milissegundos
+     * @param metrics Contadores acumulados durante a execução
+     * @param memory Alocação, coletas de lixo e pico do heap durante a execução
+     */
+    public ResultData(String algorithm, double timeMillis, SortMetrics metrics, MemoryProbe.Usage memory) {
+        this(algorithm, timeMillis, metrics);
+        this.allocatedBytes.set(memory.getAllocatedBytes());
+        this.gcCount.set(memory.getGcCount());
+        this.gcPauseMillis.set(memory.getGcPauseMillis());
+        this.peakHeapDeltaBytes.set(memory.getPeakHeapDeltaBytes());
+    }
+
+    /**
+     * Construtor a partir de uma execução medida ({@link SortRun}).
+     *
+     * @param run Execução concluída, com tempo, contadores e memória
+     */
+    public ResultData(SortRun run) {
+        this(run.getAlgorithm(), run.getTimeMillis(), run.getMetrics(), run.getMemory());
+        this.size.set(run.getSize());
+        this.instrumentedMillis.set(run.getInstrumentedMillis());
+        this.overheadPercent.set(run.getOverheadPercent());
+    }
+
+    /**
+     * Construtor a partir de um ponto da varredura de tamanhos ({@link SizeSweep}):
+     * tempo mediano e contadores médios das repetições.
+     *
+     * @param point Ponto medido de um algoritmo em um tamanho
+     */
+    public ResultData(SizeSweep.Point point) {
+        this(point.getAlgorithm(), point.getMedianMillis(), point.getMetrics(), point.getMemory());
+        this.size.set(point.getSize());
+        this.instrumentedMillis.set(point.getInstrumentedMillis());
+        this.overheadPercent.set(SortRun.overheadPercent(point.getMedianMillis(), point.getInstrumentedMillis()));
     }
 
     // Getters e propriedades para "binding" em JavaFX TableView
@@ -43,6 +132,14 @@ public class ResultData {
         return algorithm;
     }
 
+    public long getSize() {
+        return size.get();
+    }
+
+    public SimpleLongProperty sizeProperty() {
+        return size;
+    }
+
     public double getTimeMillis() {
         return timeMillis.get();
     }
@@ -51,6 +148,22 @@ public class ResultData {
         return timeMillis;
     }
 
+    public double getInstrumentedMillis() {
+        return instrumentedMillis.get();
+    }
+
+    public SimpleDoubleProperty instrumentedMillisProperty() {
+        return instrumentedMillis;
+    }
+
+    public double getOverheadPercent() {
+        return overheadPercent.get();
+    }
+
+    public SimpleDoubleProperty overheadPercentProperty() {
+        return overheadPercent;
+    }
+
     public long getComparisons() {
         return comparisons.get();
     }
@@ -67,6 +180,85 @@ public class ResultData {
         return swaps;
     }
 
+    public long getPasses() {
+        return passes.get();
+    }
+
+    public SimpleLongProperty passesProperty() {
+        return passes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    public SimpleLongProperty allocatedBytesProperty() {
+        return allocatedBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount.get();
+    }
+
+    public SimpleLongProperty gcCountProperty() {
+        return gcCount;
+    }
+
+    public long getGcPauseMillis() {
+        return gcPauseMillis.get();
+    }
+
+    public SimpleLongProperty gcPauseMillisProperty() {
+        return gcPauseMillis;
+    }
+
+    public long getPeakHeapDeltaBytes() {
+        return peakHeapDeltaBytes.get();
+    }
+
+    public SimpleLongProperty peakHeapDeltaBytesProperty() {
+        return peakHeapDeltaBytes;
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public SimpleLongProperty runsProperty() {
+        return runs;
+    }
+
+    public long getMergePasses() {
+        return mergePasses.get();
+    }
+
+    public SimpleLongProperty mergePassesProperty() {
+        return mergePasses;
+    }
+
+    public long getIoBytes() {
+        return ioBytes.get();
+    }
+
+    public SimpleLongProperty ioBytesProperty() {
+        return ioBytes;
+    }
+
+    public String getMode() {
+        return mode.get();
+    }
+
+    public SimpleStringProperty modeProperty() {
+        return mode;
+    }
+
+    /**
+     * Registra o modo de execução ({@link RunScheduler#ISOLATED} ou {@link RunScheduler#PARALLEL}).
+     */
+    public void setMode(String mode) {
+        this.mode.set(mode);
+    }
+
     /**
      * Exemplo de setter apenas para o tempo, utilizando propriedade observável.
      * Pode ser expandido para outras propriedades se necessário.
@@ -0,0 +1,174 @@
+package com.exemple.sortinganalysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Agenda as execuções de uma comparação (algoritmos e repetições) em um de
+ * dois modos:
+ * <ul>
+ *   <li>{@link #ISOLATED}: uma de cada vez, na thread que chama
+ *   {@link #run}, para tempos sem interferência entre as execuções;</li>
+ *   <li>{@link #PARALLEL}: simultâneas em threads de trabalho próprias, para
+ *   terminar a comparação mais cedo. Os tempos passam a disputar núcleos,
+ *   cache e banda de memória, e as leituras de GC e do pico de heap (globais
+ *   da JVM) misturam as execuções.</li>
+ * </ul>
+ * Cada execução recebe o seu {@link SortMetrics} e deve ordenar a sua própria
+ * cópia da entrada. O modo usado fica registrado em cada linha de resultado
+ * ({@link ResultData#getMode()}) e no CSV.
+ */
+public final class RunScheduler {
+
+    // Modos de execução, como exibidos na interface e gravados nos resultados
+    public static final String ISOLATED = "Sequencial isolado";
+    public static final String PARALLEL = "Paralelo";
+    public static final List<String> MODES = List.of(ISOLATED, PARALLEL);
+
+    // Pilha das threads que executam ordenações (aqui, na interface e na linha de comando):
+    // o Quick Sort clássico recursa O(n) níveis em entradas ordenadas
+    static final long WORKER_STACK_SIZE = 512L * 1024 * 1024;
+
+    /**
+     * Uma execução agendada; recebe contadores próprios, que "pular" e
+     * "cancelar" sinalizam.
+     */
+    @FunctionalInterface
+    public interface Job<T> {
+        T run(SortMetrics metrics) throws Exception;
+    }
+
+    /**
+     * Acompanha as execuções; no modo paralelo é chamado das threads de
+     * trabalho, em qualquer ordem. O índice é a posição na lista de execuções.
+     */
+    @FunctionalInterface
+    public interface Listener<T> {
+        default void started(int index) {
+        }
+
+        void finished(int index, T result);
+
+        /**
+         * Execução interrompida por {@link #skipRunning()} ou {@link #cancel()}.
+         */
+        default void skipped(int index) {
+        }
+    }
+
+    private final String mode;
+    private final int threads;
+    // Contadores das execuções em andamento
+    private final Set<SortMetrics> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * @param mode {@link #ISOLATED} ou {@link #PARALLEL}
+     * @param threads máximo de execuções simultâneas no modo paralelo
+     */
+    public RunScheduler(String mode, int threads) {
+        if (!MODES.contains(mode)) {
+            throw new IllegalArgumentException("Modo de execução inválido: " + mode);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        this.mode = mode;
+        this.threads = threads;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Executa todas as execuções e retorna quando terminarem. Uma execução
+     * pulada ou cancelada não interrompe as demais; se alguma falhar, as outras
+     * terminam e a exceção da primeira (na ordem da lista) é relançada.
+     */
+    public <T> void run(List<Job<T>> jobs, Listener<T> listener) throws Exception {
+        if (mode.equals(ISOLATED) || threads == 1 || jobs.size() < 2) {
+            for (int i = 0; i < jobs.size() && !cancelled; i++) {
+                execute(i, jobs.get(i), listener);
+            }
+            return;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, jobs.size()), r -> {
+            Thread t = new Thread(null, r, "sorting-scheduler", WORKER_STACK_SIZE);
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    execute(index, jobs.get(index), listener);
+                    return null;
+                }));
+            }
+            Exception failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                } catch (InterruptedException e) {
+                    cancel();
+                    throw e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private <T> void execute(int index, Job<T> job, Listener<T> listener) throws Exception {
+        if (cancelled) {
+            return;
+        }
+        SortMetrics metrics = new SortMetrics();
+        running.add(metrics);
+        // Cancelamento pedido entre o teste acima e o registro dos contadores
+        if (cancelled) {
+            metrics.cancel();
+        }
+        try {
+            listener.started(index);
+            T result = job.run(metrics);
+            listener.finished(index, result);
+        } catch (CancellationException e) {
+            listener.skipped(index);
+        } finally {
+            running.remove(metrics);
+        }
+    }
+
+    /**
+     * Interrompe as execuções em andamento; as que ainda não começaram seguem normalmente.
+     */
+    public void skipRunning() {
+        running.forEach(SortMetrics::cancel);
+    }
+
+    /**
+     * Interrompe as execuções em andamento e descarta as que ainda não começaram.
+     */
+    public void cancel() {
+        cancelled = true;
+        skipRunning();
+    }
+}
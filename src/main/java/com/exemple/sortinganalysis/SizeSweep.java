@@ -0,0 +1,551 @@
+package com.exemple.sortinganalysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Varredura de tamanhos: mede cada algoritmo sobre entradas geradas com
+ * tamanhos em progressão geométrica (ex.: de 10³ a 10⁸), com repetições, e
+ * ajusta os tempos e as comparações medidos às curvas n, n log n e n². O
+ * resultado é a escala observada no hardware atual, em vez da complexidade
+ * teórica de livro.
+ *
+ * Antes da primeira medição cada algoritmo é executado algumas vezes numa
+ * entrada pequena, para que os tamanhos menores não meçam o interpretador.
+ * Para cada tamanho a entrada é gerada uma única vez e copiada para cada
+ * repetição; algoritmos que rodam sem contagem ({@link SortMetrics#uncounted()})
+ * têm as repetições medidas assim, e a execução que conta roda uma vez por tamanho
+ * para as contagens e o tempo instrumentado. Um algoritmo deixa de ser medido nos tamanhos seguintes quando
+ * o tempo previsto para o próximo tamanho (extrapolado dos dois últimos
+ * pontos) passa do orçamento por execução, o que evita, por exemplo, rodar o
+ * Bubble Sort com 10⁶ elementos. Não depende de JavaFX.
+ */
+public final class SizeSweep {
+
+    // Curvas candidatas do ajuste, na ordem de crescimento
+    public static final List<String> MODELS = List.of("n", "n log n", "n²");
+    // Aquecimento do JIT antes da varredura: execuções descartadas de cada algoritmo numa entrada pequena
+    static final int WARMUP_SIZE = 10_000;
+    static final int WARMUP_MAX_RUNS = 10;
+    static final long WARMUP_MILLIS = 200;
+    // Tempos abaixo deste valor são dominados por ruído e ficam fora do ajuste de tempo
+    static final double MIN_FIT_MILLIS = 1.0;
+
+    private SizeSweep() {
+    }
+
+    /**
+     * Um ponto medido: mediana do tempo e média dos contadores das repetições
+     * de um algoritmo em um tamanho.
+     */
+    public static final class Point {
+        private final String algorithm;
+        private final int n;
+        private final double medianMillis;
+        private final double minMillis;
+        private final double instrumentedMillis;
+        private final SortMetrics metrics;
+        private final MemoryProbe.Usage memory;
+        private final int trials;
+        private final boolean sorted;
+
+        Point(String algorithm, int n, double medianMillis, double minMillis, double instrumentedMillis, SortMetrics metrics,
+              MemoryProbe.Usage memory, int trials, boolean sorted) {
+            this.algorithm = algorithm;
+            this.n = n;
+            this.medianMillis = medianMillis;
+            this.minMillis = minMillis;
+            this.instrumentedMillis = instrumentedMillis;
+            this.metrics = metrics;
+            this.memory = memory;
+            this.trials = trials;
+            this.sorted = sorted;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getSize() {
+            return n;
+        }
+
+        /**
+         * Mediana do tempo das repetições, em milissegundos.
+         */
+        public double getMedianMillis() {
+            return medianMillis;
+        }
+
+        public double getMinMillis() {
+            return minMillis;
+        }
+
+        /**
+         * Tempo da execução da versão que conta, ou -1 se o algoritmo não tem versão rápida
+         * (e as repetições já são instrumentadas).
+         */
+        public double getInstrumentedMillis() {
+            return instrumentedMillis;
+        }
+
+        /**
+         * Contadores médios por repetição.
+         */
+        public SortMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Bytes alocados pela thread, em média por repetição, ou -1 se não medido.
+         */
+        public long getAllocatedBytes() {
+            return memory.getAllocatedBytes();
+        }
+
+        /**
+         * Memória por repetição ({@link MemoryProbe.Usage#mean}): alocação, coletas e
+         * pausa médias, e o maior pico do heap.
+         */
+        public MemoryProbe.Usage getMemory() {
+            return memory;
+        }
+
+        public int getTrials() {
+            return trials;
+        }
+
+        /**
+         * Se todas as repetições ordenaram corretamente.
+         */
+        public boolean isSorted() {
+            return sorted;
+        }
+    }
+
+    /**
+     * Ajuste de uma série (tempo ou comparações) de um algoritmo: expoente
+     * empírico (inclinação no gráfico log-log) e a curva candidata que melhor
+     * explica os pontos, com o fator constante e o erro médio do ajuste.
+     */
+    public static final class Fit {
+        private final double exponent;
+        private final String model;
+        private final double constant;
+        private final double error;
+
+        Fit(double exponent, String model, double constant, double error) {
+            this.exponent = exponent;
+            this.model = model;
+            this.constant = constant;
+            this.error = error;
+        }
+
+        /**
+         * Inclinação da reta log(y) × log(n): ~1 para n, ~1,1 para n log n nessa faixa, ~2 para n².
+         */
+        public double getExponent() {
+            return exponent;
+        }
+
+        /**
+         * Curva de {@link #MODELS} com o menor erro.
+         */
+        public String getModel() {
+            return model;
+        }
+
+        /**
+         * Fator c do ajuste y ≈ c·f(n).
+         */
+        public double getConstant() {
+            return constant;
+        }
+
+        /**
+         * Erro relativo médio (geométrico) dos pontos em relação à curva, ex.: 0,05 = 5%.
+         */
+        public double getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("O(%s), expoente %.2f, erro %.0f%%", model, exponent, error * 100);
+        }
+    }
+
+    /**
+     * Acompanhamento da varredura (ex.: barra de progresso e cancelamento na interface).
+     */
+    public interface Listener {
+        /**
+         * Chamado antes de medir um algoritmo em um tamanho. Os contadores
+         * recebidos são os da medição: cancelá-los de outra thread interrompe
+         * o algoritmo, que não é medido nos tamanhos seguintes. Uma
+         * {@link CancellationException} lançada aqui interrompe a varredura.
+         *
+         * @param step índice da medição (base 0) entre {@code steps} medições planejadas
+         */
+        default void measuring(String algorithm, int n, int step, int steps, SortMetrics metrics) {
+        }
+
+        default void measured(Point point) {
+        }
+
+        /**
+         * O algoritmo não será medido a partir do tamanho {@code n}.
+         */
+        default void skipped(String algorithm, int n, String reason) {
+        }
+    }
+
+    /**
+     * Tamanhos de {@code min} a {@code max} em progressão geométrica, com
+     * {@code perDecade} pontos por potência de 10 (ex.: 1, 2 ou 3), sem repetições.
+     *
+     * @throws IllegalArgumentException se os limites ou a quantidade de pontos forem inválidos
+     */
+    public static int[] geometricSizes(int min, int max, int perDecade) {
+        if (min <= 0 || max < min || perDecade <= 0) {
+            throw new IllegalArgumentException("Tamanhos inválidos: " + min + " a " + max + ", " + perDecade + " por década");
+        }
+        List<Integer> sizes = new ArrayList<>();
+        double ratio = Math.pow(10, 1.0 / perDecade);
+        for (int k = 0; ; k++) {
+            long n = Math.round(min * Math.pow(ratio, k));
+            if (n > max) {
+                break;
+            }
+            if (sizes.isEmpty() || sizes.get(sizes.size() - 1) != n) {
+                sizes.add((int) n);
+            }
+        }
+        if (sizes.get(sizes.size() - 1) != max && max > min) {
+            sizes.add(max);
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Varredura com arrays de inteiros gerados na distribuição pedida. O Counting
+     * Sort é ignorado nos tamanhos em que o intervalo de valores é muito largo.
+     *
+     * @param fastAlgorithms versões sem instrumentação, com as mesmas chaves (ex.: {@link SortAlgorithms#FAST_INT_ALGORITHMS})
+     * @param budgetMillis orçamento de tempo por execução de um algoritmo
+     */
+    public static List<Point> sweepInts(Map<String, BiConsumer<int[], SortMetrics>> algorithms,
+                                        Map<String, BiConsumer<int[], SortMetrics>> fastAlgorithms, String distribution, long seed,
+                                        int[] sizes, int trials, double budgetMillis, Listener listener) {
+        return sweep(algorithms, fastAlgorithms, sizes, trials, budgetMillis, listener,
+                n -> DataGenerators.ints(distribution, n, seed),
+                arr -> Arrays.copyOf(arr, arr.length),
+                SortingComparisonEnhanced::isSorted,
+                (name, input) -> !name.equals(SortAlgorithms.COUNTING_SORT) || SortingComparisonEnhanced.isCountingSortApplicable(input));
+    }
+
+    /**
+     * Varredura com arrays de strings gerados na distribuição pedida. Os nomes
+     * dos pontos recebem o sufixo {@link SortAlgorithms#TEXT_SUFFIX}.
+     *
+     * @param fastAlgorithms versões sem instrumentação, com as mesmas chaves (ex.: {@link SortAlgorithms#FAST_STRING_ALGORITHMS})
+     * @param budgetMillis orçamento de tempo por execução de um algoritmo
+     */
+    public static List<Point> sweepStrings(Map<String, BiConsumer<String[], SortMetrics>> algorithms,
+                                           Map<String, BiConsumer<String[], SortMetrics>> fastAlgorithms, String distribution, long seed,
+                                           int[] sizes, int trials, double budgetMillis, Listener listener) {
+        Map<String, BiConsumer<String[], SortMetrics>> named = new LinkedHashMap<>();
+        Map<String, BiConsumer<String[], SortMetrics>> namedFast = new LinkedHashMap<>();
+        algorithms.forEach((name, algorithm) -> named.put(name + SortAlgorithms.TEXT_SUFFIX, algorithm));
+        fastAlgorithms.forEach((name, algorithm) -> namedFast.put(name + SortAlgorithms.TEXT_SUFFIX, algorithm));
+        return sweep(named, namedFast, sizes, trials, budgetMillis, listener,
+                n -> DataGenerators.strings(distribution, n, seed),
+                arr -> Arrays.copyOf(arr, arr.length),
+                SortingComparisonEnhanced::isSortedStrings,
+                (name, input) -> true);
+    }
+
+    private static <T> List<Point> sweep(Map<String, BiConsumer<T, SortMetrics>> algorithms,
+                                         Map<String, BiConsumer<T, SortMetrics>> fastAlgorithms, int[] sizes, int trials,
+                                         double budgetMillis, Listener listener, IntFunction<T> generator,
+                                         UnaryOperator<T> copier, Predicate<T> isSorted, BiPredicate<String, T> applicable) {
+        List<Point> points = new ArrayList<>();
+        // Algoritmos ainda medidos e o último ponto de cada um (para a previsão do próximo tamanho)
+        Map<String, BiConsumer<T, SortMetrics>> active = new LinkedHashMap<>(algorithms);
+        Map<String, Point> last = new LinkedHashMap<>();
+        Map<String, Point> beforeLast = new LinkedHashMap<>();
+        int steps = sizes.length * algorithms.size();
+        int step = 0;
+        if (sizes.length > 0) {
+            warmUp(algorithms, fastAlgorithms, generator.apply(Math.min(sizes[0], WARMUP_SIZE)), copier, applicable);
+        }
+
+        for (int n : sizes) {
+            if (active.isEmpty()) {
+                break;
+            }
+            // Descarta quem estouraria o orçamento neste tamanho antes de gerar a entrada
+            for (String name : new ArrayList<>(active.keySet())) {
+                double predicted = predictMillis(beforeLast.get(name), last.get(name), n);
+                if (predicted > budgetMillis) {
+                    active.remove(name);
+                    listener.skipped(name, n, String.format("tempo previsto de %.0f ms passa do orçamento", predicted));
+                }
+            }
+            if (active.isEmpty()) {
+                break;
+            }
+
+            T input = generator.apply(n);
+            for (String name : new ArrayList<>(active.keySet())) {
+                if (!applicable.test(name, input)) {
+                    listener.skipped(name, n, "não se aplica a esta entrada");
+                    step++;
+                    continue;
+                }
+                SortMetrics metrics = new SortMetrics();
+                listener.measuring(name, n, step++, steps, metrics);
+                Point point;
+                try {
+                    point = measure(name, n, input, active.get(name), fastAlgorithms.get(name), trials, metrics, copier, isSorted);
+                } catch (CancellationException e) {
+                    active.remove(name);
+                    listener.skipped(name, n, "pulado");
+                    continue;
+                }
+                points.add(point);
+                listener.measured(point);
+                Point previous = last.put(name, point);
+                if (previous != null) {
+                    beforeLast.put(name, previous);
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Execuções descartadas de cada algoritmo (e da sua versão rápida), até
+     * {@link #WARMUP_MAX_RUNS} vezes ou {@link #WARMUP_MILLIS} ms cada.
+     */
+    private static <T> void warmUp(Map<String, BiConsumer<T, SortMetrics>> algorithms,
+                                   Map<String, BiConsumer<T, SortMetrics>> fastAlgorithms, T input, UnaryOperator<T> copier,
+                                   BiPredicate<String, T> applicable) {
+        for (Map.Entry<String, BiConsumer<T, SortMetrics>> entry : algorithms.entrySet()) {
+            if (!applicable.test(entry.getKey(), input)) {
+                continue;
+            }
+            warmUp(entry.getValue(), input, copier);
+            BiConsumer<T, SortMetrics> fast = fastAlgorithms.get(entry.getKey());
+            if (fast != null) {
+                warmUp(fast, input, copier);
+            }
+        }
+    }
+
+    private static <T> void warmUp(BiConsumer<T, SortMetrics> algorithm, T input, UnaryOperator<T> copier) {
+        long deadline = System.nanoTime() + WARMUP_MILLIS * 1_000_000;
+        for (int r = 0; r < WARMUP_MAX_RUNS && System.nanoTime() < deadline; r++) {
+            algorithm.accept(copier.apply(input), new SortMetrics());
+        }
+    }
+
+    /**
+     * Executa as repetições sobre cópias da entrada, todas com o mesmo
+     * {@code metrics} (de modo que um único cancelamento interrompe a medição).
+     * Com versão rápida, as repetições usam {@code fast}, que não toca nos
+     * contadores, e {@code counting} roda uma vez para as contagens; sem ela,
+     * as contagens são a média das repetições.
+     */
+    private static <T> Point measure(String name, int n, T input, BiConsumer<T, SortMetrics> counting, BiConsumer<T, SortMetrics> fast,
+                                     int trials, SortMetrics metrics, UnaryOperator<T> copier, Predicate<T> isSorted) {
+        double instrumentedMillis = -1;
+        boolean sorted = true;
+        int countingRuns = trials;
+        if (fast != null) {
+            T copy = copier.apply(input);
+            long start = System.nanoTime();
+            counting.accept(copy, metrics);
+            instrumentedMillis = (System.nanoTime() - start) / 1_000_000.0;
+            sorted = isSorted.test(copy);
+            countingRuns = 1;
+        }
+        BiConsumer<T, SortMetrics> timed = fast != null ? fast : counting;
+
+        double[] times = new double[trials];
+        List<MemoryProbe.Usage> memory = new ArrayList<>(trials);
+        for (int t = 0; t < trials; t++) {
+            T copy = copier.apply(input);
+            MemoryProbe.Tracker tracker = MemoryProbe.start();
+            long start = System.nanoTime();
+            timed.accept(copy, metrics);
+            long end = System.nanoTime();
+            memory.add(tracker.stop());
+            times[t] = (end - start) / 1_000_000.0;
+            sorted &= isSorted.test(copy);
+        }
+        Arrays.sort(times);
+        double median = trials % 2 == 1 ? times[trials / 2] : (times[trials / 2 - 1] + times[trials / 2]) / 2;
+
+        SortMetrics mean = new SortMetrics();
+        mean.comparacoes = metrics.comparacoes / countingRuns;
+        mean.trocas = metrics.trocas / countingRuns;
+        mean.passadas = metrics.passadas / countingRuns;
+        return new Point(name, n, median, times[0], instrumentedMillis, mean, MemoryProbe.Usage.mean(memory), trials, sorted);
+    }
+
+    /**
+     * Tempo previsto para o tamanho n, extrapolando o último ponto com o
+     * expoente local entre os dois últimos (no mínimo 1, pois nenhum algoritmo
+     * cresce menos que linearmente). Sem pontos anteriores a previsão é 0.
+     */
+    private static double predictMillis(Point beforeLast, Point last, int n) {
+        if (last == null) {
+            return 0;
+        }
+        double exponent = 1;
+        if (beforeLast != null && beforeLast.getMedianMillis() > 0 && last.getMedianMillis() > 0) {
+            exponent = Math.max(1, Math.log(last.getMedianMillis() / beforeLast.getMedianMillis())
+                    / Math.log((double) last.getSize() / beforeLast.getSize()));
+        }
+        return last.getMedianMillis() * Math.pow((double) n / last.getSize(), exponent);
+    }
+
+    /**
+     * Pontos agrupados por algoritmo, na ordem em que aparecem.
+     */
+    public static Map<String, List<Point>> byAlgorithm(List<Point> points) {
+        Map<String, List<Point>> grouped = new LinkedHashMap<>();
+        for (Point p : points) {
+            grouped.computeIfAbsent(p.getAlgorithm(), k -> new ArrayList<>()).add(p);
+        }
+        return grouped;
+    }
+
+    /**
+     * Ajusta a mediana dos tempos às curvas candidatas, ignorando tempos abaixo
+     * de {@link #MIN_FIT_MILLIS} (se restarem ao menos dois); null com menos de
+     * dois tamanhos com tempo positivo.
+     */
+    public static Fit fitTimes(List<Point> points) {
+        List<double[]> xy = new ArrayList<>();
+        for (Point p : points) {
+            if (p.getMedianMillis() >= MIN_FIT_MILLIS) {
+                xy.add(new double[]{p.getSize(), p.getMedianMillis()});
+            }
+        }
+        if (xy.size() < 2) {
+            xy.clear();
+            for (Point p : points) {
+                xy.add(new double[]{p.getSize(), p.getMedianMillis()});
+            }
+        }
+        return fit(xy);
+    }
+
+    /**
+     * Ajusta as comparações às curvas candidatas; null com menos de dois
+     * tamanhos com comparações (ex.: Radix Sort, que não compara elementos).
+     */
+    public static Fit fitComparisons(List<Point> points) {
+        List<double[]> xy = new ArrayList<>();
+        for (Point p : points) {
+            xy.add(new double[]{p.getSize(), p.getMetrics().getComparisons()});
+        }
+        return fit(xy);
+    }
+
+    /**
+     * Regressão em escala log-log. Para cada curva f, log y = log c + log f(n):
+     * c é a média geométrica de y/f(n) e o erro é o desvio quadrático médio de
+     * log(y/(c·f(n))), devolvido como fator relativo. Vence a curva de menor erro.
+     */
+    private static Fit fit(List<double[]> points) {
+        List<double[]> valid = new ArrayList<>();
+        for (double[] p : points) {
+            if (p[0] > 1 && p[1] > 0) {
+                valid.add(p);
+            }
+        }
+        if (valid.size() < 2 || valid.get(0)[0] == valid.get(valid.size() - 1)[0]) {
+            return null;
+        }
+
+        // Inclinação por mínimos quadrados de log y sobre log n
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (double[] p : valid) {
+            double x = Math.log(p[0]), y = Math.log(p[1]);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        int k = valid.size();
+        double exponent = (k * sxy - sx * sy) / (k * sxx - sx * sx);
+
+        String bestModel = null;
+        double bestConstant = 0, bestError = Double.MAX_VALUE;
+        for (String model : MODELS) {
+            double logC = 0;
+            for (double[] p : valid) {
+                logC += Math.log(p[1]) - Math.log(modelValue(model, p[0]));
+            }
+            logC /= k;
+            double squares = 0;
+            for (double[] p : valid) {
+                double residual = Math.log(p[1]) - logC - Math.log(modelValue(model, p[0]));
+                squares += residual * residual;
+            }
+            double error = Math.exp(Math.sqrt(squares / k)) - 1;
+            if (error < bestError) {
+                bestModel = model;
+                bestConstant = Math.exp(logC);
+                bestError = error;
+            }
+        }
+        return new Fit(exponent, bestModel, bestConstant, bestError);
+    }
+
+    /**
+     * Valor da curva candidata no tamanho n.
+     */
+    static double modelValue(String model, double n) {
+        switch (model) {
+            case "n":
+                return n;
+            case "n log n":
+                return n * Math.log(n) / Math.log(2);
+            case "n²":
+                return n * n;
+            default:
+                throw new IllegalArgumentException("Curva desconhecida: " + model);
+        }
+    }
+
+    /**
+     * Resumo dos ajustes de tempo e de comparações, uma linha por algoritmo.
+     */
+    public static List<String> describeFits(List<Point> points) {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, List<Point>> entry : byAlgorithm(points).entrySet()) {
+            Fit time = fitTimes(entry.getValue());
+            Fit comparisons = fitComparisons(entry.getValue());
+            List<Point> series = entry.getValue();
+            int maxN = series.get(series.size() - 1).getSize();
+            lines.add(entry.getKey() + " (até n = " + maxN + "): tempo "
+                    + (time != null ? time.toString() : "sem pontos suficientes")
+                    + "; comparações " + (comparisons != null ? comparisons.toString() : "não medidas"));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+}
@@ -0,0 +1,147 @@
+package com.exemple.sortinganalysis;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Catálogo dos algoritmos disponíveis para comparação, na ordem em que
+ * aparecem na tabela de resultados. Cada entrada associa o nome exibido ao
+ * método de {@link SortingComparisonEnhanced} (ou classe auxiliar) que ordena
+ * o array inteiro, acumulando as métricas no {@link SortMetrics} recebido.
+ * As execuções de textos usam o mesmo nome com o sufixo " (Textos)".
+ *
+ * Todos os algoritmos só contam quando {@link SortMetrics#isCounting()} é
+ * verdadeiro; os mapas {@code FAST_*}
+ * registram, com o mesmo nome, a mesma implementação executada com
+ * {@link SortMetrics#uncounted()}: o tempo é medido nela e as contagens vêm da
+ * execução que conta.
+ * Os algoritmos sobre textos compactos ({@link StringArena}) usam os mesmos
+ * nomes, com o sufixo " (Textos compactos)", e rodam uma única vez, contando:
+ * o armazenamento compacto existe para medir a memória, e a diferença entre o
+ * tempo com e sem contagem fica no nível do ruído.
+ *
+ * As consultas de top-k ({@code SELECTION_*}) não ordenam o array inteiro:
+ * recebem também k e deixam os k menores elementos no início (ver {@link Selection}).
+ */
+public final class SortAlgorithms {
+
+    // Sufixo acrescentado ao nome dos algoritmos quando aplicados a textos
+    public static final String TEXT_SUFFIX = " (Textos)";
+    // Sufixo dos algoritmos aplicados a textos no armazenamento compacto
+    public static final String COMPACT_TEXT_SUFFIX = " (Textos compactos)";
+    // Nome do Counting Sort, executado apenas quando o intervalo de valores é estreito
+    public static final String COUNTING_SORT = "Counting Sort";
+    // Prefixo do nome das execuções de ordenação externa, seguido do algoritmo dos runs
+    public static final String EXTERNAL_PREFIX = "Ordenação externa";
+
+    // Algoritmos para arrays de inteiros
+    public static final Map<String, BiConsumer<int[], SortMetrics>> INT_ALGORITHMS;
+    // Algoritmos para arrays de strings (comparação ignorando case)
+    public static final Map<String, BiConsumer<String[], SortMetrics>> STRING_ALGORITHMS;
+    // Execuções sem contagem, com as mesmas chaves
+    public static final Map<String, BiConsumer<int[], SortMetrics>> FAST_INT_ALGORITHMS;
+    public static final Map<String, BiConsumer<String[], SortMetrics>> FAST_STRING_ALGORITHMS;
+    // Algoritmos para textos compactos: permutam só os índices das linhas
+    public static final Map<String, BiConsumer<StringArena, SortMetrics>> COMPACT_TEXT_ALGORITHMS;
+    // Consultas de top-k, com a ordenação completa (Introsort) como referência
+    public static final Map<String, Selection<int[]>> SELECTION_INT_ALGORITHMS;
+    public static final Map<String, Selection<String[]>> SELECTION_STRING_ALGORITHMS;
+
+    /**
+     * Consulta de top-k: deixa em arr[0..k) os k menores elementos, com o
+     * k-ésimo menor em arr[k-1] (1 <= k <= n), acumulando as métricas. O
+     * restante só fica ordenado quando o algoritmo o garante; o Top-k com heap
+     * e a Ordenação parcial ordenam o lado menor da consulta (arr[0..k), ou
+     * arr[k-1..n) quando k > n/2).
+     */
+    @FunctionalInterface
+    public interface Selection<T> {
+        void select(T arr, int k, SortMetrics m);
+    }
+
+    static {
+        Map<String, BiConsumer<int[], SortMetrics>> ints = new LinkedHashMap<>();
+        ints.put("Bubble Sort", SortingComparisonEnhanced::bubbleSort);
+        ints.put("Quick Sort", (arr, m) -> SortingComparisonEnhanced.quickSort(arr, 0, arr.length - 1, m));
+        ints.put("Quick Sort 3-way", SortingComparisonEnhanced::quickSort3Way);
+        ints.put("Dual-Pivot Quick Sort", SortingComparisonEnhanced::dualPivotQuickSort);
+        ints.put("Merge Sort", (arr, m) -> SortingComparisonEnhanced.mergeSort(arr, 0, arr.length - 1, m));
+        ints.put("Merge Sort (buffer único)", SortingComparisonEnhanced::mergeSortBuffered);
+        ints.put("TimSort (merge natural)", SortingComparisonEnhanced::timSort);
+        ints.put("Heap Sort", SortingComparisonEnhanced::heapSort);
+        ints.put("Heap Sort (bottom-up)", SortingComparisonEnhanced::bottomUpHeapSort);
+        ints.put("Heap Sort (4-ário)", SortingComparisonEnhanced::fourAryHeapSort);
+        ints.put("Parallel Merge Sort", ParallelMergeSort::sort);
+        ints.put("Introsort", SortingComparisonEnhanced::introSort);
+        ints.put("Radix Sort LSD (8 bits)", (arr, m) -> SortingComparisonEnhanced.radixSort(arr, 8, m));
+        ints.put("Radix Sort LSD (11 bits)", (arr, m) -> SortingComparisonEnhanced.radixSort(arr, 11, m));
+        ints.put("Radix Sort LSD (16 bits)", (arr, m) -> SortingComparisonEnhanced.radixSort(arr, 16, m));
+        ints.put(COUNTING_SORT, SortingComparisonEnhanced::countingSort);
+        INT_ALGORITHMS = Collections.unmodifiableMap(ints);
+
+        Map<String, BiConsumer<String[], SortMetrics>> strings = new LinkedHashMap<>();
+        strings.put("Bubble Sort", SortingComparisonEnhanced::bubbleSortStrings);
+        strings.put("Quick Sort", (arr, m) -> SortingComparisonEnhanced.quickSortStrings(arr, 0, arr.length - 1, m));
+        strings.put("Quick Sort 3-way", SortingComparisonEnhanced::quickSort3WayStrings);
+        strings.put("Dual-Pivot Quick Sort", SortingComparisonEnhanced::dualPivotQuickSortStrings);
+        strings.put("Merge Sort", (arr, m) -> SortingComparisonEnhanced.mergeSortStrings(arr, 0, arr.length - 1, m));
+        strings.put("Merge Sort (buffer único)", SortingComparisonEnhanced::mergeSortBufferedStrings);
+        strings.put("TimSort (merge natural)", SortingComparisonEnhanced::timSortStrings);
+        strings.put("Heap Sort", SortingComparisonEnhanced::heapSortStrings);
+        strings.put("Heap Sort (bottom-up)", SortingComparisonEnhanced::bottomUpHeapSortStrings);
+        strings.put("Heap Sort (4-ário)", SortingComparisonEnhanced::fourAryHeapSortStrings);
+        strings.put("Parallel Merge Sort", ParallelMergeSort::sortStrings);
+        strings.put("Introsort", SortingComparisonEnhanced::introSortStrings);
+        strings.put("Multikey Quick Sort", FoldedStringSort::sort);
+        STRING_ALGORITHMS = Collections.unmodifiableMap(strings);
+
+        FAST_INT_ALGORITHMS = uncounted(INT_ALGORITHMS);
+        FAST_STRING_ALGORITHMS = uncounted(STRING_ALGORITHMS);
+
+        Map<String, BiConsumer<StringArena, SortMetrics>> compactTexts = new LinkedHashMap<>();
+        compactTexts.put("Quick Sort 3-way", StringArena::quickSort3Way);
+        compactTexts.put("Merge Sort (buffer único)", StringArena::mergeSort);
+        COMPACT_TEXT_ALGORITHMS = Collections.unmodifiableMap(compactTexts);
+
+        Map<String, Selection<int[]>> selectionInts = new LinkedHashMap<>();
+        selectionInts.put("Introselect", (arr, k, m) -> SortingComparisonEnhanced.introSelect(arr, k - 1, m));
+        selectionInts.put("Top-k (heap limitado)", SortingComparisonEnhanced::heapTopK);
+        selectionInts.put("Ordenação parcial", SortingComparisonEnhanced::partialSort);
+        selectionInts.put("Introsort", (arr, k, m) -> SortingComparisonEnhanced.introSort(arr, m));
+        SELECTION_INT_ALGORITHMS = Collections.unmodifiableMap(selectionInts);
+
+        Map<String, Selection<String[]>> selectionStrings = new LinkedHashMap<>();
+        selectionStrings.put("Introselect", (arr, k, m) -> SortingComparisonEnhanced.introSelectStrings(arr, k - 1, m));
+        selectionStrings.put("Top-k (heap limitado)", SortingComparisonEnhanced::heapTopKStrings);
+        selectionStrings.put("Ordenação parcial", SortingComparisonEnhanced::partialSortStrings);
+        selectionStrings.put("Introsort", (arr, k, m) -> SortingComparisonEnhanced.introSortStrings(arr, m));
+        SELECTION_STRING_ALGORITHMS = Collections.unmodifiableMap(selectionStrings);
+    }
+
+    private SortAlgorithms() {
+    }
+
+    /**
+     * Os algoritmos do catálogo executados com {@link SortMetrics#uncounted()},
+     * que mantém o cancelamento sem contar.
+     */
+    private static <T> Map<String, BiConsumer<T, SortMetrics>> uncounted(Map<String, BiConsumer<T, SortMetrics>> algorithms) {
+        Map<String, BiConsumer<T, SortMetrics>> fast = new LinkedHashMap<>();
+        algorithms.forEach((name, algorithm) ->
+                fast.put(name, (arr, m) -> algorithm.accept(arr, m.uncounted())));
+        return Collections.unmodifiableMap(fast);
+    }
+
+    /**
+     * Nomes de todos os algoritmos (inteiros e textos), sem repetição, na ordem do catálogo.
+     */
+    public static Set<String> allNames() {
+        Set<String> names = new LinkedHashSet<>(INT_ALGORITHMS.keySet());
+        names.addAll(STRING_ALGORITHMS.keySet());
+        return names;
+    }
+}
@@ -0,0 +1,177 @@
+package com.exemple.sortinganalysis;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Eventos do JDK Flight Recorder emitidos pela análise, para correlacionar o
+ * tempo das ordenações com GC, safepoints e uso de CPU numa gravação JFR
+ * (ex.: {@code java -XX:StartFlightRecording=filename=analise.jfr ...}).
+ *
+ * Com a gravação desligada o custo é criar o objeto do evento e testar
+ * {@link Event#shouldCommit()}: os eventos de fase são emitidos uma vez por
+ * chamada do algoritmo, nunca dentro dos laços.
+ */
+public final class SortEvents {
+
+    // Tipos de dados registrados nos eventos
+    public static final String INT_TYPE = "int";
+    public static final String STRING_TYPE = "String";
+    public static final String LONG_TYPE = "long";
+
+    // Fases do Heap Sort
+    static final String HEAP_BUILD = "Construção do heap";
+    static final String HEAP_EXTRACT = "Extração";
+
+    private SortEvents() {
+    }
+
+    /**
+     * Uma execução medida ({@link SortRun}): abrange a versão que conta e a
+     * versão sem instrumentação, quando houver.
+     */
+    @Name("com.exemple.sortinganalysis.SortRun")
+    @Label("Execução de ordenação")
+    @Category("Sorting Analysis")
+    @StackTrace(false)
+    static final class RunEvent extends Event {
+        @Label("Algoritmo")
+        String algorithm;
+
+        @Label("Tipo de dados")
+        String dataType;
+
+        @Label("n")
+        long size;
+
+        @Label("Comparações")
+        long comparisons;
+
+        @Label("Trocas")
+        long swaps;
+
+        @Label("Passadas")
+        long passes;
+
+        @Label("Tempo medido")
+        @Description("Tempo da versão sem instrumentação, ou da instrumentada se não houver outra")
+        @Timespan(Timespan.NANOSECONDS)
+        long timeNanos;
+
+        @Label("Tempo instrumentado")
+        @Description("Tempo da versão que conta (-1 se o tempo medido já é o dela)")
+        @Timespan(Timespan.NANOSECONDS)
+        long instrumentedNanos;
+
+        @Label("Memória alocada")
+        @DataAmount
+        long allocatedBytes;
+
+        @Label("Ordenado")
+        boolean sorted;
+    }
+
+    /**
+     * Uma fase do Heap Sort instrumentado: construção do heap ou extração.
+     */
+    @Name("com.exemple.sortinganalysis.HeapSortPhase")
+    @Label("Fase do Heap Sort")
+    @Category("Sorting Analysis")
+    @StackTrace(false)
+    static final class HeapPhaseEvent extends Event {
+        @Label("Fase")
+        String phase;
+
+        @Label("Tipo de dados")
+        String dataType;
+
+        @Label("n")
+        int size;
+
+        @Label("Comparações")
+        long comparisons;
+
+        @Label("Trocas")
+        long swaps;
+    }
+
+    /**
+     * Uma chamada do Quick Sort clássico instrumentado, com a profundidade
+     * máxima de recursão atingida.
+     */
+    @Name("com.exemple.sortinganalysis.QuickSortRecursion")
+    @Label("Recursão do Quick Sort")
+    @Category("Sorting Analysis")
+    @StackTrace(false)
+    static final class QuickSortEvent extends Event {
+        @Label("Tipo de dados")
+        String dataType;
+
+        @Label("n")
+        int size;
+
+        @Label("Profundidade máxima")
+        @Description("Maior profundidade de recursão: O(log n) em entradas aleatórias, perto de n no pior caso")
+        int maxDepth;
+    }
+
+    /**
+     * Inicia a medição de uma fase do Heap Sort; os contadores de {@code m}
+     * no início são descontados em {@link #endHeapPhase}.
+     */
+    static HeapPhaseEvent beginHeapPhase(String phase, String dataType, int size, SortMetrics m) {
+        HeapPhaseEvent event = new HeapPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.dataType = dataType;
+            event.size = size;
+            event.comparisons = -m.comparacoes;
+            event.swaps = -m.trocas;
+            event.begin();
+        }
+        return event;
+    }
+
+    static void endHeapPhase(HeapPhaseEvent event, SortMetrics m) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.comparisons += m.comparacoes;
+            event.swaps += m.trocas;
+            event.commit();
+        }
+    }
+
+    static void commitQuickSort(QuickSortEvent event, String dataType, int size, int maxDepth) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.dataType = dataType;
+            event.size = size;
+            event.maxDepth = maxDepth;
+            event.commit();
+        }
+    }
+
+    static void commitRun(RunEvent event, SortRun run, String dataType) {
+        event.end();
+        if (event.shouldCommit()) {
+            SortMetrics m = run.getMetrics();
+            event.algorithm = run.getAlgorithm();
+            event.dataType = dataType;
+            event.size = run.getSize();
+            event.comparisons = m.getComparisons();
+            event.swaps = m.getSwaps();
+            event.passes = m.getPasses();
+            event.timeNanos = Math.round(run.getTimeMillis() * 1_000_000);
+            event.instrumentedNanos = run.getInstrumentedMillis() >= 0 ? Math.round(run.getInstrumentedMillis() * 1_000_000) : -1;
+            event.allocatedBytes = run.getAllocatedBytes();
+            event.sorted = run.isSorted();
+            event.commit();
+        }
+    }
+}
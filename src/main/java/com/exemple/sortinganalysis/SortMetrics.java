@@ -0,0 +1,144 @@
+package com.exemple.sortinganalysis;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Contadores de uma execução de ordenação (comparações, trocas e passadas).
+ * Cada execução recebe a sua própria instância, confinada à thread que
+ * ordena, de modo que vários algoritmos ou conjuntos de dados podem ser
+ * medidos em paralelo na mesma JVM sem corromper as contagens uns dos outros.
+ *
+ * A instância também carrega o pedido de cancelamento da execução: outra
+ * thread chama {@link #cancel()} e os algoritmos de custo quadrático no pior
+ * caso consultam o pedido nos laços externos, interrompendo a ordenação.
+ *
+ * Uma instância criada por {@link #uncounted()} não conta: os algoritmos leem
+ * {@link #isCounting()} uma vez, numa variável local, e só atualizam
+ * comparações e trocas quando ela é verdadeira, de modo que a mesma
+ * implementação serve para medir o tempo sem instrumentação e para contar.
+ * As duas execuções passam pelo mesmo código compilado, com o teste dentro do
+ * laço; para estes algoritmos a diferença entre os dois tempos (a coluna
+ * "Sobrecarga") fica no nível do ruído da medição.
+ */
+public final class SortMetrics {
+
+    // Número de comparações entre elementos
+    long comparacoes;
+    // Número de trocas/movimentações de elementos
+    long trocas;
+    // Número de passadas completas sobre os dados (algoritmos não comparativos)
+    long passadas;
+    // Ordenação externa: runs gravados em disco, passadas de merge e bytes lidos/gravados
+    long runs;
+    long passadasMerge;
+    long bytesES;
+    // Pedido de cancelamento feito por outra thread (ex.: botão da interface)
+    private volatile boolean cancelado;
+    // Se os algoritmos devem contar comparações e trocas
+    private final boolean contando;
+    // Instância cujo cancelamento também interrompe esta (null se nenhuma)
+    private final SortMetrics origem;
+
+    public SortMetrics() {
+        this(true, null);
+    }
+
+    private SortMetrics(boolean contando, SortMetrics origem) {
+        this.contando = contando;
+        this.origem = origem;
+    }
+
+    /**
+     * Instância que não conta comparações nem trocas, para cronometrar a
+     * execução sem o custo da instrumentação. Cancelar esta instância também
+     * interrompe a execução sem contagem.
+     */
+    public SortMetrics uncounted() {
+        return new SortMetrics(false, this);
+    }
+
+    /**
+     * Instância própria de uma subtarefa paralela, com o mesmo modo de contagem
+     * desta; a subtarefa soma os seus contadores aos do pai com {@link #add}.
+     * Cancelar esta instância (ou a de origem dela) também interrompe a subtarefa.
+     */
+    SortMetrics child() {
+        return new SortMetrics(contando, this);
+    }
+
+    public boolean isCounting() {
+        return contando;
+    }
+
+    public long getComparisons() {
+        return comparacoes;
+    }
+
+    public long getSwaps() {
+        return trocas;
+    }
+
+    public long getPasses() {
+        return passadas;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getMergePasses() {
+        return passadasMerge;
+    }
+
+    public long getIoBytes() {
+        return bytesES;
+    }
+
+    /**
+     * Pede o cancelamento da execução; pode ser chamado de qualquer thread.
+     */
+    public void cancel() {
+        cancelado = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelado || (origem != null && origem.isCancelled());
+    }
+
+    /**
+     * Interrompe a ordenação em andamento se o cancelamento foi pedido.
+     * O array fica parcialmente ordenado.
+     *
+     * @throws CancellationException se {@link #cancel()} já foi chamado
+     */
+    void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Ordenação cancelada");
+        }
+    }
+
+    /**
+     * Zera os contadores (e o pedido de cancelamento) para reutilizar a instância em outra execução.
+     */
+    public void reset() {
+        comparacoes = 0;
+        trocas = 0;
+        passadas = 0;
+        runs = 0;
+        passadasMerge = 0;
+        bytesES = 0;
+        cancelado = false;
+    }
+
+    /**
+     * Soma os contadores de outra instância nesta (ex.: sub-tarefas de uma mesma execução).
+     */
+    public void add(SortMetrics other) {
+        comparacoes += other.comparacoes;
+        trocas += other.trocas;
+        passadas += other.passadas;
+        runs += other.runs;
+        passadasMerge += other.passadasMerge;
+        bytesES += other.bytesES;
+    }
+}
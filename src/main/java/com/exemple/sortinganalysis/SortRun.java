@@ -0,0 +1,266 @@
+package com.exemple.sortinganalysis;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Uma execução medida de um algoritmo: tempo, contadores, memória (alocação,
+ * coletas de lixo e pico do heap, ver {@link MemoryProbe.Usage}) e se o
+ * resultado ficou ordenado. Quando o algoritmo pode rodar sem contagem
+ * ({@link SortAlgorithms#FAST_INT_ALGORITHMS}), o tempo e a memória são os
+ * dessa execução e a que conta roda à parte, numa cópia da entrada,
+ * registrando também o próprio tempo.
+ * Não depende de JavaFX, de modo que a mesma medição é usada pela interface
+ * gráfica e pelo executor de linha de comando ({@link SortingCli}).
+ */
+public final class SortRun {
+
+    private final String algorithm;
+    private final long size;
+    private final double timeMillis;
+    private final double instrumentedMillis;
+    private final SortMetrics metrics;
+    private final MemoryProbe.Usage memory;
+    private final boolean sorted;
+
+    public SortRun(String algorithm, long size, double timeMillis, SortMetrics metrics, MemoryProbe.Usage memory, boolean sorted) {
+        this(algorithm, size, timeMillis, -1, metrics, memory, sorted);
+    }
+
+    public SortRun(String algorithm, long size, double timeMillis, double instrumentedMillis, SortMetrics metrics,
+                   MemoryProbe.Usage memory, boolean sorted) {
+        this.algorithm = algorithm;
+        this.size = size;
+        this.timeMillis = timeMillis;
+        this.instrumentedMillis = instrumentedMillis;
+        this.metrics = metrics;
+        this.memory = memory;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Ordena {@code data} no próprio array (o chamador passa uma cópia da entrada),
+     * medindo tempo e memória (ver {@link MemoryProbe#start()}), e verifica o resultado.
+     */
+    public static SortRun ofInts(String name, int[] data, BiConsumer<int[], SortMetrics> algorithm, SortMetrics metrics) {
+        MemoryProbe.Tracker tracker = MemoryProbe.start();
+        long start = System.nanoTime();
+        algorithm.accept(data, metrics);
+        long end = System.nanoTime();
+        MemoryProbe.Usage memory = tracker.stop();
+
+        double timeMs = (end - start) / 1_000_000.0;
+        return new SortRun(name, data.length, timeMs, metrics, memory, SortingComparisonEnhanced.isSorted(data));
+    }
+
+    /**
+     * Ordena {@code data} no próprio array (o chamador passa uma cópia da entrada),
+     * medindo tempo e memória (ver {@link MemoryProbe#start()}), e verifica o resultado (ignorando case).
+     */
+    public static SortRun ofStrings(String name, String[] data, BiConsumer<String[], SortMetrics> algorithm, SortMetrics metrics) {
+        MemoryProbe.Tracker tracker = MemoryProbe.start();
+        long start = System.nanoTime();
+        algorithm.accept(data, metrics);
+        long end = System.nanoTime();
+        MemoryProbe.Usage memory = tracker.stop();
+
+        double timeMs = (end - start) / 1_000_000.0;
+        return new SortRun(name, data.length, timeMs, metrics, memory, SortingComparisonEnhanced.isSortedStrings(data));
+    }
+
+    /**
+     * Executa a versão que conta ({@code counting}) numa cópia de {@code data},
+     * para as contagens, e mede a versão sem instrumentação ({@code fast}) no
+     * próprio array. Sem versão rápida ({@code fast} null) equivale a
+     * {@link #ofInts(String, int[], BiConsumer, SortMetrics)}. O cancelamento
+     * de {@code metrics} interrompe as duas execuções. Cada chamada concluída
+     * emite um evento JFR ({@link SortEvents}).
+     */
+    public static SortRun ofInts(String name, int[] data, BiConsumer<int[], SortMetrics> counting,
+                                 BiConsumer<int[], SortMetrics> fast, SortMetrics metrics) {
+        SortEvents.RunEvent event = new SortEvents.RunEvent();
+        event.begin();
+        SortRun run = fast == null ? ofInts(name, data, counting, metrics) : pairedInts(name, data, counting, fast, metrics);
+        SortEvents.commitRun(event, run, SortEvents.INT_TYPE);
+        return run;
+    }
+
+    private static SortRun pairedInts(String name, int[] data, BiConsumer<int[], SortMetrics> counting,
+                                      BiConsumer<int[], SortMetrics> fast, SortMetrics metrics) {
+        int[] countingCopy = Arrays.copyOf(data, data.length);
+        long countingStart = System.nanoTime();
+        counting.accept(countingCopy, metrics);
+        double instrumentedMs = (System.nanoTime() - countingStart) / 1_000_000.0;
+        boolean countingSorted = SortingComparisonEnhanced.isSorted(countingCopy);
+
+        SortRun run = ofInts(name, data, fast, metrics);
+        return new SortRun(name, data.length, run.timeMillis, instrumentedMs, metrics, run.memory, run.sorted && countingSorted);
+    }
+
+    /**
+     * Versão de {@link #ofInts(String, int[], BiConsumer, BiConsumer, SortMetrics)} para strings.
+     */
+    public static SortRun ofStrings(String name, String[] data, BiConsumer<String[], SortMetrics> counting,
+                                    BiConsumer<String[], SortMetrics> fast, SortMetrics metrics) {
+        SortEvents.RunEvent event = new SortEvents.RunEvent();
+        event.begin();
+        SortRun run = fast == null ? ofStrings(name, data, counting, metrics) : pairedStrings(name, data, counting, fast, metrics);
+        SortEvents.commitRun(event, run, SortEvents.STRING_TYPE);
+        return run;
+    }
+
+    private static SortRun pairedStrings(String name, String[] data, BiConsumer<String[], SortMetrics> counting,
+                                         BiConsumer<String[], SortMetrics> fast, SortMetrics metrics) {
+        String[] countingCopy = Arrays.copyOf(data, data.length);
+        long countingStart = System.nanoTime();
+        counting.accept(countingCopy, metrics);
+        double instrumentedMs = (System.nanoTime() - countingStart) / 1_000_000.0;
+        boolean countingSorted = SortingComparisonEnhanced.isSortedStrings(countingCopy);
+
+        SortRun run = ofStrings(name, data, fast, metrics);
+        return new SortRun(name, data.length, run.timeMillis, instrumentedMs, metrics, run.memory, run.sorted && countingSorted);
+    }
+
+    /**
+     * Ordena textos compactos ({@link StringArena}) na própria permutação (o
+     * chamador passa uma {@link StringArena#copy()}), medindo tempo e memória,
+     * e verifica o resultado (ignorando case). Emite um evento JFR.
+     */
+    public static SortRun ofArena(String name, StringArena data, BiConsumer<StringArena, SortMetrics> algorithm, SortMetrics metrics) {
+        SortEvents.RunEvent event = new SortEvents.RunEvent();
+        event.begin();
+        MemoryProbe.Tracker tracker = MemoryProbe.start();
+        long start = System.nanoTime();
+        algorithm.accept(data, metrics);
+        long end = System.nanoTime();
+        MemoryProbe.Usage memory = tracker.stop();
+
+        double timeMs = (end - start) / 1_000_000.0;
+        SortRun run = new SortRun(name, data.size(), timeMs, metrics, memory, data.isSorted());
+        SortEvents.commitRun(event, run, SortEvents.STRING_TYPE);
+        return run;
+    }
+
+    /**
+     * Executa uma consulta de top-k ({@link SortAlgorithms.Selection}) no
+     * próprio array (o chamador passa uma cópia da entrada), medindo tempo e
+     * memória, e verifica se arr[0..k) ficou com os k menores valores
+     * ({@link SortingComparisonEnhanced#isSelected}). Emite um evento JFR.
+     */
+    public static SortRun ofSelection(String name, int[] data, int k, SortAlgorithms.Selection<int[]> algorithm, SortMetrics metrics) {
+        SortEvents.RunEvent event = new SortEvents.RunEvent();
+        event.begin();
+        MemoryProbe.Tracker tracker = MemoryProbe.start();
+        long start = System.nanoTime();
+        algorithm.select(data, k, metrics);
+        long end = System.nanoTime();
+        MemoryProbe.Usage memory = tracker.stop();
+
+        double timeMs = (end - start) / 1_000_000.0;
+        SortRun run = new SortRun(name, data.length, timeMs, metrics, memory, SortingComparisonEnhanced.isSelected(data, k));
+        SortEvents.commitRun(event, run, SortEvents.INT_TYPE);
+        return run;
+    }
+
+    /**
+     * Versão de {@link #ofSelection(String, int[], int, SortAlgorithms.Selection, SortMetrics)} para strings.
+     */
+    public static SortRun ofSelectionStrings(String name, String[] data, int k, SortAlgorithms.Selection<String[]> algorithm,
+                                             SortMetrics metrics) {
+        SortEvents.RunEvent event = new SortEvents.RunEvent();
+        event.begin();
+        MemoryProbe.Tracker tracker = MemoryProbe.start();
+        long start = System.nanoTime();
+        algorithm.select(data, k, metrics);
+        long end = System.nanoTime();
+        MemoryProbe.Usage memory = tracker.stop();
+
+        double timeMs = (end - start) / 1_000_000.0;
+        SortRun run = new SortRun(name, data.length, timeMs, metrics, memory, SortingComparisonEnhanced.isSelectedStrings(data, k));
+        SortEvents.commitRun(event, run, SortEvents.STRING_TYPE);
+        return run;
+    }
+
+    /**
+     * Ordena os {@code n} primeiros elementos de um segmento fora do heap
+     * ({@link OffHeapSorts}), medindo tempo e memória do heap, e verifica o
+     * resultado. {@code dataType} é {@link SortEvents#INT_TYPE} ou
+     * {@link SortEvents#LONG_TYPE}. Emite um evento JFR, como as demais execuções.
+     */
+    public static SortRun ofSegment(String name, String dataType, OffHeapSegment data, long n,
+                                    OffHeapSorts.SegmentSort algorithm, SortMetrics metrics) throws IOException {
+        SortEvents.RunEvent event = new SortEvents.RunEvent();
+        event.begin();
+        MemoryProbe.Tracker tracker = MemoryProbe.start();
+        long start = System.nanoTime();
+        algorithm.sort(data, n, metrics);
+        long end = System.nanoTime();
+        MemoryProbe.Usage memory = tracker.stop();
+
+        double timeMs = (end - start) / 1_000_000.0;
+        boolean sorted = SortEvents.LONG_TYPE.equals(dataType) ? OffHeapSorts.isSortedLongs(data, n) : OffHeapSorts.isSortedInts(data, n);
+        SortRun run = new SortRun(name, n, timeMs, metrics, memory, sorted);
+        SortEvents.commitRun(event, run, dataType);
+        return run;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Tamanho da entrada ordenada (pode passar de 2^31 nas ordenações fora do heap).
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public double getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Tempo da versão instrumentada, ou -1 quando o tempo medido já é o dela
+     * (algoritmo sem versão rápida).
+     */
+    public double getInstrumentedMillis() {
+        return instrumentedMillis;
+    }
+
+    /**
+     * Quanto a versão instrumentada é mais lenta que a rápida, em %, ou NaN se não medido.
+     */
+    public double getOverheadPercent() {
+        return overheadPercent(timeMillis, instrumentedMillis);
+    }
+
+    /**
+     * Sobrecarga da instrumentação, em %, a partir dos dois tempos (NaN se não medido).
+     */
+    static double overheadPercent(double fastMillis, double instrumentedMillis) {
+        return instrumentedMillis >= 0 && fastMillis > 0 ? (instrumentedMillis - fastMillis) / fastMillis * 100 : Double.NaN;
+    }
+
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Bytes alocados pela thread durante a execução, ou -1 se não medido.
+     */
+    public long getAllocatedBytes() {
+        return memory.getAllocatedBytes();
+    }
+
+    /**
+     * Memória da execução cronometrada: alocação, coletas de lixo e pico do heap.
+     */
+    public MemoryProbe.Usage getMemory() {
+        return memory;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+}
@@ -0,0 +1,88 @@
+package com.exemple.sortinganalysis;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Lista somente leitura que expõe um array já ordenado ({@code int[]},
+ * {@code String[]} ou textos compactos, {@link StringArena}) para um
+ * {@code ListView} sem copiá-lo: cada elemento é
+ * convertido para texto apenas quando a célula correspondente fica visível,
+ * então memória e tempo de exibição não dependem do tamanho do array.
+ *
+ * Como o array está ordenado, a busca é uma busca binária (O(log n)).
+ */
+public final class SortedArrayList extends ObservableListBase<String> {
+
+    // Exatamente uma das três fontes é não nula
+    private final int[] ints;
+    private final String[] strings;
+    private final StringArena texts;
+
+    private SortedArrayList(int[] ints, String[] strings, StringArena texts) {
+        this.ints = ints;
+        this.strings = strings;
+        this.texts = texts;
+    }
+
+    /**
+     * Lista sobre um array de inteiros ordenado em ordem crescente.
+     */
+    public static SortedArrayList ofInts(int[] sorted) {
+        return new SortedArrayList(sorted, null, null);
+    }
+
+    /**
+     * Lista sobre um array de strings ordenado ignorando case.
+     */
+    public static SortedArrayList ofStrings(String[] sorted) {
+        return new SortedArrayList(null, sorted, null);
+    }
+
+    /**
+     * Lista sobre textos compactos ordenados ignorando case; cada String é
+     * criada apenas quando lida.
+     */
+    public static SortedArrayList ofArena(StringArena sorted) {
+        return new SortedArrayList(null, null, sorted);
+    }
+
+    @Override
+    public String get(int index) {
+        if (ints != null) return Integer.toString(ints[index]);
+        return strings != null ? strings[index] : texts.get(index);
+    }
+
+    @Override
+    public int size() {
+        if (ints != null) return ints.length;
+        return strings != null ? strings.length : texts.size();
+    }
+
+    /**
+     * Posição da primeira ocorrência da consulta, ou -1 se não houver.
+     * Para inteiros a consulta deve ser o valor exato; para textos é um
+     * prefixo, comparado ignorando case.
+     *
+     * @throws NumberFormatException se a lista for de inteiros e a consulta não for um número
+     */
+    public int find(String query) {
+        if (ints != null) {
+            int value = Integer.parseInt(query.trim());
+            int lo = 0, hi = ints.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ints[mid] < value) lo = mid + 1; else hi = mid;
+            }
+            return lo < ints.length && ints[lo] == value ? lo : -1;
+        }
+        String prefix = query.trim();
+        int size = size();
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (get(mid).compareToIgnoreCase(prefix) < 0) lo = mid + 1; else hi = mid;
+        }
+        // Strings com o prefixo vêm logo após (ou na) posição de inserção do prefixo
+        return lo < size && get(lo).regionMatches(true, 0, prefix, 0, prefix.length()) ? lo : -1;
+    }
+}
@@ -1,6 +1,9 @@
 package com.exemple.sortinganalysis;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.stage.Stage;
 import javafx.stage.FileChooser;
 import javafx.scene.Scene;
@@ -12,15 +15,26 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.stage.Screen;
+import javafx.util.StringConverter;
 
 import java.io.*;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
-import java.util.function.Consumer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Classe principal da aplicação JavaFX que gerencia a interface de análise
@@ -38,7 +52,10 @@ public class SortingAnalysisFX extends Application {
     // Lista observável para alimentar a tabela dinamicamente
     private ObservableList<ResultData> data = FXCollections.observableArrayList();
 
-    // ComboBox para o usuário escolher o tipo dos dados do arquivo (números ou textos)
+    // Tipo de arquivo de textos carregado no armazenamento compacto (StringArena)
+    private static final String COMPACT_TEXTS = "Textos (compactos)";
+
+    // ComboBox para o usuário escolher o tipo dos dados do arquivo (números, textos ou textos compactos)
     private ComboBox<String> fileTypeCombo = new ComboBox<>();
     // ComboBox para escolher o tipo de dados da ordenação (números, textos ou imagens)
     private ComboBox<String> typeCombo = new ComboBox<>();
@@ -46,21 +63,81 @@ public class SortingAnalysisFX extends Application {
     private TextArea manualInputArea = new TextArea();
     // Botão para executar ordenação da entrada manual
     private Button btnRunManual = new Button("Executar ordenação dos dados manuais");
-    // Área para mostrar a lista ordenada (após processamento)
-    private TextArea sortedListArea = new TextArea();
+    // Lista virtualizada com o resultado ordenado: só as células visíveis são renderizadas
+    private ListView<String> sortedListView = new ListView<>();
+    // Campos de navegação da lista ordenada (ir para posição e busca)
+    private TextField jumpToIndexField = new TextField();
+    private TextField searchField = new TextField();
+    // Lista de algoritmos com seleção múltipla: apenas os selecionados são executados
+    private ListView<String> algorithmList = new ListView<>();
+    // Algoritmo em memória usado para ordenar cada run da ordenação externa
+    private ComboBox<String> externalAlgorithmCombo = new ComboBox<>();
+    // Orçamento de memória (MB) da ordenação externa
+    private TextField memoryBudgetField = new TextField("64");
+    // Gerador de entradas: distribuição, tamanho, semente e trocas (nearly-sorted)
+    private ComboBox<String> generatorCombo = new ComboBox<>();
+    private TextField generatorSizeField = new TextField("100000");
+    private TextField generatorSeedField = new TextField(String.valueOf(DataGenerators.DEFAULT_SEED));
+    private TextField generatorSwapsField = new TextField();
+    // Varredura de tamanhos: n mínimo e máximo, pontos por década, repetições e orçamento por execução (s)
+    private TextField sweepMinField = new TextField("1000");
+    private TextField sweepMaxField = new TextField("1000000");
+    private TextField sweepStepsField = new TextField("2");
+    private TextField sweepTrialsField = new TextField("3");
+    private TextField sweepBudgetField = new TextField("2");
+    // Agendamento das execuções dos algoritmos: modo (sequencial isolado ou paralelo) e repetições de cada um
+    private ComboBox<String> modeCombo = new ComboBox<>();
+    private TextField trialsField = new TextField("1");
+    // Modo Top-K: consulta os k menores valores (k ou percentil, ex.: p99) em vez de ordenar tudo
+    private CheckBox topKCheck = new CheckBox("Top-K");
+    private TextField topKField = new TextField("p99");
 
     // Gráfico de barras para visualização das métricas de desempenho
     private BarChart<String, Number> barChart;
+    // Gráfico log-log de tempo × n da varredura de tamanhos (no lugar do gráfico de barras)
+    private LineChart<Number, Number> sweepChart;
     // Label que mostra a descrição da complexidade Big O, com opção de ocultar/exibir
     private Label bigODescriptionLabel = new Label();
 
+    // Barra de progresso e status da execução em segundo plano
+    private ProgressBar progressBar = new ProgressBar(0);
+    private Label statusLabel = new Label();
+    // Botões para pular o algoritmo atual ou cancelar toda a execução
+    private Button btnSkip = new Button("Pular algoritmo atual");
+    private Button btnCancel = new Button("Cancelar execução");
+    // Botões que iniciam execuções, desabilitados enquanto uma execução está em andamento
+    private final List<Button> runButtons = new ArrayList<>();
+    // Execução em andamento (null quando nenhuma)
+    private SortTask currentTask;
+
+    // Thread única que executa as ordenações fora da thread da interface, com a pilha grande do RunScheduler
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(null, r, "sorting-worker", RunScheduler.WORKER_STACK_SIZE);
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Rótulos dos eixos log10 do gráfico da varredura: mostra 10^v (ex.: 1000, 0,01)
+    private static final StringConverter<Number> LOG_AXIS_LABELS = new StringConverter<>() {
+        @Override
+        public String toString(Number value) {
+            double v = Math.pow(10, value.doubleValue());
+            return v >= 1 ? String.format("%.0f", v) : String.format("%.2g", v);
+        }
+
+        @Override
+        public Number fromString(String text) {
+            return Math.log10(Double.parseDouble(text));
+        }
+    };
+
     @Override
     public void start(Stage primaryStage) {
         // Configuração inicial da janela principal
         primaryStage.setTitle("Análise de Algoritmos de Ordenação");
 
         // Configura ComboBox para seleção do tipo do arquivo (antes da leitura)
-        fileTypeCombo.getItems().addAll("Números", "Textos");
+        fileTypeCombo.getItems().addAll("Números", "Textos", COMPACT_TEXTS);
         fileTypeCombo.getSelectionModel().selectFirst();
 
         // Botão para abrir arquivo, chamando método openFile()
@@ -81,33 +158,165 @@ public class SortingAnalysisFX extends Application {
         // Ao clicar, handle para processar a entrada manual
         btnRunManual.setOnAction(e -> processManualInput());
 
-        // Configura área de texto para mostrar lista ordenada: apenas leitura, com wrap
-        sortedListArea.setEditable(false);
-        sortedListArea.setPrefRowCount(10);
-        sortedListArea.setWrapText(true);
+        // Controles da execução em segundo plano, habilitados apenas durante uma execução
+        btnSkip.setOnAction(e -> {
+            if (currentTask != null) currentTask.skipCurrent();
+        });
+        btnCancel.setOnAction(e -> {
+            if (currentTask != null) currentTask.cancel();
+        });
+        btnSkip.setDisable(true);
+        btnCancel.setDisable(true);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        HBox progressBox = new HBox(10, progressBar, btnSkip, btnCancel);
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+
+        // Lista de algoritmos do catálogo, todos selecionados por padrão
+        algorithmList.getItems().addAll(SortAlgorithms.allNames());
+        algorithmList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        algorithmList.getSelectionModel().selectAll();
+        algorithmList.setPrefHeight(150);
+
+        // Modo de execução: sequencial isolado (tempos limpos) ou paralelo (resultado mais rápido)
+        modeCombo.getItems().addAll(RunScheduler.MODES);
+        modeCombo.getSelectionModel().selectFirst();
+        trialsField.setPrefColumnCount(3);
+        topKField.setPrefColumnCount(6);
+        topKField.disableProperty().bind(topKCheck.selectedProperty().not());
+        HBox scheduleBox = new HBox(10,
+                new Label("Modo de execução:"), modeCombo,
+                new Label("Repetições:"), trialsField,
+                topKCheck, new Label("k ou percentil:"), topKField);
+
+        // Ordenação externa: algoritmo dos runs e orçamento de memória
+        externalAlgorithmCombo.getItems().addAll(SortAlgorithms.allNames());
+        externalAlgorithmCombo.getSelectionModel().select("Introsort");
+        memoryBudgetField.setPrefColumnCount(6);
+        Button btnExternal = new Button("Ordenação externa de arquivo grande");
+        btnExternal.setOnAction(e -> runExternalSort(primaryStage));
+
+        // Gerador de entradas: usa o tipo de dados escolhido para a ordenação
+        generatorCombo.getItems().addAll(DataGenerators.DISTRIBUTIONS);
+        generatorCombo.getSelectionModel().selectFirst();
+        generatorSizeField.setPrefColumnCount(9);
+        generatorSeedField.setPrefColumnCount(6);
+        generatorSwapsField.setPrefColumnCount(7);
+        generatorSwapsField.setPromptText("1% de n");
+        generatorSwapsField.disableProperty().bind(generatorCombo.valueProperty().isNotEqualTo("nearly-sorted"));
+        Button btnGenerate = new Button("Gerar dados e ordenar");
+        btnGenerate.setOnAction(e -> generateAndRun());
+        HBox generatorBox = new HBox(10,
+                generatorCombo,
+                new Label("n:"), generatorSizeField,
+                new Label("Semente:"), generatorSeedField,
+                new Label("Trocas:"), generatorSwapsField,
+                btnGenerate);
+
+        // Varredura de tamanhos: mesma distribuição, semente e tipo de dados do gerador
+        for (TextField field : List.of(sweepMinField, sweepMaxField, sweepStepsField, sweepTrialsField, sweepBudgetField)) {
+            field.setPrefColumnCount(field == sweepMinField || field == sweepMaxField ? 9 : 3);
+        }
+        Button btnSweep = new Button("Executar varredura");
+        btnSweep.setOnAction(e -> runSweep());
+        HBox sweepBox = new HBox(10,
+                new Label("n de"), sweepMinField,
+                new Label("até"), sweepMaxField,
+                new Label("Por década:"), sweepStepsField,
+                new Label("Repetições:"), sweepTrialsField,
+                new Label("Orçamento (s):"), sweepBudgetField,
+                btnSweep);
+
+        runButtons.addAll(List.of(btnOpen, btnRunManual, btnExternal, btnGenerate, btnSweep));
+        HBox externalBox = new HBox(10,
+                new Label("Algoritmo dos runs:"), externalAlgorithmCombo,
+                new Label("Memória (MB):"), memoryBudgetField,
+                btnExternal);
+
+        // Lista ordenada virtualizada: altura fixa das células evita medir todas as linhas,
+        // e cada célula mostra a posição (base 0) e o valor
+        sortedListView.setFixedCellSize(24);
+        sortedListView.setPrefHeight(180);
+        sortedListView.setPlaceholder(new Label("Nenhuma lista ordenada"));
+        sortedListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : getIndex() + ": " + item);
+            }
+        });
+
+        // Navegação: ir para uma posição ou buscar um valor (prefixo, no caso de textos)
+        jumpToIndexField.setPromptText("Posição");
+        jumpToIndexField.setPrefColumnCount(8);
+        jumpToIndexField.setOnAction(e -> jumpToIndex());
+        Button btnJump = new Button("Ir");
+        btnJump.setOnAction(e -> jumpToIndex());
+        searchField.setPromptText("Buscar valor");
+        searchField.setOnAction(e -> searchSortedList());
+        Button btnSearch = new Button("Buscar");
+        btnSearch.setOnAction(e -> searchSortedList());
+        HBox navigationBox = new HBox(10, jumpToIndexField, btnJump, searchField, btnSearch);
 
         // Cria e configura as colunas da tabela para exibir resultados
         TableColumn<ResultData, String> algoCol = new TableColumn<>("Algoritmo");
         algoCol.setCellValueFactory(cellData -> cellData.getValue().algorithmProperty());
 
+        TableColumn<ResultData, Long> sizeCol = new TableColumn<>("n");
+        sizeCol.setCellValueFactory(cellData -> cellData.getValue().sizeProperty().asObject());
+
         TableColumn<ResultData, Double> timeCol = new TableColumn<>("Tempo (ms)");
         timeCol.setCellValueFactory(cellData -> cellData.getValue().timeMillisProperty().asObject());
 
+        TableColumn<ResultData, Double> instrumentedCol = new TableColumn<>("Tempo instrumentado (ms)");
+        instrumentedCol.setCellValueFactory(cellData -> cellData.getValue().instrumentedMillisProperty().asObject());
+        instrumentedCol.setCellFactory(column -> formattedCell(v -> v < 0 ? "" : String.format("%.3f", v)));
+
+        TableColumn<ResultData, Double> overheadCol = new TableColumn<>("Sobrecarga da instrumentação");
+        overheadCol.setCellValueFactory(cellData -> cellData.getValue().overheadPercentProperty().asObject());
+        overheadCol.setCellFactory(column -> formattedCell(v -> Double.isNaN(v) ? "" : String.format("%+.1f%%", v)));
+
         TableColumn<ResultData, Long> compCol = new TableColumn<>("Comparações");
         compCol.setCellValueFactory(cellData -> cellData.getValue().comparisonsProperty().asObject());
 
         TableColumn<ResultData, Long> swapCol = new TableColumn<>("Trocas");
         swapCol.setCellValueFactory(cellData -> cellData.getValue().swapsProperty().asObject());
 
+        TableColumn<ResultData, Long> passCol = new TableColumn<>("Passadas");
+        passCol.setCellValueFactory(cellData -> cellData.getValue().passesProperty().asObject());
+
+        TableColumn<ResultData, Long> allocCol = new TableColumn<>("Memória alocada (bytes)");
+        allocCol.setCellValueFactory(cellData -> cellData.getValue().allocatedBytesProperty().asObject());
+        allocCol.setCellFactory(column -> formattedCell(SortingAnalysisFX::countOrBlank));
+
+        TableColumn<ResultData, Long> gcCountCol = new TableColumn<>("Coletas de GC");
+        gcCountCol.setCellValueFactory(cellData -> cellData.getValue().gcCountProperty().asObject());
+        gcCountCol.setCellFactory(column -> formattedCell(SortingAnalysisFX::countOrBlank));
+
+        TableColumn<ResultData, Long> gcPauseCol = new TableColumn<>("Pausa de GC (ms)");
+        gcPauseCol.setCellValueFactory(cellData -> cellData.getValue().gcPauseMillisProperty().asObject());
+        gcPauseCol.setCellFactory(column -> formattedCell(SortingAnalysisFX::countOrBlank));
+
+        TableColumn<ResultData, Long> peakHeapCol = new TableColumn<>("Pico de heap (bytes)");
+        peakHeapCol.setCellValueFactory(cellData -> cellData.getValue().peakHeapDeltaBytesProperty().asObject());
+        peakHeapCol.setCellFactory(column -> formattedCell(SortingAnalysisFX::countOrBlank));
+
+        TableColumn<ResultData, Long> runsCol = new TableColumn<>("Runs");
+        runsCol.setCellValueFactory(cellData -> cellData.getValue().runsProperty().asObject());
+
+        TableColumn<ResultData, Long> mergeCol = new TableColumn<>("Passadas de merge");
+        mergeCol.setCellValueFactory(cellData -> cellData.getValue().mergePassesProperty().asObject());
+
+        TableColumn<ResultData, Long> ioCol = new TableColumn<>("E/S (bytes)");
+        ioCol.setCellValueFactory(cellData -> cellData.getValue().ioBytesProperty().asObject());
+
+        TableColumn<ResultData, String> modeCol = new TableColumn<>("Modo");
+        modeCol.setCellValueFactory(cellData -> cellData.getValue().modeProperty());
+
         // Adiciona colunas na tabela e associa os dados observáveis
-        table.getColumns().addAll(algoCol, timeCol, compCol, swapCol);
+        table.getColumns().addAll(algoCol, sizeCol, timeCol, instrumentedCol, overheadCol, compCol, swapCol, passCol, allocCol, gcCountCol, gcPauseCol, peakHeapCol,
+                runsCol, mergeCol, ioCol, modeCol);
         table.setItems(data);
 
-        // ScrollPane para lista ordenada para quando for extensa
-        ScrollPane scrollPane = new ScrollPane(sortedListArea);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setPrefHeight(180);
-
         // Left Panel: VBox com todo o conteúdo interativo e visualização da tabela
         VBox leftPanel = new VBox(10);
         leftPanel.setPadding(new Insets(10));
@@ -115,14 +324,25 @@ public class SortingAnalysisFX extends Application {
                 new Label("Tipo dos dados do arquivo:"), // label explicativa sobre o campo abaixo
                 fileTypeCombo,
                 btnOpen,
+                externalBox,
                 new Label("Tipo de dados para ordenação:"), // label para escolher tipo entrada manual
                 typeCombo,
+                new Label("Gerar entrada (distribuição, tamanho, semente):"),
+                generatorBox,
+                new Label("Varredura de tamanhos (escala medida, com a distribuição e a semente acima):"),
+                sweepBox,
                 new Label("Entrada manual de dados:"),
                 manualInputArea,
+                new Label("Algoritmos (Ctrl+clique para selecionar vários):"),
+                algorithmList,
+                scheduleBox,
                 btnRunManual,
+                progressBox,
+                statusLabel,
                 btnSave,
                 new Label("Lista ordenada:"),
-                scrollPane,
+                navigationBox,
+                sortedListView,
                 table
         );
         leftPanel.setPrefWidth(600);
@@ -140,6 +360,20 @@ public class SortingAnalysisFX extends Application {
         barChart.setTitle("Comparação de Algoritmos");
         barChart.setPrefWidth(400);
 
+        // Gráfico da varredura: eixos em log10, com os rótulos mostrando o valor real
+        NumberAxis sizeAxis = new NumberAxis();
+        sizeAxis.setLabel("n (escala log)");
+        sizeAxis.setForceZeroInRange(false);
+        sizeAxis.setTickLabelFormatter(LOG_AXIS_LABELS);
+        NumberAxis sweepTimeAxis = new NumberAxis();
+        sweepTimeAxis.setLabel("Tempo (ms, escala log)");
+        sweepTimeAxis.setForceZeroInRange(false);
+        sweepTimeAxis.setTickLabelFormatter(LOG_AXIS_LABELS);
+        sweepChart = new LineChart<>(sizeAxis, sweepTimeAxis);
+        sweepChart.setTitle("Tempo × n (log-log)");
+        sweepChart.setPrefWidth(400);
+        showSweepChart(false);
+
         // Layout para descrição Big O, inicialmente oculta, texto com quebra de linha
         bigODescriptionLabel.setWrapText(true);
         bigODescriptionLabel.setVisible(false);
@@ -151,7 +385,7 @@ public class SortingAnalysisFX extends Application {
         // Right Panel: VBox que contém o gráfico e botão + label de Big O
         VBox rightPanel = new VBox(10);
         rightPanel.setPadding(new Insets(10));
-        rightPanel.getChildren().addAll(barChart, toggleBigODescriptionBtn, bigODescriptionLabel);
+        rightPanel.getChildren().addAll(barChart, sweepChart, toggleBigODescriptionBtn, bigODescriptionLabel);
         rightPanel.setPrefWidth(450);
 
         // Layout pai HBox divide a janela em dois painéis: controle (esquerda) e gráfico (direita)
@@ -169,6 +403,26 @@ public class SortingAnalysisFX extends Application {
         primaryStage.show();
     }
 
+    /**
+     * Célula de tabela que exibe o valor numérico formatado (ex.: vazio quando não medido).
+     */
+    private static <T> TableCell<ResultData, T> formattedCell(Function<T, String> format) {
+        return new TableCell<>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : format.apply(item));
+            }
+        };
+    }
+
+    /**
+     * Contagem para as colunas de memória: vazio quando não medida (valor negativo).
+     */
+    private static String countOrBlank(Long value) {
+        return value < 0 ? "" : Long.toString(value);
+    }
+
     /**
      * Lê dados da entrada manual, valida e dispara os algoritmos conforme o tipo selecionado.
      * Mostra alertas para tipos não suportados ou entradas inválidas.
@@ -187,29 +441,167 @@ public class SortingAnalysisFX extends Application {
             return;
         }
 
-        // Limpa resultados anteriores
-        data.clear();
-
-        // Dispara ordenações e atualiza visualizações conforme tipo escolhido
+        // Dispara ordenações em segundo plano; as visualizações são atualizadas ao final
         if (type.equals("Números")) {
             try {
                 int[] numbers = parseNumbers(input);
                 runAlgorithms(numbers);
-                updateSortedListAreaFromIntArray(numbers);
-                updateChart();
-                updateBigODescriptionForLastAlgorithm();
             } catch (NumberFormatException e) {
                 showAlert("Entrada inválida: certifique-se de inserir apenas números inteiros.");
             }
         } else if (type.equals("Textos")) {
             String[] texts = parseTexts(input);
             runStringAlgorithms(texts);
-            updateSortedListAreaFromStringArray(texts);
-            updateChart();
-            updateBigODescriptionForLastAlgorithm();
         }
     }
 
+    /**
+     * Gera a entrada com a distribuição escolhida (em segundo plano, pois
+     * entradas grandes levam alguns segundos) e dispara os algoritmos
+     * selecionados sobre ela, conforme o tipo de dados escolhido.
+     */
+    private void generateAndRun() {
+        String type = typeCombo.getValue();
+        if (type.equals("Imagens")) {
+            showAlert("Ordenação de imagens ainda não está disponível.");
+            return;
+        }
+        String distribution = generatorCombo.getValue();
+        int n;
+        long seed;
+        int swaps;
+        try {
+            n = Integer.parseInt(generatorSizeField.getText().trim());
+            seed = Long.parseLong(generatorSeedField.getText().trim());
+            String swapsText = generatorSwapsField.getText().trim();
+            swaps = swapsText.isEmpty() ? DataGenerators.defaultSwaps(n) : Integer.parseInt(swapsText);
+        } catch (NumberFormatException e) {
+            showAlert("Parâmetros do gerador inválidos: tamanho, semente e trocas devem ser números inteiros.");
+            return;
+        }
+        if (n <= 0 || swaps < 0) {
+            showAlert("O tamanho deve ser positivo e as trocas não podem ser negativas.");
+            return;
+        }
+
+        boolean numbers = type.equals("Números");
+        Task<Object> generation = new Task<>() {
+            @Override
+            protected Object call() {
+                updateMessage("Gerando " + n + " valores (" + distribution + ")...");
+                return numbers ? DataGenerators.ints(distribution, n, seed, swaps) : DataGenerators.strings(distribution, n, seed, swaps);
+            }
+        };
+        runButtons.forEach(b -> b.setDisable(true));
+        progressBar.progressProperty().bind(generation.progressProperty());
+        statusLabel.textProperty().bind(generation.messageProperty());
+        generation.setOnSucceeded(e -> {
+            releaseControls();
+            if (numbers) {
+                runAlgorithms((int[]) generation.getValue());
+            } else {
+                runStringAlgorithms((String[]) generation.getValue());
+            }
+        });
+        generation.setOnFailed(e -> {
+            releaseControls();
+            statusLabel.setText("Falha ao gerar os dados.");
+            Throwable error = generation.getException();
+            showAlert("Erro ao gerar os dados: " + (error.getMessage() != null ? error.getMessage() : error.toString()));
+        });
+        executor.execute(generation);
+    }
+
+    /**
+     * Varredura de tamanhos: mede os algoritmos selecionados em tamanhos
+     * crescentes (progressão geométrica) com a distribuição, a semente e o tipo
+     * de dados escolhidos, e ao final mostra o gráfico log-log e o ajuste às
+     * curvas n, n log n e n² ({@link SizeSweep}). Cada ponto medido vira uma
+     * linha da tabela, com o tempo mediano das repetições.
+     */
+    private void runSweep() {
+        String type = typeCombo.getValue();
+        if (type.equals("Imagens")) {
+            showAlert("Ordenação de imagens ainda não está disponível.");
+            return;
+        }
+        String distribution = generatorCombo.getValue();
+        int[] sizes;
+        int trials;
+        long seed;
+        double budgetMillis;
+        try {
+            seed = Long.parseLong(generatorSeedField.getText().trim());
+            trials = Integer.parseInt(sweepTrialsField.getText().trim());
+            budgetMillis = Double.parseDouble(sweepBudgetField.getText().trim()) * 1000;
+            sizes = SizeSweep.geometricSizes(Integer.parseInt(sweepMinField.getText().trim()),
+                    Integer.parseInt(sweepMaxField.getText().trim()), Integer.parseInt(sweepStepsField.getText().trim()));
+        } catch (NumberFormatException e) {
+            showAlert("Parâmetros da varredura inválidos: tamanhos, pontos por década, repetições e semente devem ser inteiros.");
+            return;
+        } catch (IllegalArgumentException e) {
+            showAlert("Parâmetros da varredura inválidos: n mínimo deve ser positivo e menor ou igual ao máximo.");
+            return;
+        }
+        if (trials <= 0 || !(budgetMillis > 0)) {
+            showAlert("Repetições e orçamento devem ser positivos.");
+            return;
+        }
+
+        List<String> selected = algorithmList.getSelectionModel().getSelectedItems();
+        boolean numbers = type.equals("Números");
+        Map<String, BiConsumer<int[], SortMetrics>> intAlgorithms = new LinkedHashMap<>();
+        Map<String, BiConsumer<String[], SortMetrics>> stringAlgorithms = new LinkedHashMap<>();
+        SortAlgorithms.INT_ALGORITHMS.forEach((name, algorithm) -> {
+            if (selected.contains(name)) intAlgorithms.put(name, algorithm);
+        });
+        SortAlgorithms.STRING_ALGORITHMS.forEach((name, algorithm) -> {
+            if (selected.contains(name)) stringAlgorithms.put(name, algorithm);
+        });
+        if (numbers ? intAlgorithms.isEmpty() : stringAlgorithms.isEmpty()) {
+            showAlert("Nenhum algoritmo selecionado para este tipo de dados.");
+            return;
+        }
+
+        // Pontos medidos, lidos na thread da interface ao final (inclusive após cancelamento)
+        List<SizeSweep.Point> points = Collections.synchronizedList(new ArrayList<>());
+        SortTask task = new SortTask(RunScheduler.ISOLATED, () -> updateSortedListFromIntArray(null), () -> {
+            List<SizeSweep.Point> copy;
+            synchronized (points) {
+                copy = new ArrayList<>(points);
+            }
+            updateSweepChart(copy);
+        });
+        task.add("Varredura de tamanhos", metrics -> {
+            SizeSweep.Listener listener = new SizeSweep.Listener() {
+                @Override
+                public void measuring(String algorithm, int n, int step, int steps, SortMetrics m) {
+                    if (task.isCancelled()) {
+                        throw new CancellationException("Varredura cancelada");
+                    }
+                    task.track(m);
+                    task.report("Medindo " + algorithm + " com n = " + n + "...", step, steps);
+                }
+
+                @Override
+                public void measured(SizeSweep.Point point) {
+                    points.add(point);
+                    if (!point.isSorted()) {
+                        Platform.runLater(() -> showAlert("Erro: " + point.getAlgorithm() + " não ordenou corretamente."));
+                    }
+                    task.publish(new ResultData(point));
+                }
+            };
+            if (numbers) {
+                SizeSweep.sweepInts(intAlgorithms, SortAlgorithms.FAST_INT_ALGORITHMS, distribution, seed, sizes, trials, budgetMillis, listener);
+            } else {
+                SizeSweep.sweepStrings(stringAlgorithms, SortAlgorithms.FAST_STRING_ALGORITHMS, distribution, seed, sizes, trials, budgetMillis, listener);
+            }
+            return null;
+        });
+        startTask(task);
+    }
+
     /**
      * Transforma a string da entrada manual em array de inteiros.
      * @throws NumberFormatException caso algum token não seja um número válido
@@ -234,177 +626,655 @@ public class SortingAnalysisFX extends Application {
     }
 
     /**
-     * Método chamado ao abrir arquivo. Lê o arquivo, valida e executa ordenação conforme o tipo selecionado.
-     * atualiza visualizações na interface.
+     * Método chamado ao abrir arquivo. Lê e valida o arquivo em segundo plano (arquivos
+     * grandes levam alguns segundos) e, ao terminar, executa a ordenação conforme o tipo
+     * selecionado, atualizando as visualizações na interface.
      */
     private void openFile(Stage stage) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Abrir arquivo de dados");
         File file = fileChooser.showOpenDialog(stage);
-        if (file != null) {
-            String selectedFileType = fileTypeCombo.getValue();
-            try {
+        if (file == null) {
+            return;
+        }
+        String selectedFileType = fileTypeCombo.getValue();
+        Task<Object> loading = new Task<>() {
+            @Override
+            protected Object call() throws Exception {
+                updateMessage("Lendo " + file.getName() + "...");
                 if ("Números".equals(selectedFileType)) {
-                    int[] inputData = readAndValidateNumbersFromFile(file);
-                    data.clear();
-                    runAlgorithms(inputData);
-                    updateSortedListAreaFromIntArray(inputData);
-                    updateChart();
-                    updateBigODescriptionForLastAlgorithm();
-                } else {
-                    String[] inputData = readTextsFromFile(file);
-                    if (inputData.length == 0) {
-                        showAlert("Arquivo vazio ou inválido.");
-                        return;
-                    }
-                    data.clear();
-                    runStringAlgorithms(inputData);
-                    updateSortedListAreaFromStringArray(inputData);
-                    updateChart();
-                    updateBigODescriptionForLastAlgorithm();
+                    return readAndValidateNumbersFromFile(file);
+                } else if (COMPACT_TEXTS.equals(selectedFileType)) {
+                    return StringArena.load(file.toPath());
+                }
+                return readTextsFromFile(file);
+            }
+        };
+        runButtons.forEach(b -> b.setDisable(true));
+        progressBar.progressProperty().bind(loading.progressProperty());
+        statusLabel.textProperty().bind(loading.messageProperty());
+        loading.setOnSucceeded(e -> {
+            releaseControls();
+            if ("Números".equals(selectedFileType)) {
+                runAlgorithms((int[]) loading.getValue());
+            } else if (COMPACT_TEXTS.equals(selectedFileType)) {
+                StringArena inputData = (StringArena) loading.getValue();
+                if (inputData.size() == 0) {
+                    showAlert("Arquivo vazio ou inválido.");
+                    return;
+                }
+                runCompactTextAlgorithms(inputData);
+            } else {
+                String[] inputData = (String[]) loading.getValue();
+                if (inputData.length == 0) {
+                    showAlert("Arquivo vazio ou inválido.");
+                    return;
                 }
-            } catch (Exception ex) {
-                showAlert("Erro ao abrir arquivo: " + ex.getMessage());
+                runStringAlgorithms(inputData);
             }
+        });
+        loading.setOnFailed(e -> {
+            releaseControls();
+            statusLabel.setText("Falha ao abrir o arquivo.");
+            Throwable error = loading.getException();
+            showAlert("Erro ao abrir arquivo: " + (error.getMessage() != null ? error.getMessage() : error.toString()));
+        });
+        executor.execute(loading);
+    }
+
+    /**
+     * Ordena um arquivo que não cabe na memória: o usuário escolhe a entrada e a
+     * saída, e o arquivo é ordenado em runs com o algoritmo escolhido e
+     * intercalado em disco ({@link ExternalMergeSort}). A saída não é carregada
+     * na lista ordenada, apenas o caminho gravado é exibido.
+     */
+    private void runExternalSort(Stage stage) {
+        long budgetBytes;
+        try {
+            budgetBytes = Long.parseLong(memoryBudgetField.getText().trim()) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            showAlert("Orçamento de memória inválido: informe um número inteiro de MB.");
+            return;
         }
+        if (budgetBytes < ExternalMergeSort.MIN_MEMORY_BUDGET) {
+            showAlert("Orçamento de memória deve ser de pelo menos 1 MB.");
+            return;
+        }
+        String algorithmName = externalAlgorithmCombo.getValue();
+        boolean numbers = "Números".equals(fileTypeCombo.getValue());
+        BiConsumer<int[], SortMetrics> intSorter = SortAlgorithms.INT_ALGORITHMS.get(algorithmName);
+        BiConsumer<String[], SortMetrics> stringSorter = SortAlgorithms.STRING_ALGORITHMS.get(algorithmName);
+        if (numbers ? intSorter == null : stringSorter == null) {
+            showAlert(algorithmName + " não está disponível para " + fileTypeCombo.getValue().toLowerCase() + ".");
+            return;
+        }
+
+        FileChooser inputChooser = new FileChooser();
+        inputChooser.setTitle("Arquivo de dados para ordenação externa");
+        File input = inputChooser.showOpenDialog(stage);
+        if (input == null) {
+            return;
+        }
+        FileChooser outputChooser = new FileChooser();
+        outputChooser.setTitle("Salvar arquivo ordenado");
+        outputChooser.setInitialFileName("ordenado.txt");
+        File output = outputChooser.showSaveDialog(stage);
+        if (output == null) {
+            return;
+        }
+
+        String name = SortAlgorithms.EXTERNAL_PREFIX + " (" + algorithmName + ")" + (numbers ? "" : SortAlgorithms.TEXT_SUFFIX);
+        SortTask task = new SortTask(RunScheduler.ISOLATED, () -> {
+            sortedListView.setItems(FXCollections.observableArrayList());
+            statusLabel.setText("Resultado gravado em " + output.getAbsolutePath());
+        });
+        task.add(name, metrics -> {
+            MemoryProbe.Tracker tracker = MemoryProbe.start();
+            long start = System.nanoTime();
+            if (numbers) {
+                ExternalMergeSort.sortIntFile(input.toPath(), output.toPath(), budgetBytes, intSorter, metrics);
+            } else {
+                ExternalMergeSort.sortTextFile(input.toPath(), output.toPath(), budgetBytes, stringSorter, metrics);
+            }
+            long end = System.nanoTime();
+            MemoryProbe.Usage memory = tracker.stop();
+
+            double timeMs = (end - start) / 1_000_000.0;
+            return new ResultData(name, timeMs, metrics, memory);
+        });
+        startTask(task);
     }
 
     /**
-     * Método que lê e valida arquivo de números, gerando exceção se achar dados inválidos
+     * Método que lê e valida arquivo de números, gerando exceção se achar dados inválidos.
+     * A mensagem indica a linha e a coluna do primeiro valor inválido.
      */
     private int[] readAndValidateNumbersFromFile(File file) throws IOException {
-        List<Integer> numbers = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    try {
-                        numbers.add(Integer.parseInt(line));
-                    } catch (NumberFormatException e) {
-                        throw new IOException("Arquivo contém valores não numéricos.");
-                    }
-                }
-            }
+        try {
+            return IntFileLoader.load(file.toPath());
+        } catch (IntFileLoader.InvalidValueException e) {
+            throw new IOException("Arquivo contém valores não numéricos (" + e.getMessage() + ").", e);
         }
-        return numbers.stream().mapToInt(i -> i).toArray();
     }
 
     /**
      * Método que lê arquivo de texto linha a linha
      */
     private String[] readTextsFromFile(File file) throws IOException {
-        List<String> lines = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    lines.add(line);
-                }
-            }
-        }
-        return lines.toArray(new String[0]);
+        return SortingComparisonEnhanced.readTextsFromFile(file.getPath());
     }
 
     /**
-     * Método que executa todos os algoritmos de ordenação para números
+     * Método que executa os algoritmos de ordenação selecionados para números, em segundo plano.
+     * O Counting Sort só é executado quando o intervalo de valores é estreito.
      */
     private void runAlgorithms(int[] inputData) {
-        runAlgorithm("Bubble Sort", inputData, SortingComparisonEnhanced::bubbleSort);
-        runAlgorithm("Quick Sort", inputData, (arr) -> SortingComparisonEnhanced.quickSort(arr, 0, arr.length - 1));
-        runAlgorithm("Merge Sort", inputData, (arr) -> SortingComparisonEnhanced.mergeSort(arr, 0, arr.length - 1));
-        runAlgorithm("Heap Sort", inputData, SortingComparisonEnhanced::heapSort);
+        if (topKCheck.isSelected()) {
+            runTopK(inputData);
+            return;
+        }
+        int trials = readTrials();
+        if (trials < 1) {
+            return;
+        }
+        List<String> selected = algorithmList.getSelectionModel().getSelectedItems();
+        boolean countingApplicable = SortingComparisonEnhanced.isCountingSortApplicable(inputData);
+        // Guarda a saída do último algoritmo que ordenou corretamente, para exibição
+        AtomicReference<int[]> sorted = new AtomicReference<>();
+        SortTask task = new SortTask(modeCombo.getValue(), () -> updateSortedListFromIntArray(sorted.get()));
+        for (Map.Entry<String, BiConsumer<int[], SortMetrics>> entry : SortAlgorithms.INT_ALGORITHMS.entrySet()) {
+            String name = entry.getKey();
+            if (!selected.contains(name)) {
+                continue;
+            }
+            if (name.equals(SortAlgorithms.COUNTING_SORT) && !countingApplicable) {
+                continue;
+            }
+            BiConsumer<int[], SortMetrics> algorithm = entry.getValue();
+            BiConsumer<int[], SortMetrics> fast = SortAlgorithms.FAST_INT_ALGORITHMS.get(name);
+            for (int t = 0; t < trials; t++) {
+                task.add(name, metrics -> runAlgorithm(name, inputData, algorithm, fast, metrics, sorted));
+            }
+        }
+        startTask(task);
     }
 
     /**
-     * Método que executa um algoritmo de ordenação para números e armazena os resultados (tempo, comparações, trocas)
+     * Método que executa um algoritmo de ordenação para números e retorna os resultados (tempo, comparações, trocas, memória alocada).
+     * Com versão sem instrumentação ({@code fast} não nulo), o tempo é o dela e as contagens vêm de {@code algorithm}.
+     * Chamado na thread de segundo plano.
      */
-    private void runAlgorithm(String name, int[] inputData, Consumer<int[]> algorithm) {
+    private ResultData runAlgorithm(String name, int[] inputData, BiConsumer<int[], SortMetrics> algorithm,
+                                    BiConsumer<int[], SortMetrics> fast, SortMetrics metrics, AtomicReference<int[]> sortedOutput) {
         int[] copy = Arrays.copyOf(inputData, inputData.length);
-        SortingComparisonEnhanced.comparacoes = 0;
-        SortingComparisonEnhanced.trocas = 0;
-        long start = System.nanoTime();
-        algorithm.accept(copy);
-        long end = System.nanoTime();
+        SortRun run = SortRun.ofInts(name, copy, algorithm, fast, metrics);
 
-        if (!SortingComparisonEnhanced.isSorted(copy)) {
-            showAlert("Erro: " + name + " não ordenou corretamente.");
+        if (!run.isSorted()) {
+            Platform.runLater(() -> showAlert("Erro: " + name + " não ordenou corretamente."));
+        } else {
+            sortedOutput.set(copy);
         }
-
-        double timeMs = (end - start) / 1_000_000.0;
-        ResultData rd = new ResultData(name, timeMs, SortingComparisonEnhanced.comparacoes, SortingComparisonEnhanced.trocas);
-        data.add(rd);
+        return new ResultData(run);
     }
 
     /**
-     * Método que executa todos os algoritmos de ordenação para textos
+     * Método que executa os algoritmos de ordenação selecionados para textos, em segundo plano
      */
     private void runStringAlgorithms(String[] inputData) {
-        runStringAlgorithm("Bubble Sort (Textos)", inputData, SortingComparisonEnhanced::bubbleSortStrings);
-        runStringAlgorithm("Quick Sort (Textos)", inputData, (arr) -> SortingComparisonEnhanced.quickSortStrings(arr, 0, arr.length - 1));
-        runStringAlgorithm("Merge Sort (Textos)", inputData, (arr) -> SortingComparisonEnhanced.mergeSortStrings(arr, 0, arr.length - 1));
-        runStringAlgorithm("Heap Sort (Textos)", inputData, SortingComparisonEnhanced::heapSortStrings);
+        if (topKCheck.isSelected()) {
+            runTopKStrings(inputData);
+            return;
+        }
+        int trials = readTrials();
+        if (trials < 1) {
+            return;
+        }
+        List<String> selected = algorithmList.getSelectionModel().getSelectedItems();
+        // Guarda a saída do último algoritmo que ordenou corretamente, para exibição
+        AtomicReference<String[]> sorted = new AtomicReference<>();
+        SortTask task = new SortTask(modeCombo.getValue(), () -> updateSortedListFromStringArray(sorted.get()));
+        for (Map.Entry<String, BiConsumer<String[], SortMetrics>> entry : SortAlgorithms.STRING_ALGORITHMS.entrySet()) {
+            if (selected.contains(entry.getKey())) {
+                String name = entry.getKey() + SortAlgorithms.TEXT_SUFFIX;
+                BiConsumer<String[], SortMetrics> algorithm = entry.getValue();
+                BiConsumer<String[], SortMetrics> fast = SortAlgorithms.FAST_STRING_ALGORITHMS.get(entry.getKey());
+                for (int t = 0; t < trials; t++) {
+                    task.add(name, metrics -> runStringAlgorithm(name, inputData, algorithm, fast, metrics, sorted));
+                }
+            }
+        }
+        startTask(task);
     }
 
     /**
-     * Método que executa um algoritmo de ordenação para textos e armazena os resultados (tempo, comparações, trocas)
+     * Método que executa um algoritmo de ordenação para textos e retorna os resultados (tempo, comparações, trocas, memória alocada).
+     * Com versão sem instrumentação ({@code fast} não nulo), o tempo é o dela e as contagens vêm de {@code algorithm}.
+     * Chamado na thread de segundo plano.
      */
-    private void runStringAlgorithm(String name, String[] inputData, Consumer<String[]> algorithm) {
+    private ResultData runStringAlgorithm(String name, String[] inputData, BiConsumer<String[], SortMetrics> algorithm,
+                                          BiConsumer<String[], SortMetrics> fast, SortMetrics metrics, AtomicReference<String[]> sortedOutput) {
         String[] copy = Arrays.copyOf(inputData, inputData.length);
-        SortingComparisonEnhanced.comparacoes = 0;
-        SortingComparisonEnhanced.trocas = 0;
-        long start = System.nanoTime();
-        algorithm.accept(copy);
-        long end = System.nanoTime();
+        SortRun run = SortRun.ofStrings(name, copy, algorithm, fast, metrics);
+
+        if (!run.isSorted()) {
+            Platform.runLater(() -> showAlert("Erro: " + name + " não ordenou corretamente."));
+        } else {
+            sortedOutput.set(copy);
+        }
+        return new ResultData(run);
+    }
+
+    /**
+     * Executa os algoritmos selecionados que têm versão para textos compactos
+     * ({@link StringArena}): cada um ordena a própria cópia da permutação, e a
+     * lista exibe a última ordenação correta, sem criar as strings de antemão.
+     */
+    private void runCompactTextAlgorithms(StringArena inputData) {
+        if (topKCheck.isSelected()) {
+            showAlert("O modo Top-K não está disponível para textos compactos: abra o arquivo como \"Textos\".");
+            return;
+        }
+        int trials = readTrials();
+        if (trials < 1) {
+            return;
+        }
+        List<String> selected = algorithmList.getSelectionModel().getSelectedItems();
+        AtomicReference<StringArena> sorted = new AtomicReference<>();
+        SortTask task = new SortTask(modeCombo.getValue(), () -> sortedListView.setItems(sorted.get() != null ? SortedArrayList.ofArena(sorted.get())
+                : FXCollections.observableArrayList()));
+        for (Map.Entry<String, BiConsumer<StringArena, SortMetrics>> entry : SortAlgorithms.COMPACT_TEXT_ALGORITHMS.entrySet()) {
+            if (selected.contains(entry.getKey())) {
+                String name = entry.getKey() + SortAlgorithms.COMPACT_TEXT_SUFFIX;
+                BiConsumer<StringArena, SortMetrics> algorithm = entry.getValue();
+                for (int t = 0; t < trials; t++) {
+                    task.add(name, metrics -> {
+                        StringArena copy = inputData.copy();
+                        SortRun run = SortRun.ofArena(name, copy, algorithm, metrics);
+                        if (!run.isSorted()) {
+                            Platform.runLater(() -> showAlert("Erro: " + name + " não ordenou corretamente."));
+                        } else {
+                            sorted.set(copy);
+                        }
+                        return new ResultData(run);
+                    });
+                }
+            }
+        }
+        startTask(task);
+    }
+
+    /**
+     * Modo Top-K para números: em vez de ordenar tudo, executa as consultas de
+     * top-k ({@link SortAlgorithms#SELECTION_INT_ALGORITHMS}) para o k ou o
+     * percentil informado, com o Introsort como referência. A lista exibe os k
+     * menores valores em ordem e o status, o k-ésimo menor (o percentil).
+     */
+    private void runTopK(int[] inputData) {
+        int trials = readTrials();
+        if (trials < 1) {
+            return;
+        }
+        int k = readTopK(inputData.length);
+        if (k < 1) {
+            return;
+        }
+        // Os k menores em ordem (de uma consulta que os deixa ordenados) e o k-ésimo menor
+        AtomicReference<int[]> smallest = new AtomicReference<>();
+        AtomicReference<String> kth = new AtomicReference<>();
+        SortTask task = new SortTask(modeCombo.getValue(), () -> {
+            updateSortedListFromIntArray(smallest.get());
+            showTopKStatus(k, inputData.length, kth.get());
+        });
+        for (Map.Entry<String, SortAlgorithms.Selection<int[]>> entry : SortAlgorithms.SELECTION_INT_ALGORITHMS.entrySet()) {
+            String name = entry.getKey();
+            SortAlgorithms.Selection<int[]> algorithm = entry.getValue();
+            for (int t = 0; t < trials; t++) {
+                task.add(name, metrics -> {
+                    int[] copy = Arrays.copyOf(inputData, inputData.length);
+                    SortRun run = SortRun.ofSelection(name, copy, k, algorithm, metrics);
+                    if (!run.isSorted()) {
+                        Platform.runLater(() -> showAlert("Erro: " + name + " não encontrou os k menores valores."));
+                    } else {
+                        kth.set(String.valueOf(copy[k - 1]));
+                        int[] prefix = Arrays.copyOf(copy, k);
+                        if (SortingComparisonEnhanced.isSorted(prefix)) {
+                            smallest.set(prefix);
+                        }
+                    }
+                    return new ResultData(run);
+                });
+            }
+        }
+        startTask(task);
+    }
+
+    /**
+     * Modo Top-K para textos (ignorando case), como {@link #runTopK(int[])}.
+     */
+    private void runTopKStrings(String[] inputData) {
+        int trials = readTrials();
+        if (trials < 1) {
+            return;
+        }
+        int k = readTopK(inputData.length);
+        if (k < 1) {
+            return;
+        }
+        AtomicReference<String[]> smallest = new AtomicReference<>();
+        AtomicReference<String> kth = new AtomicReference<>();
+        SortTask task = new SortTask(modeCombo.getValue(), () -> {
+            updateSortedListFromStringArray(smallest.get());
+            showTopKStatus(k, inputData.length, kth.get());
+        });
+        for (Map.Entry<String, SortAlgorithms.Selection<String[]>> entry : SortAlgorithms.SELECTION_STRING_ALGORITHMS.entrySet()) {
+            String name = entry.getKey() + SortAlgorithms.TEXT_SUFFIX;
+            SortAlgorithms.Selection<String[]> algorithm = entry.getValue();
+            for (int t = 0; t < trials; t++) {
+                task.add(name, metrics -> {
+                    String[] copy = Arrays.copyOf(inputData, inputData.length);
+                    SortRun run = SortRun.ofSelectionStrings(name, copy, k, algorithm, metrics);
+                    if (!run.isSorted()) {
+                        Platform.runLater(() -> showAlert("Erro: " + name + " não encontrou os k menores valores."));
+                    } else {
+                        kth.set(copy[k - 1]);
+                        String[] prefix = Arrays.copyOf(copy, k);
+                        if (SortingComparisonEnhanced.isSortedStrings(prefix)) {
+                            smallest.set(prefix);
+                        }
+                    }
+                    return new ResultData(run);
+                });
+            }
+        }
+        startTask(task);
+    }
 
-        if (!isSortedStrings(copy)) {
-            showAlert("Erro: " + name + " não ordenou corretamente.");
+    /**
+     * k da consulta de top-k (ver {@link SortingComparisonEnhanced#topKRank}), ou -1 (com alerta) se inválido.
+     */
+    private int readTopK(int n) {
+        try {
+            return SortingComparisonEnhanced.topKRank(topKField.getText(), n);
+        } catch (IllegalArgumentException e) {
+            showAlert(e.getMessage());
+            return -1;
         }
+    }
 
-        double timeMs = (end - start) / 1_000_000.0;
-        ResultData rd = new ResultData(name, timeMs, SortingComparisonEnhanced.comparacoes, SortingComparisonEnhanced.trocas);
-        data.add(rd);
+    /**
+     * Mostra no status a resposta da consulta de top-k, quando alguma execução a encontrou.
+     */
+    private void showTopKStatus(int k, int n, String kth) {
+        if (kth != null) {
+            statusLabel.setText("Top-K concluído: k = " + k + " de " + n + ", k-ésimo menor valor: " + kth);
+        }
     }
 
     /**
-     * Verifica se um array de strings está ordenado lexicograficamente (ignorando case)
+     * Repetições de cada algoritmo lidas do campo, ou -1 (com alerta) se inválidas.
      */
-    private boolean isSortedStrings(String[] arr) {
-        for (int i = 0; i < arr.length - 1; i++) {
-            if (arr[i].compareToIgnoreCase(arr[i + 1]) > 0) {
-                return false;
+    private int readTrials() {
+        try {
+            int trials = Integer.parseInt(trialsField.getText().trim());
+            if (trials >= 1) {
+                return trials;
             }
+        } catch (NumberFormatException e) {
+            // tratado abaixo
         }
-        return true;
+        showAlert("Repetições inválidas: informe um número inteiro positivo.");
+        return -1;
     }
 
     /**
-     * Atualiza a área de texto com o array de números ordenados para visualização
+     * Inicia a execução em segundo plano: limpa os resultados anteriores, liga
+     * a barra de progresso e o status à tarefa e bloqueia novas execuções até
+     * que ela termine (com sucesso, cancelada ou com erro).
      */
-    private void updateSortedListAreaFromIntArray(int[] arr) {
-        StringBuilder sb = new StringBuilder();
-        for (int n : arr) {
-            sb.append(n).append("\n");
+    private void startTask(SortTask task) {
+        if (task.isEmpty()) {
+            showAlert("Nenhum algoritmo selecionado para este tipo de dados.");
+            return;
         }
-        sortedListArea.setText(sb.toString());
+        data.clear();
+        currentTask = task;
+        progressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        runButtons.forEach(b -> b.setDisable(true));
+        btnSkip.setDisable(false);
+        btnCancel.setDisable(false);
+
+        task.setOnSucceeded(e -> finishTask(task, "Execução concluída."));
+        task.setOnCancelled(e -> finishTask(task, "Execução cancelada."));
+        task.setOnFailed(e -> {
+            Throwable error = task.getException();
+            finishTask(task, "Execução interrompida por erro.");
+            showAlert("Erro durante a ordenação: " + (error.getMessage() != null ? error.getMessage() : error.toString()));
+        });
+        executor.execute(task);
     }
 
     /**
-     * Atualiza a área de texto com o array de strings ordenadas para visualização
+     * Restaura os controles e atualiza as visualizações com as linhas já concluídas.
      */
-    private void updateSortedListAreaFromStringArray(String[] arr) {
-        StringBuilder sb = new StringBuilder();
-        for (String s : arr) {
-            sb.append(s).append("\n");
+    private void finishTask(SortTask task, String status) {
+        currentTask = null;
+        releaseControls();
+        progressBar.setProgress(task.isCancelled() ? 0 : 1);
+        statusLabel.setText(status);
+        if (task.getState() == Worker.State.SUCCEEDED) {
+            task.onSuccess.run();
+        }
+        if (task.onFinish != null) {
+            task.onFinish.run();
+        } else {
+            updateChart();
+            updateBigODescriptionForLastAlgorithm();
         }
-        sortedListArea.setText(sb.toString());
+    }
+
+    /**
+     * Desliga a barra de progresso e o status da tarefa e reabilita os botões de execução.
+     */
+    private void releaseControls() {
+        progressBar.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        runButtons.forEach(b -> b.setDisable(false));
+        btnSkip.setDisable(true);
+        btnCancel.setDisable(true);
+    }
+
+    /**
+     * Execução de um algoritmo dentro da tarefa de segundo plano. Retorna a
+     * linha da tabela, ou null quando a execução publica as suas próprias
+     * linhas (ex.: varredura de tamanhos, uma linha por ponto).
+     */
+    private interface AlgorithmRun {
+        ResultData run(SortMetrics metrics) throws Exception;
+    }
+
+    /**
+     * Tarefa que executa uma sequência de algoritmos fora da thread da interface,
+     * uma de cada vez ou em paralelo, conforme o modo ({@link RunScheduler}).
+     * Cada linha é enviada à tabela assim que o algoritmo termina, com o modo
+     * registrado. Pular interrompe as execuções em andamento e cancelar também
+     * descarta as que faltam, sinalizando os {@link SortMetrics} que os
+     * algoritmos consultam nos laços externos.
+     */
+    private final class SortTask extends Task<Void> {
+        private final List<String> names = new ArrayList<>();
+        private final List<AlgorithmRun> runs = new ArrayList<>();
+        private final RunScheduler scheduler;
+        // Ação executada na thread da interface quando todas as execuções terminam
+        private final Runnable onSuccess;
+        // Atualização das visualizações ao final, com sucesso ou não (null: gráfico de barras e Big O)
+        private final Runnable onFinish;
+        // Contadores de uma medição acompanhada por track (null se nenhuma)
+        private volatile SortMetrics current;
+
+        SortTask(String mode, Runnable onSuccess) {
+            this(mode, onSuccess, null);
+        }
+
+        SortTask(String mode, Runnable onSuccess, Runnable onFinish) {
+            this.scheduler = new RunScheduler(mode, Runtime.getRuntime().availableProcessors());
+            this.onSuccess = onSuccess;
+            this.onFinish = onFinish;
+        }
+
+        void add(String name, AlgorithmRun run) {
+            names.add(name);
+            runs.add(run);
+        }
+
+        boolean isEmpty() {
+            return runs.isEmpty();
+        }
+
+        /**
+         * Troca os contadores que "pular" e "cancelar" interrompem, para
+         * execuções que medem várias vezes (ex.: cada ponto da varredura).
+         */
+        void track(SortMetrics metrics) {
+            current = metrics;
+        }
+
+        /**
+         * Progresso e mensagem de uma execução que acompanha as próprias etapas.
+         */
+        void report(String message, long done, long total) {
+            updateMessage(message);
+            updateProgress(done, total);
+        }
+
+        void publish(ResultData rd) {
+            rd.setMode(scheduler.getMode());
+            Platform.runLater(() -> data.add(rd));
+        }
+
+        /**
+         * Interrompe apenas os algoritmos em andamento; a tarefa segue para os próximos.
+         */
+        void skipCurrent() {
+            SortMetrics metrics = current;
+            if (metrics != null) {
+                metrics.cancel();
+            }
+            scheduler.skipRunning();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            scheduler.cancel();
+            skipCurrent();
+            return cancelled;
+        }
+
+        @Override
+        protected Void call() throws Exception {
+            int total = runs.size();
+            AtomicInteger done = new AtomicInteger();
+            List<RunScheduler.Job<ResultData>> jobs = new ArrayList<>();
+            for (AlgorithmRun run : runs) {
+                jobs.add(run::run);
+            }
+            updateProgress(0, total);
+            scheduler.run(jobs, new RunScheduler.Listener<>() {
+                @Override
+                public void started(int index) {
+                    updateMessage("Executando " + names.get(index) + " (" + (index + 1) + " de " + total + ")...");
+                }
+
+                @Override
+                public void finished(int index, ResultData rd) {
+                    if (rd != null) {
+                        publish(rd);
+                    }
+                    updateProgress(done.incrementAndGet(), total);
+                }
+
+                @Override
+                public void skipped(int index) {
+                    // Algoritmo pulado: nenhuma linha é registrada
+                    if (!isCancelled()) {
+                        updateMessage(names.get(index) + " pulado.");
+                    }
+                    updateProgress(done.incrementAndGet(), total);
+                }
+            });
+            updateProgress(total, total);
+            return null;
+        }
+    }
+
+    /**
+     * Exibe o array de números ordenados na lista virtualizada, sem copiá-lo
+     * (null limpa a lista, ex.: quando nenhum algoritmo concluiu)
+     */
+    private void updateSortedListFromIntArray(int[] arr) {
+        sortedListView.setItems(arr != null ? SortedArrayList.ofInts(arr) : FXCollections.observableArrayList());
+    }
+
+    /**
+     * Exibe o array de strings ordenadas na lista virtualizada, sem copiá-lo
+     * (null limpa a lista, ex.: quando nenhum algoritmo concluiu)
+     */
+    private void updateSortedListFromStringArray(String[] arr) {
+        sortedListView.setItems(arr != null ? SortedArrayList.ofStrings(arr) : FXCollections.observableArrayList());
+    }
+
+    /**
+     * Rola a lista ordenada até a posição digitada (base 0) e a seleciona
+     */
+    private void jumpToIndex() {
+        int size = sortedListView.getItems().size();
+        try {
+            int index = Integer.parseInt(jumpToIndexField.getText().trim());
+            if (index < 0 || index >= size) {
+                showAlert("Posição fora da lista: informe um valor entre 0 e " + (size - 1) + ".");
+                return;
+            }
+            showIndex(index);
+        } catch (NumberFormatException e) {
+            showAlert("Posição inválida: informe um número inteiro.");
+        }
+    }
+
+    /**
+     * Busca binária na lista ordenada: valor exato para números, prefixo (ignorando case) para textos
+     */
+    private void searchSortedList() {
+        if (!(sortedListView.getItems() instanceof SortedArrayList)) {
+            showAlert("Nenhuma lista ordenada para buscar.");
+            return;
+        }
+        String query = searchField.getText();
+        if (query.trim().isEmpty()) {
+            return;
+        }
+        try {
+            int index = ((SortedArrayList) sortedListView.getItems()).find(query);
+            if (index < 0) {
+                showAlert("Valor não encontrado: " + query.trim());
+                return;
+            }
+            showIndex(index);
+        } catch (NumberFormatException e) {
+            showAlert("Busca inválida: a lista contém números inteiros.");
+        }
+    }
+
+    private void showIndex(int index) {
+        sortedListView.scrollTo(index);
+        sortedListView.getSelectionModel().clearAndSelect(index);
     }
 
     /**
      * Atualiza o gráfico de barras com as métricas atuais armazenadas na lista data
      */
     private void updateChart() {
+        showSweepChart(false);
         barChart.getData().clear();
 
         XYChart.Series<String, Number> timeSeries = new XYChart.Series<>();
@@ -416,13 +1286,57 @@ public class SortingAnalysisFX extends Application {
         XYChart.Series<String, Number> swapSeries = new XYChart.Series<>();
         swapSeries.setName("Trocas");
 
+        XYChart.Series<String, Number> passSeries = new XYChart.Series<>();
+        passSeries.setName("Passadas");
+
+        XYChart.Series<String, Number> allocSeries = new XYChart.Series<>();
+        allocSeries.setName("Memória alocada (KB)");
+
+        XYChart.Series<String, Number> peakHeapSeries = new XYChart.Series<>();
+        peakHeapSeries.setName("Pico de heap (KB)");
+
         for (ResultData rd : data) {
             timeSeries.getData().add(new XYChart.Data<>(rd.getAlgorithm(), rd.getTimeMillis()));
             compSeries.getData().add(new XYChart.Data<>(rd.getAlgorithm(), rd.getComparisons()));
             swapSeries.getData().add(new XYChart.Data<>(rd.getAlgorithm(), rd.getSwaps()));
+            passSeries.getData().add(new XYChart.Data<>(rd.getAlgorithm(), rd.getPasses()));
+            allocSeries.getData().add(new XYChart.Data<>(rd.getAlgorithm(), Math.max(0, rd.getAllocatedBytes()) / 1024.0));
+            peakHeapSeries.getData().add(new XYChart.Data<>(rd.getAlgorithm(), Math.max(0, rd.getPeakHeapDeltaBytes()) / 1024.0));
+        }
+
+        barChart.getData().addAll(timeSeries, compSeries, swapSeries, passSeries, allocSeries, peakHeapSeries);
+    }
+
+    /**
+     * Mostra o gráfico log-log da varredura (uma série por algoritmo) e, no
+     * lugar da descrição Big O teórica, o ajuste medido de cada algoritmo.
+     */
+    private void updateSweepChart(List<SizeSweep.Point> points) {
+        showSweepChart(true);
+        sweepChart.getData().clear();
+        for (Map.Entry<String, List<SizeSweep.Point>> entry : SizeSweep.byAlgorithm(points).entrySet()) {
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName(entry.getKey());
+            for (SizeSweep.Point p : entry.getValue()) {
+                if (p.getMedianMillis() > 0) {
+                    series.getData().add(new XYChart.Data<>(Math.log10(p.getSize()), Math.log10(p.getMedianMillis())));
+                }
+            }
+            sweepChart.getData().add(series);
         }
+        List<String> fits = SizeSweep.describeFits(points);
+        bigODescriptionLabel.setText(fits.isEmpty() ? "" : "Escala medida (ajuste a n, n log n e n²):\n" + String.join("\n", fits));
+        bigODescriptionLabel.setVisible(!fits.isEmpty());
+    }
 
-        barChart.getData().addAll(timeSeries, compSeries, swapSeries);
+    /**
+     * Alterna entre o gráfico log-log da varredura e o gráfico de barras.
+     */
+    private void showSweepChart(boolean sweep) {
+        sweepChart.setVisible(sweep);
+        sweepChart.setManaged(sweep);
+        barChart.setVisible(!sweep);
+        barChart.setManaged(!sweep);
     }
 
     /**
@@ -441,6 +1355,10 @@ public class SortingAnalysisFX extends Application {
      * Retorna a descrição da notação Big O para cada algoritmo suportado
      */
     private String getBigONotationDescription(String algorithmName) {
+        if (algorithmName.startsWith(SortAlgorithms.EXTERNAL_PREFIX)) {
+            return "E/S: O((n/B)·log_k(n/M)) blocos com M = memória, B = bloco e k = runs por merge; "
+                    + "Tempo: O(n log n) comparações, Espaço: O(M) em memória, O(n) em disco";
+        }
         switch (algorithmName) {
             case "Bubble Sort":
             case "Bubble Sort (Textos)":
@@ -448,12 +1366,54 @@ public class SortingAnalysisFX extends Application {
             case "Quick Sort":
             case "Quick Sort (Textos)":
                 return "Tempo (pior caso): O(n²), Espaço: O(log n)";
+            case "Quick Sort 3-way":
+            case "Quick Sort 3-way (Textos)":
+            case "Quick Sort 3-way (Textos compactos)":
+                return "Tempo (pior caso): O(n²), O(n) com poucos valores distintos, Espaço: O(log n)";
+            case "Dual-Pivot Quick Sort":
+            case "Dual-Pivot Quick Sort (Textos)":
+                return "Tempo (pior caso): O(n²), médio O(n log n), Espaço: O(log n)";
             case "Merge Sort":
             case "Merge Sort (Textos)":
+            case "Merge Sort (buffer único)":
+            case "Merge Sort (buffer único) (Textos)":
+            case "Merge Sort (buffer único) (Textos compactos)":
                 return "Tempo (pior caso): O(n log n), Espaço: O(n)";
+            case "TimSort (merge natural)":
+            case "TimSort (merge natural) (Textos)":
+                return "Tempo (pior caso): O(n log n), O(n log r) com r runs naturais, O(n) se já ordenado, Espaço: O(n)";
+            case "Parallel Merge Sort":
+            case "Parallel Merge Sort (Textos)":
+                return "Tempo (pior caso): O(n log n) de trabalho, O(log³ n) de caminho crítico, Espaço: O(n)";
+            case "Introsort":
+            case "Introsort (Textos)":
+                return "Tempo (pior caso): O(n log n), Espaço: O(log n)";
             case "Heap Sort":
             case "Heap Sort (Textos)":
                 return "Tempo (pior caso): O(n log n), Espaço: O(1)";
+            case "Heap Sort (bottom-up)":
+            case "Heap Sort (bottom-up) (Textos)":
+                return "Tempo (pior caso): O(n log n), ~n log n comparações (metade do Heap Sort), Espaço: O(1)";
+            case "Heap Sort (4-ário)":
+            case "Heap Sort (4-ário) (Textos)":
+                return "Tempo (pior caso): O(n log n), altura log4 n com até 4 comparações por nível, Espaço: O(1)";
+            case "Radix Sort LSD (8 bits)":
+            case "Radix Sort LSD (11 bits)":
+            case "Radix Sort LSD (16 bits)":
+                return "Tempo: O(d·(n + 2^b)) com d = ⌈32/b⌉ dígitos de b bits, Espaço: O(n + 2^b)";
+            case "Multikey Quick Sort (Textos)":
+                return "Tempo: O(n log n + D) comparações de caracteres, D = soma dos prefixos distintivos, Espaço: O(n + total de caracteres)";
+            case "Introselect":
+            case "Introselect (Textos)":
+                return "Tempo: O(n) em média, O(n log n) no pior caso (Heap Sort do intervalo restante), Espaço: O(1)";
+            case "Top-k (heap limitado)":
+            case "Top-k (heap limitado) (Textos)":
+                return "Tempo (pior caso): O(n log k), O(n) quando poucos valores entram na heap, Espaço: O(1)";
+            case "Ordenação parcial":
+            case "Ordenação parcial (Textos)":
+                return "Tempo: O(n + k log k) em média (Introselect + Introsort dos k menores), Espaço: O(log k)";
+            case "Counting Sort":
+                return "Tempo: O(n + k) com k = max - min + 1, Espaço: O(k)";
             default:
                 return "Complexidade não disponível";
         }
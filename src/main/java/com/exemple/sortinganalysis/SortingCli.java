@@ -0,0 +1,734 @@
+package com.exemple.sortinganalysis;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Executor de linha de comando, para máquinas sem display (servidores de
+ * build, jobs em lote). Roda os mesmos algoritmos do catálogo
+ * {@link SortAlgorithms} sobre um arquivo ou uma entrada gerada, e grava os
+ * resultados como tabela ou no mesmo CSV da interface gráfica. Também
+ * executa a varredura de tamanhos ({@link SizeSweep}), com o ajuste das
+ * curvas de complexidade ao final da tabela, as ordenações fora do heap
+ * ({@link OffHeapSorts}) sobre arquivos binários mapeados em memória e as
+ * consultas de top-k ({@link SortAlgorithms#SELECTION_INT_ALGORITHMS}).
+ *
+ * Não referencia nenhuma classe JavaFX: pode ser executado só com o jar da
+ * aplicação no classpath, por exemplo
+ * {@code java -cp sorting-analysis.jar com.exemple.sortinganalysis.SortingCli --generate uniform:100000}.
+ */
+public final class SortingCli {
+
+    // Códigos de saída
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_FAILURE = 1;
+    private static final int EXIT_USAGE = 2;
+
+    // Prefixo de "--offheap memory:<n>" (chaves geradas em memória direta, sem arquivo)
+    private static final String OFF_HEAP_MEMORY = "memory:";
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Uso: java -cp sorting-analysis.jar com.exemple.sortinganalysis.SortingCli [opções]",
+            "",
+            "Entrada (uma das quatro):",
+            "  --input <arquivo>        arquivo com um valor por linha",
+            "  --generate <dist>:<n>    gera n valores; distribuições: " + String.join(", ", DataGenerators.DISTRIBUTIONS),
+            "  --sweep <dist>:<min>:<max>  varredura de tamanhos de min a max em progressão geométrica",
+            "  --offheap <arquivo>      ordena fora do heap as chaves binárias do arquivo (ordem de bytes nativa),",
+            "                           mapeado em memória e ordenado no próprio lugar",
+            "  --offheap memory:<n>     ordena fora do heap n chaves uniformes geradas em memória direta",
+            "",
+            "Opções:",
+            "  --type int|text|long     tipo dos dados (padrão: int; long apenas com --offheap)",
+            "  --compact                com --type text, guarda as linhas num buffer único com índices (StringArena)",
+            "                           e executa os algoritmos que ordenam só os índices",
+            "  --top-k <k|pNN>          em vez de ordenar tudo, consulta os k menores valores (ou o percentil, ex.: p99)",
+            "                           com Introselect, heap limitado e ordenação parcial; com --input ou --generate",
+            "  --create <n>             com --offheap <arquivo>, grava n chaves uniformes no arquivo antes de cada execução",
+            "  --algorithms <a,b,...>   algoritmos do catálogo, separados por vírgula (padrão: todos)",
+            "  --repetitions <n>        execuções medidas por algoritmo (padrão: 1; na varredura, a mediana é usada)",
+            "  --warmup <n>             execuções de aquecimento descartadas (padrão: 0)",
+            "  --mode isolated|parallel execuções uma de cada vez (padrão) ou simultâneas; com --input ou --generate",
+            "  --threads <n>            execuções simultâneas no modo parallel (padrão: núcleos disponíveis)",
+            "  --seed <n>               semente do gerador (padrão: " + DataGenerators.DEFAULT_SEED + ")",
+            "  --swaps <k>              trocas da distribuição nearly-sorted (padrão: 1% de n)",
+            "  --steps <k>              tamanhos por década na varredura (padrão: 2)",
+            "  --budget <s>             na varredura, orçamento por execução em segundos (padrão: 10)",
+            "  --format table|csv       formato da saída (padrão: table)",
+            "  --output <arquivo>       grava a saída no arquivo em vez da saída padrão",
+            "  --list                   lista os algoritmos disponíveis",
+            "  --help                   mostra esta ajuda");
+
+    private SortingCli() {
+    }
+
+    /**
+     * Erro nos argumentos da linha de comando.
+     */
+    private static final class UsageException extends Exception {
+        UsageException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Opções lidas da linha de comando.
+     */
+    private static final class Options {
+        String input;
+        String generate;
+        String sweep;
+        int steps = 2;
+        double budgetSeconds = 10;
+        boolean text;
+        // Textos no armazenamento compacto (StringArena)
+        boolean compact;
+        // Chaves de 64 bits (apenas fora do heap)
+        boolean longs;
+        // Arquivo ou "memory:<n>" das ordenações fora do heap, e chaves a gravar no arquivo (-1: usar o conteúdo)
+        String offHeap;
+        long create = -1;
+        // Consulta de top-k: k ou percentil "pNN" (null: ordenação completa)
+        String topK;
+        List<String> algorithms;
+        int repetitions = 1;
+        int warmup = 0;
+        // Agendamento das execuções (RunScheduler) e threads do modo paralelo
+        String mode = RunScheduler.ISOLATED;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = DataGenerators.DEFAULT_SEED;
+        // Trocas da distribuição nearly-sorted (-1: padrão do gerador)
+        int swaps = -1;
+        boolean csv;
+        String output;
+        boolean list;
+        boolean help;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] exitCode = new int[1];
+        // As ordenações rodam numa thread com pilha grande (ver RunScheduler.WORKER_STACK_SIZE)
+        Thread worker = new Thread(null, () -> exitCode[0] = run(args), "sorting-cli", RunScheduler.WORKER_STACK_SIZE);
+        worker.start();
+        worker.join();
+        System.exit(exitCode[0]);
+    }
+
+    /**
+     * Executa a linha de comando e retorna o código de saída.
+     */
+    static int run(String[] args) {
+        Options options;
+        try {
+            options = parse(args);
+        } catch (UsageException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if (options.help) {
+            System.out.println(USAGE);
+            return EXIT_OK;
+        }
+        if (options.list) {
+            System.out.println("Inteiros: " + String.join(", ", SortAlgorithms.INT_ALGORITHMS.keySet()));
+            System.out.println("Textos: " + String.join(", ", SortAlgorithms.STRING_ALGORITHMS.keySet()));
+            System.out.println("Textos compactos: " + String.join(", ", SortAlgorithms.COMPACT_TEXT_ALGORITHMS.keySet()));
+            System.out.println("Top-K (int e texto): " + String.join(", ", SortAlgorithms.SELECTION_INT_ALGORITHMS.keySet()));
+            System.out.println("Fora do heap (int e long): " + String.join(", ", OffHeapSorts.INT_ALGORITHMS.keySet()));
+            return EXIT_OK;
+        }
+
+        try {
+            List<SortRun> runs;
+            List<String> fits = List.of();
+            List<String> answers = new ArrayList<>();
+            if (options.sweep != null) {
+                List<SizeSweep.Point> points = runSweep(options);
+                runs = new ArrayList<>();
+                for (SizeSweep.Point p : points) {
+                    runs.add(new SortRun(p.getAlgorithm(), p.getSize(), p.getMedianMillis(), p.getInstrumentedMillis(), p.getMetrics(),
+                            p.getMemory(), p.isSorted()));
+                }
+                fits = SizeSweep.describeFits(points);
+            } else if (options.offHeap != null) {
+                runs = runOffHeap(options);
+            } else if (options.topK != null) {
+                runs = options.text ? runTopKTexts(options, answers) : runTopKInts(options, answers);
+            } else {
+                runs = options.compact ? runCompactTexts(options) : options.text ? runTexts(options) : runInts(options);
+            }
+            try (Writer out = options.output != null ? new FileWriter(options.output) : new NonClosingWriter(new OutputStreamWriter(System.out))) {
+                if (options.csv) {
+                    SortingComparisonEnhanced.writeRunsToCSV(out, runs, options.mode);
+                } else {
+                    writeTable(out, runs, options.mode);
+                    writeFits(out, fits);
+                    writeAnswers(out, answers);
+                }
+            }
+            if (options.csv) {
+                answers.forEach(System.err::println);
+            }
+            if (options.csv && !fits.isEmpty()) {
+                // O CSV contém só os pontos; o ajuste vai para a saída de erro
+                fits.forEach(System.err::println);
+            }
+            for (SortRun run : runs) {
+                if (!run.isSorted()) {
+                    System.err.println("Erro: " + run.getAlgorithm() + " não ordenou corretamente.");
+                    return EXIT_FAILURE;
+                }
+            }
+            return EXIT_OK;
+        } catch (UsageException e) {
+            System.err.println("Erro: " + e.getMessage());
+            return EXIT_USAGE;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
+    }
+
+    private static Options parse(String[] args) throws UsageException {
+        Options o = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--help":
+                case "-h":
+                    o.help = true;
+                    return o;
+                case "--list":
+                    o.list = true;
+                    break;
+                case "--input":
+                    o.input = value(args, ++i, arg);
+                    break;
+                case "--generate":
+                    o.generate = value(args, ++i, arg);
+                    break;
+                case "--sweep":
+                    o.sweep = value(args, ++i, arg);
+                    break;
+                case "--steps":
+                    o.steps = positiveInt(value(args, ++i, arg), arg, 1);
+                    break;
+                case "--budget":
+                    try {
+                        o.budgetSeconds = Double.parseDouble(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        o.budgetSeconds = -1;
+                    }
+                    if (!(o.budgetSeconds > 0)) {
+                        throw new UsageException("Valor inválido para " + arg + ": " + args[i]);
+                    }
+                    break;
+                case "--offheap":
+                    o.offHeap = value(args, ++i, arg);
+                    break;
+                case "--compact":
+                    o.compact = true;
+                    break;
+                case "--top-k":
+                    o.topK = value(args, ++i, arg);
+                    break;
+                case "--create":
+                    o.create = positiveLong(value(args, ++i, arg), arg, 0);
+                    break;
+                case "--type": {
+                    String type = value(args, ++i, arg);
+                    if (!type.equals("int") && !type.equals("text") && !type.equals("long")) {
+                        throw new UsageException("Tipo inválido: " + type + " (use int, text ou long)");
+                    }
+                    o.text = type.equals("text");
+                    o.longs = type.equals("long");
+                    break;
+                }
+                case "--algorithms":
+                    o.algorithms = new ArrayList<>();
+                    for (String name : value(args, ++i, arg).split(",")) {
+                        if (!name.trim().isEmpty()) {
+                            o.algorithms.add(name.trim());
+                        }
+                    }
+                    break;
+                case "--repetitions":
+                    o.repetitions = positiveInt(value(args, ++i, arg), arg, 1);
+                    break;
+                case "--warmup":
+                    o.warmup = positiveInt(value(args, ++i, arg), arg, 0);
+                    break;
+                case "--mode": {
+                    String mode = value(args, ++i, arg);
+                    if (!mode.equals("isolated") && !mode.equals("parallel")) {
+                        throw new UsageException("Modo inválido: " + mode + " (use isolated ou parallel)");
+                    }
+                    o.mode = mode.equals("parallel") ? RunScheduler.PARALLEL : RunScheduler.ISOLATED;
+                    break;
+                }
+                case "--threads":
+                    o.threads = positiveInt(value(args, ++i, arg), arg, 1);
+                    break;
+                case "--seed":
+                    try {
+                        o.seed = Long.parseLong(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new UsageException("Semente inválida: " + args[i]);
+                    }
+                    break;
+                case "--swaps":
+                    o.swaps = positiveInt(value(args, ++i, arg), arg, 0);
+                    break;
+                case "--format": {
+                    String format = value(args, ++i, arg);
+                    if (!format.equals("table") && !format.equals("csv")) {
+                        throw new UsageException("Formato inválido: " + format + " (use table ou csv)");
+                    }
+                    o.csv = format.equals("csv");
+                    break;
+                }
+                case "--output":
+                    o.output = value(args, ++i, arg);
+                    break;
+                default:
+                    throw new UsageException("Opção desconhecida: " + arg);
+            }
+        }
+        int inputs = (o.input != null ? 1 : 0) + (o.generate != null ? 1 : 0) + (o.sweep != null ? 1 : 0) + (o.offHeap != null ? 1 : 0);
+        if (!o.list && inputs != 1) {
+            throw new UsageException("Informe exatamente uma entrada: --input, --generate, --sweep ou --offheap");
+        }
+        if (o.offHeap != null && o.text) {
+            throw new UsageException("--offheap ordena apenas chaves int ou long");
+        }
+        if (o.offHeap == null && o.longs) {
+            throw new UsageException("--type long exige --offheap");
+        }
+        if (o.compact && (!o.text || o.sweep != null)) {
+            throw new UsageException("--compact exige --type text com --input ou --generate");
+        }
+        if (o.topK != null && (o.sweep != null || o.offHeap != null || o.compact)) {
+            throw new UsageException("--top-k exige --input ou --generate, sem --compact");
+        }
+        if (o.mode.equals(RunScheduler.PARALLEL) && (o.sweep != null || o.offHeap != null)) {
+            throw new UsageException("--mode parallel exige --input ou --generate");
+        }
+        if (o.create >= 0 && (o.offHeap == null || o.offHeap.startsWith(OFF_HEAP_MEMORY))) {
+            throw new UsageException("--create exige --offheap <arquivo>");
+        }
+        return o;
+    }
+
+    private static String value(String[] args, int i, String option) throws UsageException {
+        if (i >= args.length) {
+            throw new UsageException("Falta o valor de " + option);
+        }
+        return args[i];
+    }
+
+    private static int positiveInt(String text, String option, int min) throws UsageException {
+        try {
+            int value = Integer.parseInt(text);
+            if (value >= min) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // tratado abaixo
+        }
+        throw new UsageException("Valor inválido para " + option + ": " + text);
+    }
+
+    private static long positiveLong(String text, String option, long min) throws UsageException {
+        try {
+            long value = Long.parseLong(text);
+            if (value >= min) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // tratado abaixo
+        }
+        throw new UsageException("Valor inválido para " + option + ": " + text);
+    }
+
+    /**
+     * Lê a distribuição e o tamanho de "--generate dist:n".
+     */
+    private static String[] generatorSpec(String spec) throws UsageException {
+        String[] parts = spec.split(":");
+        if (parts.length != 2 || !DataGenerators.DISTRIBUTIONS.contains(parts[0])) {
+            throw new UsageException("Gerador inválido: " + spec + " (use <dist>:<n>, dist em " + DataGenerators.DISTRIBUTIONS + ")");
+        }
+        positiveInt(parts[1], "--generate", 0);
+        return parts;
+    }
+
+    /**
+     * Varredura de tamanhos de "--sweep dist:min:max", com avisos dos algoritmos
+     * descartados na saída de erro.
+     */
+    private static List<SizeSweep.Point> runSweep(Options o) throws UsageException {
+        String[] parts = o.sweep.split(":");
+        if (parts.length != 3 || !DataGenerators.DISTRIBUTIONS.contains(parts[0])) {
+            throw new UsageException("Varredura inválida: " + o.sweep + " (use <dist>:<min>:<max>, dist em " + DataGenerators.DISTRIBUTIONS + ")");
+        }
+        int min = positiveInt(parts[1], "--sweep", 1);
+        int max = positiveInt(parts[2], "--sweep", min);
+        int[] sizes = SizeSweep.geometricSizes(min, max, o.steps);
+        double budgetMillis = o.budgetSeconds * 1000;
+        SizeSweep.Listener listener = new SizeSweep.Listener() {
+            @Override
+            public void skipped(String algorithm, int n, String reason) {
+                System.err.println("Aviso: " + algorithm + " não medido a partir de n = " + n + " (" + reason + ").");
+            }
+        };
+        if (o.text) {
+            return SizeSweep.sweepStrings(select(SortAlgorithms.STRING_ALGORITHMS, o.algorithms), SortAlgorithms.FAST_STRING_ALGORITHMS, parts[0], o.seed,
+                    sizes, o.repetitions, budgetMillis, listener);
+        }
+        return SizeSweep.sweepInts(select(SortAlgorithms.INT_ALGORITHMS, o.algorithms), SortAlgorithms.FAST_INT_ALGORITHMS, parts[0], o.seed,
+                sizes, o.repetitions, budgetMillis, listener);
+    }
+
+    /**
+     * Algoritmos escolhidos, na ordem do catálogo.
+     */
+    private static <T> Map<String, T> select(Map<String, T> catalog, List<String> names) throws UsageException {
+        if (names == null) {
+            return catalog;
+        }
+        Map<String, T> selected = new LinkedHashMap<>();
+        for (String name : names) {
+            if (!catalog.containsKey(name)) {
+                throw new UsageException("Algoritmo desconhecido para este tipo de dados: " + name);
+            }
+        }
+        for (Map.Entry<String, T> entry : catalog.entrySet()) {
+            if (names.contains(entry.getKey())) {
+                selected.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return selected;
+    }
+
+    private static List<SortRun> runInts(Options o) throws IOException, UsageException {
+        Map<String, BiConsumer<int[], SortMetrics>> algorithms = select(SortAlgorithms.INT_ALGORITHMS, o.algorithms);
+        int[] input;
+        if (o.input != null) {
+            input = SortingComparisonEnhanced.readDataFromFile(o.input);
+        } else {
+            String[] spec = generatorSpec(o.generate);
+            int n = Integer.parseInt(spec[1]);
+            input = DataGenerators.ints(spec[0], n, o.seed, o.swaps >= 0 ? o.swaps : DataGenerators.defaultSwaps(n));
+        }
+
+        boolean countingApplicable = SortingComparisonEnhanced.isCountingSortApplicable(input);
+        List<RunScheduler.Job<SortRun>> jobs = new ArrayList<>();
+        for (Map.Entry<String, BiConsumer<int[], SortMetrics>> entry : algorithms.entrySet()) {
+            String name = entry.getKey();
+            if (name.equals(SortAlgorithms.COUNTING_SORT) && !countingApplicable) {
+                System.err.println("Aviso: " + name + " ignorado (intervalo de valores muito largo).");
+                continue;
+            }
+            for (int r = 0; r < o.warmup + o.repetitions; r++) {
+                jobs.add(metrics -> SortRun.ofInts(name, Arrays.copyOf(input, input.length), entry.getValue(),
+                        SortAlgorithms.FAST_INT_ALGORITHMS.get(name), metrics));
+            }
+        }
+        return schedule(o, jobs);
+    }
+
+    private static List<SortRun> runTexts(Options o) throws IOException, UsageException {
+        Map<String, BiConsumer<String[], SortMetrics>> algorithms = select(SortAlgorithms.STRING_ALGORITHMS, o.algorithms);
+        String[] input;
+        if (o.input != null) {
+            input = SortingComparisonEnhanced.readTextsFromFile(o.input);
+        } else {
+            String[] spec = generatorSpec(o.generate);
+            int n = Integer.parseInt(spec[1]);
+            input = DataGenerators.strings(spec[0], n, o.seed, o.swaps >= 0 ? o.swaps : DataGenerators.defaultSwaps(n));
+        }
+
+        List<RunScheduler.Job<SortRun>> jobs = new ArrayList<>();
+        for (Map.Entry<String, BiConsumer<String[], SortMetrics>> entry : algorithms.entrySet()) {
+            String name = entry.getKey() + SortAlgorithms.TEXT_SUFFIX;
+            for (int r = 0; r < o.warmup + o.repetitions; r++) {
+                jobs.add(metrics -> SortRun.ofStrings(name, Arrays.copyOf(input, input.length), entry.getValue(),
+                        SortAlgorithms.FAST_STRING_ALGORITHMS.get(entry.getKey()), metrics));
+            }
+        }
+        return schedule(o, jobs);
+    }
+
+    private static List<SortRun> runCompactTexts(Options o) throws IOException, UsageException {
+        Map<String, BiConsumer<StringArena, SortMetrics>> algorithms = select(SortAlgorithms.COMPACT_TEXT_ALGORITHMS, o.algorithms);
+        StringArena input;
+        if (o.input != null) {
+            input = StringArena.load(Path.of(o.input));
+        } else {
+            String[] spec = generatorSpec(o.generate);
+            int n = Integer.parseInt(spec[1]);
+            input = StringArena.of(DataGenerators.strings(spec[0], n, o.seed, o.swaps >= 0 ? o.swaps : DataGenerators.defaultSwaps(n)));
+        }
+
+        List<RunScheduler.Job<SortRun>> jobs = new ArrayList<>();
+        for (Map.Entry<String, BiConsumer<StringArena, SortMetrics>> entry : algorithms.entrySet()) {
+            String name = entry.getKey() + SortAlgorithms.COMPACT_TEXT_SUFFIX;
+            for (int r = 0; r < o.warmup + o.repetitions; r++) {
+                jobs.add(metrics -> SortRun.ofArena(name, input.copy(), entry.getValue(), metrics));
+            }
+        }
+        return schedule(o, jobs);
+    }
+
+    /**
+     * Consultas de top-k de "--top-k" sobre inteiros, cada uma na sua cópia da
+     * entrada; a resposta (o k-ésimo menor valor) vai para {@code answers}.
+     */
+    private static List<SortRun> runTopKInts(Options o, List<String> answers) throws IOException, UsageException {
+        Map<String, SortAlgorithms.Selection<int[]>> algorithms = select(SortAlgorithms.SELECTION_INT_ALGORITHMS, o.algorithms);
+        int[] input;
+        if (o.input != null) {
+            input = SortingComparisonEnhanced.readDataFromFile(o.input);
+        } else {
+            String[] spec = generatorSpec(o.generate);
+            int n = Integer.parseInt(spec[1]);
+            input = DataGenerators.ints(spec[0], n, o.seed, o.swaps >= 0 ? o.swaps : DataGenerators.defaultSwaps(n));
+        }
+        int k = SortingComparisonEnhanced.topKRank(o.topK, input.length);
+
+        AtomicReference<String> kth = new AtomicReference<>();
+        List<RunScheduler.Job<SortRun>> jobs = new ArrayList<>();
+        for (Map.Entry<String, SortAlgorithms.Selection<int[]>> entry : algorithms.entrySet()) {
+            for (int r = 0; r < o.warmup + o.repetitions; r++) {
+                jobs.add(metrics -> {
+                    int[] copy = Arrays.copyOf(input, input.length);
+                    SortRun run = SortRun.ofSelection(entry.getKey(), copy, k, entry.getValue(), metrics);
+                    if (run.isSorted()) {
+                        kth.set(String.valueOf(copy[k - 1]));
+                    }
+                    return run;
+                });
+            }
+        }
+        List<SortRun> runs = schedule(o, jobs);
+        addAnswer(answers, k, input.length, kth.get());
+        return runs;
+    }
+
+    /**
+     * Versão de {@link #runTopKInts} para textos (ignorando case).
+     */
+    private static List<SortRun> runTopKTexts(Options o, List<String> answers) throws IOException, UsageException {
+        Map<String, SortAlgorithms.Selection<String[]>> algorithms = select(SortAlgorithms.SELECTION_STRING_ALGORITHMS, o.algorithms);
+        String[] input;
+        if (o.input != null) {
+            input = SortingComparisonEnhanced.readTextsFromFile(o.input);
+        } else {
+            String[] spec = generatorSpec(o.generate);
+            int n = Integer.parseInt(spec[1]);
+            input = DataGenerators.strings(spec[0], n, o.seed, o.swaps >= 0 ? o.swaps : DataGenerators.defaultSwaps(n));
+        }
+        int k = SortingComparisonEnhanced.topKRank(o.topK, input.length);
+
+        AtomicReference<String> kth = new AtomicReference<>();
+        List<RunScheduler.Job<SortRun>> jobs = new ArrayList<>();
+        for (Map.Entry<String, SortAlgorithms.Selection<String[]>> entry : algorithms.entrySet()) {
+            String name = entry.getKey() + SortAlgorithms.TEXT_SUFFIX;
+            for (int r = 0; r < o.warmup + o.repetitions; r++) {
+                jobs.add(metrics -> {
+                    String[] copy = Arrays.copyOf(input, input.length);
+                    SortRun run = SortRun.ofSelectionStrings(name, copy, k, entry.getValue(), metrics);
+                    if (run.isSorted()) {
+                        kth.set(copy[k - 1]);
+                    }
+                    return run;
+                });
+            }
+        }
+        List<SortRun> runs = schedule(o, jobs);
+        addAnswer(answers, k, input.length, kth.get());
+        return runs;
+    }
+
+    private static void addAnswer(List<String> answers, int k, int n, String kth) {
+        if (kth != null) {
+            answers.add("Top-K: k = " + k + " de " + n + ", k-ésimo menor valor: " + kth);
+        }
+    }
+
+    /**
+     * Executa as execuções no modo de "--mode", cada uma com a sua cópia da
+     * entrada, e retorna os resultados na ordem da lista, sem os aquecimentos
+     * (as primeiras --warmup de cada bloco de --warmup + --repetitions).
+     */
+    private static List<SortRun> schedule(Options o, List<RunScheduler.Job<SortRun>> jobs) throws IOException {
+        SortRun[] results = new SortRun[jobs.size()];
+        try {
+            new RunScheduler(o.mode, o.threads).run(jobs, (index, run) -> results[index] = run);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        List<SortRun> runs = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (i % (o.warmup + o.repetitions) >= o.warmup) {
+                runs.add(results[i]);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Ordenações fora do heap de "--offheap". Com chaves geradas (memory:<n> ou
+     * --create) o segmento é preenchido de novo, com a mesma semente, antes de
+     * cada execução; o conteúdo de um arquivo existente só pode ser ordenado
+     * uma vez, por um único algoritmo.
+     */
+    private static List<SortRun> runOffHeap(Options o) throws IOException, UsageException {
+        Map<String, OffHeapSorts.SegmentSort> algorithms = select(o.longs ? OffHeapSorts.LONG_ALGORITHMS : OffHeapSorts.INT_ALGORITHMS, o.algorithms);
+        int shift = o.longs ? 3 : 2;
+        String type = o.longs ? SortEvents.LONG_TYPE : SortEvents.INT_TYPE;
+        boolean generated = o.offHeap.startsWith(OFF_HEAP_MEMORY) || o.create >= 0;
+        if (!generated && algorithms.size() * (o.warmup + o.repetitions) > 1) {
+            throw new UsageException("Um arquivo existente é ordenado no próprio lugar: escolha um algoritmo, sem repetições (ou use --create)");
+        }
+
+        try (OffHeapSegment segment = openOffHeap(o, shift)) {
+            long n = segment.byteSize() >> shift;
+            List<SortRun> runs = new ArrayList<>();
+            for (Map.Entry<String, OffHeapSorts.SegmentSort> entry : algorithms.entrySet()) {
+                for (int r = 0; r < o.warmup + o.repetitions; r++) {
+                    if (generated) {
+                        if (o.longs) {
+                            OffHeapSorts.fillUniformLongs(segment, n, o.seed);
+                        } else {
+                            OffHeapSorts.fillUniformInts(segment, n, o.seed);
+                        }
+                    }
+                    SortRun run = SortRun.ofSegment(entry.getKey(), type, segment, n, entry.getValue(), new SortMetrics());
+                    if (r >= o.warmup) {
+                        runs.add(run);
+                    }
+                }
+            }
+            return runs;
+        }
+    }
+
+    /**
+     * Segmento de "--offheap": memória direta para n chaves, o arquivo com
+     * espaço para as chaves de --create, ou o arquivo existente inteiro.
+     */
+    private static OffHeapSegment openOffHeap(Options o, int shift) throws IOException, UsageException {
+        if (o.offHeap.startsWith(OFF_HEAP_MEMORY)) {
+            long n = positiveLong(o.offHeap.substring(OFF_HEAP_MEMORY.length()), "--offheap", 0);
+            return OffHeapSegment.allocate(n << shift);
+        }
+        Path file = Path.of(o.offHeap);
+        if (o.create >= 0) {
+            return OffHeapSegment.map(file, o.create << shift);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("Arquivo não encontrado: " + file);
+        }
+        OffHeapSegment segment = OffHeapSegment.map(file, -1);
+        if ((segment.byteSize() & ((1 << shift) - 1)) != 0) {
+            segment.close();
+            throw new IOException("O tamanho de " + file + " (" + segment.byteSize() + " bytes) não é múltiplo de " + (1 << shift) + " bytes");
+        }
+        return segment;
+    }
+
+    /**
+     * Tabela alinhada com as mesmas colunas da interface gráfica. O tempo é o da
+     * versão sem instrumentação, quando houver; ao lado, o da versão que conta e a sobrecarga.
+     */
+    private static void writeTable(Writer out, List<SortRun> runs, String mode) {
+        PrintWriter pw = new PrintWriter(out);
+        String format = "%-40s %11s %12s %16s %10s %15s %15s %10s %24s %13s %16s %20s  %s%n";
+        pw.printf(format, "Algoritmo", "n", "Tempo (ms)", "Instrumentado (ms)", "Sobrecarga", "Comparações", "Trocas", "Passadas",
+                "Memória alocada (bytes)", "Coletas de GC", "Pausa de GC (ms)", "Pico de heap (bytes)", "Modo");
+        for (SortRun run : runs) {
+            SortMetrics m = run.getMetrics();
+            MemoryProbe.Usage memory = run.getMemory();
+            boolean paired = run.getInstrumentedMillis() >= 0;
+            pw.printf(format, run.getAlgorithm(), run.getSize(), String.format("%.3f", run.getTimeMillis()),
+                    paired ? String.format("%.3f", run.getInstrumentedMillis()) : "",
+                    paired && !Double.isNaN(run.getOverheadPercent()) ? String.format("%+.1f%%", run.getOverheadPercent()) : "",
+                    m.getComparisons(), m.getSwaps(), m.getPasses(), countOrBlank(memory.getAllocatedBytes()),
+                    countOrBlank(memory.getGcCount()), countOrBlank(memory.getGcPauseMillis()), countOrBlank(memory.getPeakHeapDeltaBytes()), mode);
+        }
+        pw.flush();
+    }
+
+    private static String countOrBlank(long value) {
+        return value >= 0 ? Long.toString(value) : "";
+    }
+
+    /**
+     * Ajuste das curvas de complexidade da varredura, após a tabela.
+     */
+    private static void writeFits(Writer out, List<String> fits) {
+        if (fits.isEmpty()) {
+            return;
+        }
+        PrintWriter pw = new PrintWriter(out);
+        pw.println();
+        pw.println("Escala medida (ajuste a n, n log n e n²):");
+        fits.forEach(line -> pw.println("  " + line));
+        pw.flush();
+    }
+
+    /**
+     * Resposta da consulta de top-k, após a tabela.
+     */
+    private static void writeAnswers(Writer out, List<String> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        PrintWriter pw = new PrintWriter(out);
+        pw.println();
+        answers.forEach(pw::println);
+        pw.flush();
+    }
+
+    /**
+     * Envolve a saída padrão sem fechá-la ao final do try-with-resources.
+     */
+    private static final class NonClosingWriter extends Writer {
+        private final Writer delegate;
+
+        NonClosingWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            delegate.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
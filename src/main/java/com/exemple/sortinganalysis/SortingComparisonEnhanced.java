@@ -1,55 +1,126 @@
 package com.exemple.sortinganalysis;
 
 import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
  * Classe utilitária que implementa algoritmos de ordenação para arrays de
- * inteiros e strings, com contadores estáticos para comparar número de
- * comparações e trocas. Também contém métodos para leitura de arquivos e
- * gravação de resultados exportáveis, encapsulando a lógica dos algoritmos
- * e métricas associadas.
+ * inteiros e strings, e consultas de top-k (seleção e ordenação parcial). Cada algoritmo recebe um {@link SortMetrics} próprio da
+ * execução, onde acumula o número de comparações e trocas. Também contém
+ * métodos para leitura de arquivos e gravação de resultados exportáveis,
+ * encapsulando a lógica dos algoritmos e métricas associadas.
  */
 
 public class SortingComparisonEnhanced {
 
-    // Variáveis estáticas globais para contagem de comparações e trocas
-    public static long comparacoes;
-    public static long trocas;
+    // Intervalos com até este tamanho são finalizados com Insertion Sort no Introsort
+    static final int INSERTION_SORT_CUTOFF = 16;
+    // Acima deste tamanho o pivô do Introsort é o ninther (mediana de três medianas)
+    static final int NINTHER_THRESHOLD = 128;
+    // Os Heap Sorts iterativos consultam o cancelamento a cada 4096 elementos extraídos
+    static final int CANCEL_CHECK_MASK = (1 << 12) - 1;
+    // Merge Sort natural: vitórias seguidas de um mesmo run antes de passar ao galope
+    static final int NATURAL_MERGE_GALLOP = 7;
+    // Maior intervalo de valores (max - min + 1) aceito pelo Counting Sort
+    public static final int COUNTING_SORT_MAX_RANGE = 1 << 20;
+    // Cabeçalho dos arquivos CSV de resultados (interface e linha de comando)
+    public static final String CSV_HEADER = "Algoritmo;n;Tempo (ms);Tempo instrumentado (ms);Comparacoes;Trocas;Passadas;Runs;Passadas de merge;Bytes E/S;Memoria alocada (bytes);Coletas de GC;Pausa de GC (ms);Pico de heap (bytes);Modo";
 
     /**
      * Lê um arquivo de texto contendo números, uma linha por número.
-     * Retorna um array de inteiros lido no arquivo.
+     * Retorna um array de inteiros lido no arquivo, carregado via
+     * {@link IntFileLoader} (arquivo mapeado em memória, sem boxing).
+     * @throws IntFileLoader.InvalidValueException se houver linha inválida (com linha e coluna)
      */
     public static int[] readDataFromFile(String filename) throws IOException {
-        List<Integer> numbers = new ArrayList<>();
+        return IntFileLoader.load(Paths.get(filename));
+    }
+
+    /**
+     * Lê um arquivo de texto linha a linha, ignorando linhas vazias e
+     * removendo espaços nas pontas de cada linha.
+     */
+    public static String[] readTextsFromFile(String filename) throws IOException {
+        List<String> lines = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             String line;
-            while((line = br.readLine()) != null) {
+            while ((line = br.readLine()) != null) {
                 line = line.trim();
-                if(!line.isEmpty()) {
-                    numbers.add(Integer.parseInt(line));
+                if (!line.isEmpty()) {
+                    lines.add(line);
                 }
             }
         }
-        return numbers.stream().mapToInt(i -> i).toArray();
+        return lines.toArray(new String[0]);
     }
 
     /**
      * Escreve os resultados de ordenação em formato CSV no arquivo especificado.
-     * Inclui colunas de algoritmo, tempo em ms, comparações e trocas.
+     * Inclui colunas de algoritmo, tamanho da entrada, tempo em ms (da versão sem
+     * instrumentação, quando houver, e da instrumentada), comparações, trocas, passadas
+     * e, para a ordenação externa, runs, passadas de merge e bytes de E/S, seguidas
+     * da memória: bytes alocados, coletas de lixo, tempo de coleta e pico do heap,
+     * e do modo de execução (sequencial isolado ou paralelo).
      */
     public static void writeResultsToCSV(String filename, List<ResultData> results) throws IOException {
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(filename))) {
-            bw.write("Algoritmo;Tempo (ms);Comparacoes;Trocas");
+            bw.write(CSV_HEADER);
             bw.newLine();
             for(ResultData r : results) {
-                bw.write(String.format("%s;%.3f;%d;%d", r.getAlgorithm(), r.getTimeMillis(), r.getComparisons(), r.getSwaps()));
+                bw.write(csvLine(r.getAlgorithm(), r.getSize(), r.getTimeMillis(), r.getInstrumentedMillis(), r.getComparisons(), r.getSwaps(), r.getPasses(),
+                        r.getRuns(), r.getMergePasses(), r.getIoBytes(),
+                        new MemoryProbe.Usage(r.getAllocatedBytes(), r.getGcCount(), r.getGcPauseMillis(), r.getPeakHeapDeltaBytes()), r.getMode()));
                 bw.newLine();
             }
         }
     }
 
+    /**
+     * Escreve execuções medidas ({@link SortRun}) no mesmo formato CSV de
+     * {@link #writeResultsToCSV}, sem depender de JavaFX (usado pela linha de comando).
+     * O {@code Writer} não é fechado.
+     */
+    public static void writeRunsToCSV(Writer out, List<SortRun> runs) throws IOException {
+        writeRunsToCSV(out, runs, RunScheduler.ISOLATED);
+    }
+
+    /**
+     * Como {@link #writeRunsToCSV(Writer, List)}, registrando o modo em que as
+     * execuções foram agendadas ({@link RunScheduler}).
+     */
+    public static void writeRunsToCSV(Writer out, List<SortRun> runs, String mode) throws IOException {
+        BufferedWriter bw = new BufferedWriter(out);
+        bw.write(CSV_HEADER);
+        bw.newLine();
+        for(SortRun r : runs) {
+            SortMetrics m = r.getMetrics();
+            bw.write(csvLine(r.getAlgorithm(), r.getSize(), r.getTimeMillis(), r.getInstrumentedMillis(), m.getComparisons(), m.getSwaps(), m.getPasses(),
+                    m.getRuns(), m.getMergePasses(), m.getIoBytes(), r.getMemory(), mode));
+            bw.newLine();
+        }
+        bw.flush();
+    }
+
+    /**
+     * Linha do CSV; o tempo instrumentado e as leituras de memória ficam vazios
+     * quando não medidos (valor negativo).
+     */
+    private static String csvLine(String algorithm, long size, double timeMillis, double instrumentedMillis, long comparisons,
+                                  long swaps, long passes, long runs, long mergePasses, long ioBytes, MemoryProbe.Usage memory,
+                                  String mode) {
+        String instrumented = instrumentedMillis >= 0 ? String.format("%.3f", instrumentedMillis) : "";
+        return String.format("%s;%d;%.3f;%s;%d;%d;%d;%d;%d;%d;%s;%s;%s;%s;%s", algorithm, size, timeMillis, instrumented, comparisons, swaps,
+                passes, runs, mergePasses, ioBytes, csvCount(memory.getAllocatedBytes()), csvCount(memory.getGcCount()),
+                csvCount(memory.getGcPauseMillis()), csvCount(memory.getPeakHeapDeltaBytes()), mode);
+    }
+
+    private static String csvCount(long value) {
+        return value >= 0 ? Long.toString(value) : "";
+    }
+
     // -----------------------------------------------------
     // Métodos de ordenação para arrays de inteiros:
 
@@ -57,14 +128,16 @@ public class SortingComparisonEnhanced {
      * Implementação do Bubble Sort para inteiros.
      * Conta comparações e trocas feitas.
      */
-    public static void bubbleSort(int[] arr) {
-        comparacoes = 0; trocas = 0;
+    public static void bubbleSort(int[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
         int n = arr.length;
         for(int i = 0; i < n - 1; i++) {
+            m.checkCancelled();
             for(int j = 0; j < n - 1 - i; j++) {
-                comparacoes++;
+                if(counting) comparacoes++;
                 if(arr[j] > arr[j+1]) {
-                    trocas++;
+                    if(counting) trocas++;
                     // Swap
                     int temp = arr[j];
                     arr[j] = arr[j+1];
@@ -72,18 +145,33 @@ public class SortingComparisonEnhanced {
                 }
             }
         }
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
     }
 
     /**
      * Implementação do Quick Sort para inteiros.
      * Método recursivo que usa o método partition para dividir.
+     * Emite um evento JFR com a profundidade máxima de recursão ({@link SortEvents}).
+     */
+    public static void quickSort(int[] arr, int low, int high, SortMetrics m) {
+        SortEvents.QuickSortEvent event = new SortEvents.QuickSortEvent();
+        event.begin();
+        int maxDepth = quickSort(arr, low, high, 0, m);
+        SortEvents.commitQuickSort(event, SortEvents.INT_TYPE, high - low + 1, maxDepth);
+    }
+
+    /**
+     * Recursão do Quick Sort; devolve a maior profundidade atingida a partir de {@code depth}.
      */
-    public static void quickSort(int[] arr, int low, int high) {
+    private static int quickSort(int[] arr, int low, int high, int depth, SortMetrics m) {
         if(low < high) {
-            int pi = partition(arr, low, high);
-            quickSort(arr, low, pi - 1);
-            quickSort(arr, pi + 1, high);
+            int pi = partition(arr, low, high, m);
+            int left = quickSort(arr, low, pi - 1, depth + 1, m);
+            int right = quickSort(arr, pi + 1, high, depth + 1, m);
+            return Math.max(left, right);
         }
+        return depth;
     }
 
     /**
@@ -91,36 +179,208 @@ public class SortingComparisonEnhanced {
      * Coloca elementos menores que pivô à esquerda e maiores à direita.
      * Conta comparações e trocas.
      */
-    private static int partition(int[] arr, int low, int high) {
+    private static int partition(int[] arr, int low, int high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        m.checkCancelled();
         int pivot = arr[high];
         int i = (low - 1);
+        long trocas = 0;
         for(int j = low; j < high; j++) {
-            comparacoes++;
             if(arr[j] <= pivot) {
                 i++;
-                trocas++;
+                if(counting) trocas++;
                 int temp = arr[i];
                 arr[i] = arr[j];
                 arr[j] = temp;
             }
         }
-        trocas++;
+        if(counting) m.comparacoes += high - low;
+        if(counting) m.trocas += trocas + 1;
         int temp = arr[i+1];
         arr[i+1] = arr[high];
         arr[high] = temp;
         return i+1;
     }
 
+    /**
+     * Quick Sort com partição em três vias (Bentley-McIlroy). Elementos
+     * iguais ao pivô são acumulados nas pontas durante a varredura e trazidos
+     * para o centro no final, saindo da recursão; em entradas com poucos
+     * valores distintos o custo cai para perto de O(n). Pivô pela mediana de
+     * três, Insertion Sort em intervalos pequenos e recursão no lado menor.
+     */
+    public static void quickSort3Way(int[] arr, SortMetrics m) {
+        quickSort3Way(arr, 0, arr.length - 1, m);
+    }
+
+    private static void quickSort3Way(int[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            // Amostras nos quartis: as pontas do intervalo ficam fora, pois a troca
+            // final da partição anterior costuma deixar um extremo em arr[lo]
+            int quarter = (hi - lo + 1) >>> 2;
+            int pivotIndex = medianOfThree(arr, lo + quarter, lo + ((hi - lo) >>> 1), hi - quarter, m);
+            int temp = arr[lo];
+            arr[lo] = arr[pivotIndex];
+            arr[pivotIndex] = temp;
+            int v = arr[lo];
+            long comparacoes = 0, trocas = 1;
+
+            // Invariante: arr[lo..p] == v, arr[p+1..i-1] < v, arr[j+1..q-1] > v, arr[q..hi] == v
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            while(true) {
+                while(true) {
+                    i++;
+                    if(counting) comparacoes++;
+                    if(!(arr[i] < v) || i == hi) break;
+                }
+                while(true) {
+                    j--;
+                    if(counting) comparacoes++;
+                    if(!(v < arr[j]) || j == lo) break;
+                }
+                if(i == j) {
+                    if(counting) comparacoes++;
+                    if(arr[i] == v) {
+                        p++;
+                        if(counting) trocas++;
+                        temp = arr[p]; arr[p] = arr[i]; arr[i] = temp;
+                    }
+                }
+                if(i >= j) break;
+                if(counting) trocas++;
+                temp = arr[i]; arr[i] = arr[j]; arr[j] = temp;
+                if(counting) comparacoes += 2;
+                if(arr[i] == v) {
+                    p++;
+                    if(counting) trocas++;
+                    temp = arr[p]; arr[p] = arr[i]; arr[i] = temp;
+                }
+                if(arr[j] == v) {
+                    q--;
+                    if(counting) trocas++;
+                    temp = arr[q]; arr[q] = arr[j]; arr[j] = temp;
+                }
+            }
+
+            // Traz os iguais das pontas para o centro
+            i = j + 1;
+            for(int k = lo; k <= p; k++) {
+                if(counting) trocas++;
+                temp = arr[k]; arr[k] = arr[j]; arr[j--] = temp;
+            }
+            for(int k = hi; k >= q; k--) {
+                if(counting) trocas++;
+                temp = arr[k]; arr[k] = arr[i]; arr[i++] = temp;
+            }
+            m.comparacoes += comparacoes;
+            m.trocas += trocas;
+
+            // Agora arr[lo..j] < v e arr[i..hi] > v
+            if(j - lo < hi - i) {
+                quickSort3Way(arr, lo, j, m);
+                lo = i;
+            } else {
+                quickSort3Way(arr, i, hi, m);
+                hi = j;
+            }
+        }
+        insertionSortRange(arr, lo, hi, m);
+    }
+
+    /**
+     * Quick Sort dual-pivot (Yaroslavskiy). Dois pivôs, tirados nos
+     * tercis do intervalo, dividem o array em três partes (< p, entre p e q,
+     * > q) numa única varredura. Quando p == q a parte do meio é toda igual
+     * e não é ordenada de novo, o que favorece entradas com muitas repetições.
+     */
+    public static void dualPivotQuickSort(int[] arr, SortMetrics m) {
+        dualPivotQuickSort(arr, 0, arr.length - 1, m);
+    }
+
+    private static void dualPivotQuickSort(int[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            long comparacoes = 0, trocas = 2;
+            int third = (hi - lo) / 3;
+            int temp = arr[lo]; arr[lo] = arr[lo + third]; arr[lo + third] = temp;
+            temp = arr[hi]; arr[hi] = arr[hi - third]; arr[hi - third] = temp;
+            if(counting) comparacoes++;
+            if(arr[hi] < arr[lo]) {
+                if(counting) trocas++;
+                temp = arr[lo]; arr[lo] = arr[hi]; arr[hi] = temp;
+            }
+            int p = arr[lo], q = arr[hi];
+
+            int lt = lo + 1, gt = hi - 1, k = lt;
+            while(k <= gt) {
+                if(counting) comparacoes++;
+                if(arr[k] < p) {
+                    if(counting) trocas++;
+                    temp = arr[k]; arr[k] = arr[lt]; arr[lt++] = temp;
+                } else {
+                    if(counting) comparacoes++;
+                    if(q < arr[k]) {
+                        while(k < gt) {
+                            if(counting) comparacoes++;
+                            if(!(q < arr[gt])) break;
+                            gt--;
+                        }
+                        if(counting) trocas++;
+                        temp = arr[k]; arr[k] = arr[gt]; arr[gt--] = temp;
+                        if(counting) comparacoes++;
+                        if(arr[k] < p) {
+                            if(counting) trocas++;
+                            temp = arr[k]; arr[k] = arr[lt]; arr[lt++] = temp;
+                        }
+                    }
+                }
+                k++;
+            }
+            lt--;
+            gt++;
+            if(counting) trocas += 2;
+            temp = arr[lo]; arr[lo] = arr[lt]; arr[lt] = temp;
+            temp = arr[hi]; arr[hi] = arr[gt]; arr[gt] = temp;
+            if(counting) comparacoes++;
+            boolean samePivots = p == q;
+            m.comparacoes += comparacoes;
+            m.trocas += trocas;
+
+            // Partes: [lo, lt-1] < p, [lt+1, gt-1] entre p e q, [gt+1, hi] > q.
+            // As duas menores vão para a recursão e a maior continua no laço.
+            int leftSize = lt - lo, midSize = samePivots ? 0 : gt - lt - 1, rightSize = hi - gt;
+            if(leftSize >= midSize && leftSize >= rightSize) {
+                if(!samePivots) dualPivotQuickSort(arr, lt + 1, gt - 1, m);
+                dualPivotQuickSort(arr, gt + 1, hi, m);
+                hi = lt - 1;
+            } else if(rightSize >= midSize) {
+                dualPivotQuickSort(arr, lo, lt - 1, m);
+                if(!samePivots) dualPivotQuickSort(arr, lt + 1, gt - 1, m);
+                lo = gt + 1;
+            } else {
+                dualPivotQuickSort(arr, lo, lt - 1, m);
+                dualPivotQuickSort(arr, gt + 1, hi, m);
+                lo = lt + 1;
+                hi = gt - 1;
+            }
+        }
+        insertionSortRange(arr, lo, hi, m);
+    }
+
     /**
      * Implementação do Merge Sort para inteiros, método recursivo.
      * Divide o array recursivamente e mescla as partes ordenadas.
      */
-    public static void mergeSort(int[] arr, int left, int right) {
+    public static void mergeSort(int[] arr, int left, int right, SortMetrics m) {
         if(left < right) {
             int mid = (left + right) / 2;
-            mergeSort(arr, left, mid);
-            mergeSort(arr, mid + 1, right);
-            merge(arr, left, mid, right);
+            mergeSort(arr, left, mid, m);
+            mergeSort(arr, mid + 1, right, m);
+            merge(arr, left, mid, right, m);
         }
     }
 
@@ -128,7 +388,8 @@ public class SortingComparisonEnhanced {
      * Faz a mesclagem das duas metades do array para o Merge Sort,
      * contando comparações e trocas no processo.
      */
-    private static void merge(int[] arr, int left, int mid, int right) {
+    private static void merge(int[] arr, int left, int mid, int right, SortMetrics m) {
+        final boolean counting = m.isCounting();
         int n1 = mid - left + 1;
         int n2 = right - mid;
 
@@ -139,257 +400,2107 @@ public class SortingComparisonEnhanced {
         System.arraycopy(arr, mid + 1, R, 0, n2);
 
         int i = 0, j = 0, k = left;
+        long comparacoes = 0;
 
         while(i < n1 && j < n2) {
-            comparacoes++;
+            if(counting) comparacoes++;
             if(L[i] <= R[j]) {
                 arr[k++] = L[i++];
-                trocas++;
             } else {
                 arr[k++] = R[j++];
-                trocas++;
             }
         }
 
         while(i < n1) {
             arr[k++] = L[i++];
-            trocas++;
         }
 
         while(j < n2) {
             arr[k++] = R[j++];
-            trocas++;
         }
+
+        // Cada elemento das duas metades é movido uma vez de volta para arr
+        m.comparacoes += comparacoes;
+        if(counting) m.trocas += n1 + n2;
+    }
+
+    /**
+     * Merge Sort sem alocações por mesclagem: usa um único buffer
+     * auxiliar, alocado uma vez no início, e alterna origem e destino a cada
+     * nível da recursão, de modo que não há cópias de volta nem arrays L/R.
+     */
+    public static void mergeSortBuffered(int[] arr, SortMetrics m) {
+        mergeSortBuffered(arr, new int[arr.length], m);
+    }
+
+    /**
+     * Variante que recebe o buffer auxiliar do chamador (tamanho >= arr.length),
+     * permitindo reutilizá-lo entre ordenações sem nenhuma alocação.
+     */
+    public static void mergeSortBuffered(int[] arr, int[] buffer, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(buffer.length < arr.length) {
+            throw new IllegalArgumentException("Buffer menor que o array: " + buffer.length + " < " + arr.length);
+        }
+        if(arr.length < 2) return;
+        System.arraycopy(arr, 0, buffer, 0, arr.length);
+        if(counting) m.trocas += arr.length;
+        mergeSortBuffered(buffer, arr, 0, arr.length - 1, m);
+    }
+
+    /**
+     * Ordena dst[left..right] usando src como área auxiliar. Requer que src e
+     * dst tenham o mesmo conteúdo no intervalo; as metades são ordenadas em src
+     * (papéis invertidos) e mescladas de volta em dst.
+     */
+    static void mergeSortBuffered(int[] src, int[] dst, int left, int right, SortMetrics m) {
+        if(left < right) {
+            int mid = (left + right) >>> 1;
+            mergeSortBuffered(dst, src, left, mid, m);
+            mergeSortBuffered(dst, src, mid + 1, right, m);
+            mergeInto(src, dst, left, mid, right, m);
+        }
+    }
+
+    /**
+     * Mescla src[left..mid] e src[mid+1..right] em dst[left..right].
+     */
+    private static void mergeInto(int[] src, int[] dst, int left, int mid, int right, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int i = left, j = mid + 1, k = left;
+        long comparacoes = 0;
+
+        while(i <= mid && j <= right) {
+            if(counting) comparacoes++;
+            if(src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+
+        while(i <= mid) {
+            dst[k++] = src[i++];
+        }
+
+        while(j <= right) {
+            dst[k++] = src[j++];
+        }
+
+        m.comparacoes += comparacoes;
+        if(counting) m.trocas += right - left + 1;
+    }
+
+    /**
+     * Merge Sort natural no estilo TimSort para inteiros. Separa a entrada nos
+     * trechos já ordenados (runs; os estritamente decrescentes são invertidos) e
+     * estende os runs curtos até minrun com Insertion Sort binário. Depois mescla
+     * os runs vizinhos dois a dois, em passadas que alternam entre o array e um
+     * buffer; quando um lado vence {@link #NATURAL_MERGE_GALLOP} vezes seguidas, a
+     * mesclagem passa ao galope (busca exponencial) e copia o bloco inteiro.
+     * Estável; O(n) em entradas já ordenadas e O(n log r) com r runs. Conta
+     * comparações, movimentações e runs.
+     */
+    public static void timSort(int[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+        if(n < 2) return;
+        int minRun = naturalMergeMinRun(n);
+        // Início de cada run, com n como sentinela depois do último
+        int[] starts = new int[n / minRun + 2];
+        int runCount = 0;
+        for(int lo = 0; lo < n; ) {
+            m.checkCancelled();
+            int hi = naturalRunEnd(arr, lo, n, m);
+            int target = Math.min(n, lo + minRun);
+            if(hi < target) {
+                naturalInsertionSort(arr, lo, hi, target, m);
+                hi = target;
+            }
+            if(counting) m.runs++;
+            starts[runCount++] = lo;
+            lo = hi;
+        }
+        starts[runCount] = n;
+
+        int[] src = arr;
+        int[] dst = new int[n];
+        while(runCount > 1) {
+            m.checkCancelled();
+            int merged = 0;
+            for(int r = 0; r < runCount; r += 2) {
+                int lo = starts[r];
+                if(r + 1 < runCount) {
+                    naturalMerge(src, lo, starts[r + 1], starts[r + 2], dst, m);
+                } else {
+                    // Run sem par nesta passada: só muda de lado
+                    System.arraycopy(src, lo, dst, lo, n - lo);
+                    if(counting) m.trocas += n - lo;
+                }
+                starts[merged++] = lo;
+            }
+            starts[merged] = n;
+            runCount = merged;
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if(src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+            if(counting) m.trocas += n;
+        }
+    }
+
+    /**
+     * minrun do Merge Sort natural para n elementos: os 5 bits mais altos de n
+     * (de 16 a 32), mais 1 quando sobra algum bit ligado abaixo deles. Assim o
+     * número de runs fica numa potência de 2 ou logo abaixo, e as passadas de
+     * mesclagem ficam equilibradas. Abaixo de 32 elementos, um único run.
+     */
+    static int naturalMergeMinRun(int n) {
+        int shift = 27 - Integer.numberOfLeadingZeros(n);
+        if(shift <= 0) return n;
+        int rest = n & ((1 << shift) - 1);
+        return (n >>> shift) + (rest != 0 ? 1 : 0);
+    }
+
+    /**
+     * Fim (exclusivo) do run que começa em lo. Um run estritamente decrescente é
+     * invertido no lugar; exigir a queda estrita mantém a estabilidade.
+     */
+    private static int naturalRunEnd(int[] arr, int lo, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int hi = lo + 1;
+        if(hi == n) return hi;
+        if(counting) m.comparacoes++;
+        if(arr[hi++] < arr[lo]) {
+            while(hi < n) {
+                if(counting) m.comparacoes++;
+                if(arr[hi] >= arr[hi - 1]) break;
+                hi++;
+            }
+            if(counting) m.trocas += (hi - lo) / 2;
+            for(int i = lo, j = hi - 1; i < j; i++, j--) {
+                int temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        } else {
+            while(hi < n) {
+                if(counting) m.comparacoes++;
+                if(arr[hi] < arr[hi - 1]) break;
+                hi++;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * Insertion Sort com busca binária: insere cada elemento de arr[sorted..hi)
+     * no trecho arr[lo..sorted), já ordenado, depois dos iguais (estável).
+     */
+    private static void naturalInsertionSort(int[] arr, int lo, int sorted, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        for(int i = sorted; i < hi; i++) {
+            int x = arr[i];
+            int left = lo;
+            int right = i;
+            while(left < right) {
+                int mid = (left + right) >>> 1;
+                if(counting) m.comparacoes++;
+                if(x < arr[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            if(counting) m.trocas += i - left;
+            System.arraycopy(arr, left, arr, left + 1, i - left);
+            arr[left] = x;
+        }
+    }
+
+    /**
+     * Mescla os runs src[lo..mid) e src[mid..hi) em dst[lo..hi). Runs que já estão
+     * em ordem são copiados com uma única comparação. Depois de
+     * {@link #NATURAL_MERGE_GALLOP} vitórias seguidas do mesmo run, o galope
+     * encontra até onde ele continua vencendo e copia o bloco de uma vez. Em
+     * empate vence o run da esquerda (estável).
+     */
+    private static void naturalMerge(int[] src, int lo, int mid, int hi, int[] dst, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(counting) {
+            m.comparacoes++;
+            m.trocas += hi - lo;
+        }
+        if(src[mid - 1] <= src[mid]) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        int leftWins = 0;
+        int rightWins = 0;
+        while(i < mid && j < hi) {
+            if(counting) m.comparacoes++;
+            if(src[j] < src[i]) {
+                dst[k++] = src[j++];
+                leftWins = 0;
+                if(++rightWins == NATURAL_MERGE_GALLOP && j < hi) {
+                    // Bloco da direita estritamente menor que src[i]
+                    int end = gallopEnd(src, j, hi, src[i], false, m);
+                    System.arraycopy(src, j, dst, k, end - j);
+                    k += end - j;
+                    j = end;
+                    rightWins = 0;
+                }
+            } else {
+                dst[k++] = src[i++];
+                rightWins = 0;
+                if(++leftWins == NATURAL_MERGE_GALLOP && i < mid) {
+                    // Bloco da esquerda menor ou igual a src[j]
+                    int end = gallopEnd(src, i, mid, src[j], true, m);
+                    System.arraycopy(src, i, dst, k, end - i);
+                    k += end - i;
+                    i = end;
+                    leftWins = 0;
+                }
+            }
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Primeiro índice de a[from..to), ordenado, que não vem antes de key: com
+     * inclusive, os iguais a key vêm antes; sem, ficam depois. Sonda from, from+1,
+     * from+3, from+7... até passar de key e termina com busca binária no último
+     * salto: O(log d) comparações para um bloco de d elementos.
+     */
+    private static int gallopEnd(int[] a, int from, int to, int key, boolean inclusive, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int low = from;
+        int high = to;
+        for(int step = 1; step > 0 && step <= to - from; step <<= 1) {
+            int probe = from + step - 1;
+            if(counting) m.comparacoes++;
+            if(inclusive ? a[probe] <= key : a[probe] < key) {
+                low = probe + 1;
+            } else {
+                high = probe;
+                break;
+            }
+        }
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(counting) m.comparacoes++;
+            if(inclusive ? a[mid] <= key : a[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     /**
      * Implementação do Heap Sort para inteiros.
      * Constroi um heap máximo e extrai os elementos ordenados.
+     * Cada fase emite um evento JFR ({@link SortEvents}).
      */
-    public static void heapSort(int[] arr) {
-        comparacoes = 0; trocas = 0;
+    public static void heapSort(int[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
         int n = arr.length;
 
         // Constroi a heap (max heap)
+        SortEvents.HeapPhaseEvent build = SortEvents.beginHeapPhase(SortEvents.HEAP_BUILD, SortEvents.INT_TYPE, n, m);
         for(int i = n / 2 - 1; i >= 0; i--) {
-            heapify(arr, n, i);
+            heapify(arr, n, i, m);
         }
+        SortEvents.endHeapPhase(build, m);
 
         // Extrai os elementos um a um da heap
+        SortEvents.HeapPhaseEvent extract = SortEvents.beginHeapPhase(SortEvents.HEAP_EXTRACT, SortEvents.INT_TYPE, n, m);
         for(int i = n - 1; i >= 0; i--) {
-            trocas++;
+            if(counting) m.trocas++;
             int temp = arr[0];
             arr[0] = arr[i];
             arr[i] = temp;
 
-            heapify(arr, i, 0);
+            heapify(arr, i, 0, m);
         }
+        SortEvents.endHeapPhase(extract, m);
     }
 
     /**
      * Refaz o heap para manter a propriedade depois da troca.
      * Contabiliza comparações e trocas.
      */
-    private static void heapify(int[] arr, int n, int i) {
+    private static void heapify(int[] arr, int n, int i, SortMetrics m) {
+        final boolean counting = m.isCounting();
         int largest = i;
         int left = 2 * i + 1;
         int right = 2 * i + 2;
 
         if(left < n) {
-            comparacoes++;
+            if(counting) m.comparacoes++;
             if(arr[left] > arr[largest]) {
                 largest = left;
             }
         }
 
         if(right < n) {
-            comparacoes++;
+            if(counting) m.comparacoes++;
             if(arr[right] > arr[largest]) {
                 largest = right;
             }
         }
 
         if(largest != i) {
-            trocas++;
+            if(counting) m.trocas++;
             int swap = arr[i];
             arr[i] = arr[largest];
             arr[largest] = swap;
 
-            heapify(arr, n, largest);
+            heapify(arr, n, largest, m);
         }
     }
 
     /**
-     * Verifica se o array de inteiros está ordenado de forma crescente.
+     * Heap Sort bottom-up (Floyd/Wegener) para inteiros, iterativo. Na descida o
+     * elemento vai direto até uma folha seguindo o maior filho (uma comparação
+     * por nível) e depois sobe até a posição correta, que costuma ficar perto da
+     * folha: cerca de n log n comparações, metade das 2 n log n do {@link #heapSort}.
+     * Cada fase emite um evento JFR ({@link SortEvents}).
      */
-    public static boolean isSorted(int[] arr) {
-        for(int i = 0; i < arr.length - 1; i++) {
-            if(arr[i] > arr[i+1]) return false;
+    public static void bottomUpHeapSort(int[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+
+        SortEvents.HeapPhaseEvent build = SortEvents.beginHeapPhase(SortEvents.HEAP_BUILD, SortEvents.INT_TYPE, n, m);
+        for(int i = n / 2 - 1; i >= 0; i--) {
+            bottomUpSiftDown(arr, i, n, m);
         }
-        return true;
-    }
+        SortEvents.endHeapPhase(build, m);
 
-    // -----------------------------------------------------
-    // Versões para arrays de String[], similares às anteriores,
-    // com comparação ignorando case para ordenar alfabeticamente
+        SortEvents.HeapPhaseEvent extract = SortEvents.beginHeapPhase(SortEvents.HEAP_EXTRACT, SortEvents.INT_TYPE, n, m);
+        for(int end = n - 1; end > 0; end--) {
+            if((end & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.trocas++;
+            int temp = arr[0];
+            arr[0] = arr[end];
+            arr[end] = temp;
+            bottomUpSiftDown(arr, 0, end, m);
+        }
+        SortEvents.endHeapPhase(extract, m);
+    }
 
     /**
-     * Bubble Sort para strings, incrementa comparações e trocas.
+     * Reposiciona o elemento da posição i numa max heap de tamanho n: desce até
+     * uma folha pelo maior filho, sobe até achar um elemento maior ou igual e
+     * desloca o caminho percorrido um nível para cima.
      */
-    public static void bubbleSortStrings(String[] arr) {
-        comparacoes = 0; trocas = 0;
-        int n = arr.length;
-        for(int i = 0; i < n - 1; i++) {
-            for(int j = 0; j < n - 1 - i; j++) {
-                comparacoes++;
-                if(arr[j].compareToIgnoreCase(arr[j+1]) > 0) {
-                    trocas++;
-                    String temp = arr[j];
-                    arr[j] = arr[j+1];
-                    arr[j+1] = temp;
-                }
+    private static void bottomUpSiftDown(int[] arr, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        int value = arr[i];
+        int j = i;
+        int child;
+        while((child = 2 * j + 1) < n) {
+            if(child + 1 < n) {
+                if(counting) comparacoes++;
+                if(arr[child] < arr[child + 1]) child++;
             }
+            j = child;
+        }
+        while(j > i) {
+            if(counting) comparacoes++;
+            if(!(value > arr[j])) break;
+            j = (j - 1) >>> 1;
+        }
+        int carried = value;
+        while(j > i) {
+            int temp = arr[j];
+            arr[j] = carried;
+            carried = temp;
+            if(counting) trocas++;
+            j = (j - 1) >>> 1;
         }
+        arr[i] = carried;
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
     }
 
     /**
-     * Quick Sort para strings, método recursivo usando partitionStrings.
+     * Heap Sort com heap 4-ário para inteiros, iterativo. Os quatro filhos de i
+     * ({@code 4i+1..4i+4}) são vizinhos na memória, então cada nível lê uma
+     * única região contígua e a altura cai pela metade (log4 n), trocando
+     * falhas de cache por mais comparações por nível (até quatro).
+     * Cada fase emite um evento JFR ({@link SortEvents}).
      */
-    public static void quickSortStrings(String[] arr, int low, int high) {
-        if(low < high) {
-            int pi = partitionStrings(arr, low, high);
-            quickSortStrings(arr, low, pi - 1);
-            quickSortStrings(arr, pi + 1, high);
+    public static void fourAryHeapSort(int[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+
+        SortEvents.HeapPhaseEvent build = SortEvents.beginHeapPhase(SortEvents.HEAP_BUILD, SortEvents.INT_TYPE, n, m);
+        for(int i = (n - 2) >> 2; i >= 0; i--) {
+            fourArySiftDown(arr, i, n, m);
         }
+        SortEvents.endHeapPhase(build, m);
+
+        SortEvents.HeapPhaseEvent extract = SortEvents.beginHeapPhase(SortEvents.HEAP_EXTRACT, SortEvents.INT_TYPE, n, m);
+        for(int end = n - 1; end > 0; end--) {
+            if((end & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.trocas++;
+            int temp = arr[0];
+            arr[0] = arr[end];
+            arr[end] = temp;
+            fourArySiftDown(arr, 0, end, m);
+        }
+        SortEvents.endHeapPhase(extract, m);
     }
 
     /**
-     * Particiona array de strings para Quick Sort considerando case ignorado,
-     * atualizando contadores.
+     * Desce o elemento da posição i numa max heap 4-ária de tamanho n.
      */
-    private static int partitionStrings(String[] arr, int low, int high) {
-        String pivot = arr[high];
-        int i = (low - 1);
-        for(int j = low; j < high; j++) {
-            comparacoes++;
-            if(arr[j].compareToIgnoreCase(pivot) <= 0) {
-                i++;
-                trocas++;
-                String temp = arr[i];
-                arr[i] = arr[j];
-                arr[j] = temp;
+    private static void fourArySiftDown(int[] arr, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        int value = arr[i];
+        int child;
+        while((child = 4 * i + 1) < n) {
+            int last = Math.min(child + 4, n);
+            int largest = child;
+            for(int c = child + 1; c < last; c++) {
+                if(counting) comparacoes++;
+                if(arr[c] > arr[largest]) largest = c;
             }
+            if(counting) comparacoes++;
+            if(!(arr[largest] > value)) break;
+            arr[i] = arr[largest];
+            if(counting) trocas++;
+            i = largest;
         }
-        trocas++;
-        String temp = arr[i+1];
-        arr[i+1] = arr[high];
-        arr[high] = temp;
-        return i+1;
+        arr[i] = value;
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
     }
 
     /**
-     * Merge Sort para strings, recursivo, chamando mergeStrings.
+     * Introsort para inteiros: Quick Sort endurecido para uso em produção.
+     * Pivô pela mediana de três (ou ninther em intervalos grandes), partição de
+     * Hoare, Insertion Sort em intervalos pequenos, recursão apenas no lado
+     * menor (pilha O(log n)) e Heap Sort quando a profundidade passa de 2·log n,
+     * garantindo O(n log n) mesmo em entradas ordenadas ou invertidas.
      */
-    public static void mergeSortStrings(String[] arr, int left, int right) {
-        if(left < right) {
-            int mid = (left + right) / 2;
-            mergeSortStrings(arr, left, mid);
-            mergeSortStrings(arr, mid + 1, right);
-            mergeStrings(arr, left, mid, right);
-        }
+    public static void introSort(int[] arr, SortMetrics m) {
+        if(arr.length < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        introSort(arr, 0, arr.length - 1, depthLimit, m);
     }
 
     /**
-     * Mescla as partes do vetor string para ordenação,
-     * contabilizando comparações e trocas.
+     * Laço principal do Introsort sobre arr[lo..hi] (inclusivo).
      */
-    private static void mergeStrings(String[] arr, int left, int mid, int right) {
-        int n1 = mid - left + 1;
-        int n2 = right - mid;
-
-        String[] L = new String[n1];
-        String[] R = new String[n2];
+    private static void introSort(int[] arr, int lo, int hi, int depthLimit, SortMetrics m) {
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            if(depthLimit == 0) {
+                heapSortRange(arr, lo, hi, m);
+                return;
+            }
+            depthLimit--;
+            int p = hoarePartition(arr, lo, hi, m);
+            // Recursão no lado menor, iteração no maior
+            if(p - lo < hi - p) {
+                introSort(arr, lo, p, depthLimit, m);
+                lo = p + 1;
+            } else {
+                introSort(arr, p + 1, hi, depthLimit, m);
+                hi = p;
+            }
+        }
+        insertionSortRange(arr, lo, hi, m);
+    }
 
-        System.arraycopy(arr, left, L, 0, n1);
-        System.arraycopy(arr, mid + 1, R, 0, n2);
+    /**
+     * Partição de Hoare com o pivô (mediana de três ou ninther) movido para arr[lo].
+     * Retorna j tal que arr[lo..j] <= pivô <= arr[j+1..hi], com lo <= j < hi.
+     */
+    private static int hoarePartition(int[] arr, int lo, int hi, SortMetrics m) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int pivotIndex;
+        if(n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            int a = medianOfThree(arr, lo, lo + s, lo + 2 * s, m);
+            int b = medianOfThree(arr, mid - s, mid, mid + s, m);
+            int c = medianOfThree(arr, hi - 2 * s, hi - s, hi, m);
+            pivotIndex = medianOfThree(arr, a, b, c, m);
+        } else {
+            pivotIndex = medianOfThree(arr, lo, mid, hi, m);
+        }
+        return hoarePartitionAt(arr, lo, hi, pivotIndex, m);
+    }
 
-        int i = 0, j = 0, k = left;
+    /**
+     * Partição de Hoare de arr[lo..hi] em torno de arr[pivotIndex], movido para arr[lo].
+     */
+    private static int hoarePartitionAt(int[] arr, int lo, int hi, int pivotIndex, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int temp = arr[lo];
+        arr[lo] = arr[pivotIndex];
+        arr[pivotIndex] = temp;
+        long comparacoes = 0, trocas = 1;
 
-        while(i < n1 && j < n2) {
-            comparacoes++;
-            if(L[i].compareToIgnoreCase(R[j]) <= 0) {
-                arr[k++] = L[i++];
-                trocas++;
-            } else {
-                arr[k++] = R[j++];
-                trocas++;
+        int pivot = arr[lo];
+        int i = lo - 1, j = hi + 1;
+        while(true) {
+            do {
+                i++;
+                if(counting) comparacoes++;
+            } while(arr[i] < pivot);
+            do {
+                j--;
+                if(counting) comparacoes++;
+            } while(arr[j] > pivot);
+            if(i >= j) {
+                m.comparacoes += comparacoes;
+                m.trocas += trocas;
+                return j;
             }
+            if(counting) trocas++;
+            temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
         }
+    }
 
-        while(i < n1) {
-            arr[k++] = L[i++];
-            trocas++;
+    /**
+     * Retorna o índice do valor mediano entre arr[a], arr[b] e arr[c].
+     */
+    private static int medianOfThree(int[] arr, int a, int b, int c, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(counting) m.comparacoes += 2;
+        if(arr[a] < arr[b]) {
+            if(arr[b] < arr[c]) return b;
+            if(counting) m.comparacoes++;
+            return arr[a] < arr[c] ? c : a;
+        } else {
+            if(arr[a] < arr[c]) return a;
+            if(counting) m.comparacoes++;
+            return arr[b] < arr[c] ? c : b;
         }
+    }
 
-        while(j < n2) {
-            arr[k++] = R[j++];
-            trocas++;
+    /**
+     * Insertion Sort em arr[lo..hi], usado nos intervalos pequenos do Introsort.
+     */
+    private static void insertionSortRange(int[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        for(int i = lo + 1; i <= hi; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while(j >= lo) {
+                if(counting) comparacoes++;
+                if(!(arr[j] > key)) break;
+                arr[j + 1] = arr[j];
+                if(counting) trocas++;
+                j--;
+            }
+            arr[j + 1] = key;
         }
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
     }
 
     /**
-     * Heap Sort para array de strings, usa heapifyStrings.
+     * Heap Sort iterativo em arr[lo..hi], fallback do Introsort quando a
+     * recursão fica profunda demais.
      */
-    public static void heapSortStrings(String[] arr) {
-        comparacoes = 0; trocas = 0;
-        int n = arr.length;
-
-        // Constroi heap
+    private static void heapSortRange(int[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = hi - lo + 1;
         for(int i = n / 2 - 1; i >= 0; i--) {
-            heapifyStrings(arr, n, i);
+            siftDown(arr, lo, i, n, m);
         }
-
-        // Remove elemento da heap um por um
-        for(int i = n - 1; i >= 0; i--) {
-            trocas++;
-            String temp = arr[0];
-            arr[0] = arr[i];
-            arr[i] = temp;
-
-            heapifyStrings(arr, i, 0);
+        for(int end = n - 1; end > 0; end--) {
+            if(counting) m.trocas++;
+            int temp = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = temp;
+            siftDown(arr, lo, 0, end, m);
         }
     }
 
     /**
-     * Reorganiza o heap para manter a propriedade máxima,
-     * aplicando para array de strings e contabilizando métricas.
+     * Desce o elemento da posição i (relativa a lo) numa max heap de tamanho n.
      */
-    private static void heapifyStrings(String[] arr, int n, int i) {
-        int largest = i;
-        int left = 2 * i + 1;
-        int right = 2 * i + 2;
-
-        if(left < n) {
-            comparacoes++;
-            if(arr[left].compareToIgnoreCase(arr[largest]) > 0) {
-                largest = left;
+    private static void siftDown(int[] arr, int lo, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int value = arr[lo + i];
+        int child;
+        while((child = 2 * i + 1) < n) {
+            if(child + 1 < n) {
+                if(counting) m.comparacoes++;
+                if(arr[lo + child] < arr[lo + child + 1]) child++;
             }
+            if(counting) m.comparacoes++;
+            if(!(arr[lo + child] > value)) break;
+            arr[lo + i] = arr[lo + child];
+            if(counting) m.trocas++;
+            i = child;
         }
+        arr[lo + i] = value;
+    }
 
-        if(right < n) {
-            comparacoes++;
-            if(arr[right].compareToIgnoreCase(arr[largest]) > 0) {
-                largest = right;
+    /**
+     * Introselect para inteiros: reorganiza o array de modo que arr[k] fique na
+     * posição que teria após a ordenação, com arr[0..k) <= arr[k] <= arr(k..n),
+     * e retorna arr[k] (o (k+1)-ésimo menor valor). Os k maiores valores ficam
+     * em arr[n-k..n) com {@code introSelect(arr, n - k, m)}.
+     * Quickselect com a partição de Hoare do Introsort, seguindo apenas o lado
+     * que contém k: O(n) em média. Quando a profundidade passa de 2·log n, o pivô
+     * passa a ser a mediana das medianas, limitando também o pior caso a O(n).
+     */
+    public static int introSelect(int[] arr, int k, SortMetrics m) {
+        if(k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("Posição fora do array: " + k + " (n = " + arr.length + ")");
+        }
+        select(arr, 0, arr.length - 1, k, 2 * (31 - Integer.numberOfLeadingZeros(arr.length)), m);
+        return arr[k];
+    }
+
+    /**
+     * Laço do Introselect sobre arr[lo..hi] (inclusivo), com lo <= k <= hi. Com
+     * depthLimit zerado, cada partição usa o pivô da mediana das medianas.
+     */
+    private static void select(int[] arr, int lo, int hi, int k, int depthLimit, SortMetrics m) {
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            int p;
+            if(depthLimit == 0) {
+                p = hoarePartitionAt(arr, lo, hi, medianOfMedians(arr, lo, hi, m), m);
+            } else {
+                depthLimit--;
+                p = hoarePartition(arr, lo, hi, m);
+            }
+            if(k <= p) {
+                hi = p;
+            } else {
+                lo = p + 1;
+            }
+        }
+        insertionSortRange(arr, lo, hi, m);
+    }
+
+    /**
+     * Pivô da mediana das medianas (BFPRT) em arr[lo..hi]: ordena grupos de 5
+     * com Insertion Sort, junta as medianas no início do intervalo e seleciona a
+     * mediana delas com o próprio {@link #select} sem limite de profundidade.
+     * Cerca de 3/10 do intervalo fica de cada lado do pivô, o que mantém a
+     * seleção linear no pior caso. Retorna o índice do pivô.
+     */
+    private static int medianOfMedians(int[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int medians = lo;
+        for(int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            insertionSortRange(arr, g, end, m);
+            int median = (g + end) >>> 1;
+            int temp = arr[median];
+            arr[median] = arr[medians];
+            arr[medians] = temp;
+            if(counting) m.trocas++;
+            medians++;
+        }
+        int mid = lo + (medians - lo - 1) / 2;
+        select(arr, lo, medians - 1, mid, 0, m);
+        return mid;
+    }
+
+    /**
+     * Ordenação parcial: Introselect da posição k - 1, que deixa o k-ésimo menor
+     * em arr[k-1], seguido do Introsort do lado menor da consulta. Para k <= n/2,
+     * os k menores ficam em ordem crescente em arr[0..k); acima disso (ex.: p99),
+     * ordenar os k menores seria quase ordenar tudo, então quem fica em ordem são
+     * os n - k + 1 maiores, em arr[k-1..n). O(n + c log c), com c = min(k, n - k + 1).
+     */
+    public static void partialSort(int[] arr, int k, SortMetrics m) {
+        checkTopK(arr.length, k);
+        if(k == 0) return;
+        int n = arr.length;
+        introSelect(arr, k - 1, m);
+        if(k - 1 <= n - k) {
+            if(k > 2) {
+                introSort(arr, 0, k - 2, 2 * (31 - Integer.numberOfLeadingZeros(k - 1)), m);
+            }
+        } else if(n - k > 1) {
+            introSort(arr, k, n - 1, 2 * (31 - Integer.numberOfLeadingZeros(n - k)), m);
+        }
+    }
+
+    /**
+     * Top-k com heap limitado: mantém os k menores valores vistos numa max heap
+     * em arr[0..k) e percorre o restante uma única vez, trocando o topo pelos
+     * valores menores que ele; ao final ordena a heap. Mesmo resultado de
+     * {@link #partialSort}, em O(n log c) sem memória extra, com
+     * c = min(k, n - k + 1): para k > n/2 a heap guarda o complemento
+     * ({@link #heapTopLargest}). Vantajoso para c pequeno, pois cada valor que
+     * não entra custa uma única comparação.
+     */
+    public static void heapTopK(int[] arr, int k, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        checkTopK(arr.length, k);
+        if(k == 0) return;
+        if(k - 1 > arr.length - k) {
+            heapTopLargest(arr, arr.length - k + 1, m);
+            return;
+        }
+        for(int i = k / 2 - 1; i >= 0; i--) {
+            siftDown(arr, 0, i, k, m);
+        }
+        for(int i = k; i < arr.length; i++) {
+            if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.comparacoes++;
+            if(arr[i] < arr[0]) {
+                int temp = arr[0];
+                arr[0] = arr[i];
+                arr[i] = temp;
+                if(counting) m.trocas++;
+                siftDown(arr, 0, 0, k, m);
+            }
+        }
+        for(int end = k - 1; end > 0; end--) {
+            if(counting) m.trocas++;
+            int temp = arr[0];
+            arr[0] = arr[end];
+            arr[end] = temp;
+            siftDown(arr, 0, 0, end, m);
+        }
+    }
+
+    /**
+     * Complemento do {@link #heapTopK}: mantém os c maiores valores numa min heap
+     * espelhada no fim do array (a posição i da heap é arr[n-1-i]) e ao final a
+     * ordena, deixando os c maiores em ordem crescente em arr[n-c..n). O menor
+     * deles, em arr[n-c], é o (n-c+1)-ésimo menor valor.
+     */
+    private static void heapTopLargest(int[] arr, int c, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int last = arr.length - 1;
+        for(int i = c / 2 - 1; i >= 0; i--) {
+            mirroredMinSiftDown(arr, last, i, c, m);
+        }
+        for(int i = arr.length - c - 1; i >= 0; i--) {
+            if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.comparacoes++;
+            if(arr[i] > arr[last]) {
+                int temp = arr[last];
+                arr[last] = arr[i];
+                arr[i] = temp;
+                if(counting) m.trocas++;
+                mirroredMinSiftDown(arr, last, 0, c, m);
+            }
+        }
+        for(int end = c - 1; end > 0; end--) {
+            if(counting) m.trocas++;
+            int temp = arr[last];
+            arr[last] = arr[last - end];
+            arr[last - end] = temp;
+            mirroredMinSiftDown(arr, last, 0, end, m);
+        }
+    }
+
+    /**
+     * Desce o elemento da posição i numa min heap de tamanho n guardada de trás
+     * para frente a partir de arr[last].
+     */
+    private static void mirroredMinSiftDown(int[] arr, int last, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int value = arr[last - i];
+        int child;
+        while((child = 2 * i + 1) < n) {
+            if(child + 1 < n) {
+                if(counting) m.comparacoes++;
+                if(arr[last - child - 1] < arr[last - child]) child++;
+            }
+            if(counting) m.comparacoes++;
+            if(!(arr[last - child] < value)) break;
+            arr[last - i] = arr[last - child];
+            if(counting) m.trocas++;
+            i = child;
+        }
+        arr[last - i] = value;
+    }
+
+    private static void checkTopK(int n, int k) {
+        if(k < 0 || k > n) {
+            throw new IllegalArgumentException("k fora do intervalo de 0 a " + n + ": " + k);
+        }
+    }
+
+    /**
+     * Radix Sort LSD para inteiros, com dígitos de 8, 11 ou 16 bits.
+     * Não compara elementos: o bit de sinal de cada chave é invertido para que
+     * os negativos venham antes, um único histograma é montado para todos os
+     * dígitos e cada dígito é distribuído de forma estável num buffer auxiliar,
+     * alternando origem e destino. Dígitos constantes em todo o array são
+     * pulados. Conta passadas e movimentações (comparações ficam em zero).
+     */
+    public static void radixSort(int[] arr, int digitBits, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(digitBits != 8 && digitBits != 11 && digitBits != 16) {
+            throw new IllegalArgumentException("Tamanho de dígito não suportado: " + digitBits + " bits");
+        }
+        int n = arr.length;
+        if(n < 2) return;
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        int digits = (32 + digitBits - 1) / digitBits;
+
+        // Histograma de todos os dígitos numa única passada
+        int[][] counts = new int[digits][radix];
+        for(int x : arr) {
+            int key = x ^ Integer.MIN_VALUE;
+            for(int d = 0; d < digits; d++) {
+                counts[d][(key >>> (d * digitBits)) & mask]++;
+            }
+        }
+        m.passadas++;
+
+        int[] src = arr, dst = new int[n];
+        for(int d = 0; d < digits; d++) {
+            int shift = d * digitBits;
+            int[] count = counts[d];
+            if(count[((src[0] ^ Integer.MIN_VALUE) >>> shift) & mask] == n) {
+                continue;
+            }
+            // Converte contagens em posições iniciais de cada balde
+            int sum = 0;
+            for(int b = 0; b < radix; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for(int i = 0; i < n; i++) {
+                int x = src[i];
+                dst[count[((x ^ Integer.MIN_VALUE) >>> shift) & mask]++] = x;
+            }
+            if(counting) m.trocas += n;
+            m.passadas++;
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+
+        // Número ímpar de distribuições: o resultado está no buffer auxiliar
+        if(src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+            if(counting) m.trocas += n;
+            m.passadas++;
+        }
+    }
+
+    /**
+     * Indica se o intervalo de valores do array é estreito o bastante para o Counting Sort.
+     */
+    public static boolean isCountingSortApplicable(int[] arr) {
+        if(arr.length == 0) return true;
+        int min = arr[0], max = arr[0];
+        for(int x : arr) {
+            if(x < min) min = x;
+            if(x > max) max = x;
+        }
+        return (long) max - min + 1 <= COUNTING_SORT_MAX_RANGE;
+    }
+
+    /**
+     * Counting Sort para inteiros com intervalo estreito de valores
+     * (no máximo COUNTING_SORT_MAX_RANGE valores distintos possíveis).
+     * Faz três passadas: mínimo/máximo, contagem e reescrita do array.
+     * @throws IllegalArgumentException se o intervalo de valores for largo demais
+     */
+    public static void countingSort(int[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+        if(n < 2) return;
+        int min = arr[0], max = arr[0];
+        for(int x : arr) {
+            if(x < min) min = x;
+            if(x > max) max = x;
+        }
+        m.passadas++;
+        long range = (long) max - min + 1;
+        if(range > COUNTING_SORT_MAX_RANGE) {
+            throw new IllegalArgumentException("Intervalo de valores grande demais para o Counting Sort: " + range);
+        }
+
+        int[] count = new int[(int) range];
+        for(int x : arr) {
+            count[x - min]++;
+        }
+        m.passadas++;
+
+        int k = 0;
+        for(int v = 0; v < count.length; v++) {
+            for(int c = count[v]; c > 0; c--) {
+                arr[k++] = v + min;
+            }
+        }
+        if(counting) m.trocas += n;
+        m.passadas++;
+    }
+
+    /**
+     * Verifica se o array de inteiros está ordenado de forma crescente.
+     */
+    public static boolean isSorted(int[] arr) {
+        for(int i = 0; i < arr.length - 1; i++) {
+            if(arr[i] > arr[i+1]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se um array de strings está ordenado lexicograficamente (ignorando case).
+     */
+    public static boolean isSortedStrings(String[] arr) {
+        for(int i = 0; i < arr.length - 1; i++) {
+            if(arr[i].compareToIgnoreCase(arr[i+1]) > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Verifica o resultado de uma consulta de top-k: nenhum valor de arr[0..k)
+     * passa de arr[k-1] e nenhum de arr[k..n) fica abaixo dele, ou seja,
+     * arr[0..k) contém os k menores valores e arr[k-1] é o k-ésimo menor.
+     */
+    public static boolean isSelected(int[] arr, int k) {
+        int kth = arr[k - 1];
+        for(int i = 0; i < k; i++) {
+            if(arr[i] > kth) return false;
+        }
+        for(int i = k; i < arr.length; i++) {
+            if(arr[i] < kth) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Versão de {@link #isSelected(int[], int)} para strings (ignorando case).
+     */
+    public static boolean isSelectedStrings(String[] arr, int k) {
+        String kth = arr[k - 1];
+        for(int i = 0; i < k; i++) {
+            if(arr[i].compareToIgnoreCase(kth) > 0) return false;
+        }
+        for(int i = k; i < arr.length; i++) {
+            if(arr[i].compareToIgnoreCase(kth) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Converte a consulta de top-k em k (de 1 a n): um número inteiro ou um
+     * percentil "pNN" (ex.: "p99", "p99.9"), pelo método do posto mais próximo,
+     * k = ⌈p/100 · n⌉. O k-ésimo menor valor é então o percentil pedido.
+     */
+    public static int topKRank(String query, int n) {
+        String q = query.trim();
+        int k;
+        try {
+            if(q.startsWith("p") || q.startsWith("P")) {
+                // Aritmética decimal exata: em double, 99.9 / 100 · 1000 passaria de 999
+                BigDecimal p = new BigDecimal(q.substring(1));
+                if(p.signum() <= 0 || p.compareTo(BigDecimal.valueOf(100)) > 0) {
+                    throw new IllegalArgumentException("Percentil fora do intervalo (0, 100]: " + q);
+                }
+                k = p.multiply(BigDecimal.valueOf(n)).divide(BigDecimal.valueOf(100), 0, RoundingMode.CEILING).intValue();
+            } else {
+                k = Integer.parseInt(q);
+            }
+        } catch(NumberFormatException e) {
+            throw new IllegalArgumentException("Consulta de top-k inválida: " + q + " (use k ou pNN, ex.: 100 ou p99)");
+        }
+        if(k < 1 || k > n) {
+            throw new IllegalArgumentException("k fora do intervalo de 1 a " + n + ": " + k);
+        }
+        return k;
+    }
+
+    // -----------------------------------------------------
+    // Versões para arrays de String[], similares às anteriores,
+    // com comparação ignorando case para ordenar alfabeticamente
+
+    /**
+     * Bubble Sort para strings, incrementa comparações e trocas.
+     */
+    public static void bubbleSortStrings(String[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        int n = arr.length;
+        for(int i = 0; i < n - 1; i++) {
+            m.checkCancelled();
+            for(int j = 0; j < n - 1 - i; j++) {
+                if(counting) comparacoes++;
+                if(arr[j].compareToIgnoreCase(arr[j+1]) > 0) {
+                    if(counting) trocas++;
+                    String temp = arr[j];
+                    arr[j] = arr[j+1];
+                    arr[j+1] = temp;
+                }
+            }
+        }
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
+    }
+
+    /**
+     * Quick Sort para strings, método recursivo usando partitionStrings.
+     */
+    public static void quickSortStrings(String[] arr, int low, int high, SortMetrics m) {
+        SortEvents.QuickSortEvent event = new SortEvents.QuickSortEvent();
+        event.begin();
+        int maxDepth = quickSortStrings(arr, low, high, 0, m);
+        SortEvents.commitQuickSort(event, SortEvents.STRING_TYPE, high - low + 1, maxDepth);
+    }
+
+    /**
+     * Recursão do Quick Sort para strings; devolve a maior profundidade atingida a partir de {@code depth}.
+     */
+    private static int quickSortStrings(String[] arr, int low, int high, int depth, SortMetrics m) {
+        if(low < high) {
+            int pi = partitionStrings(arr, low, high, m);
+            int left = quickSortStrings(arr, low, pi - 1, depth + 1, m);
+            int right = quickSortStrings(arr, pi + 1, high, depth + 1, m);
+            return Math.max(left, right);
+        }
+        return depth;
+    }
+
+    /**
+     * Particiona array de strings para Quick Sort considerando case ignorado,
+     * atualizando contadores.
+     */
+    private static int partitionStrings(String[] arr, int low, int high, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        m.checkCancelled();
+        String pivot = arr[high];
+        int i = (low - 1);
+        long trocas = 0;
+        for(int j = low; j < high; j++) {
+            if(arr[j].compareToIgnoreCase(pivot) <= 0) {
+                i++;
+                if(counting) trocas++;
+                String temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        }
+        if(counting) m.comparacoes += high - low;
+        if(counting) m.trocas += trocas + 1;
+        String temp = arr[i+1];
+        arr[i+1] = arr[high];
+        arr[high] = temp;
+        return i+1;
+    }
+
+    /**
+     * Quick Sort com partição em três vias (Bentley-McIlroy) para strings (ignorando case). Elementos
+     * iguais ao pivô são acumulados nas pontas durante a varredura e trazidos
+     * para o centro no final, saindo da recursão; em entradas com poucos
+     * valores distintos o custo cai para perto de O(n). Pivô pela mediana de
+     * três, Insertion Sort em intervalos pequenos e recursão no lado menor.
+     */
+    public static void quickSort3WayStrings(String[] arr, SortMetrics m) {
+        quickSort3WayStrings(arr, 0, arr.length - 1, m);
+    }
+
+    private static void quickSort3WayStrings(String[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            // Amostras nos quartis: as pontas do intervalo ficam fora, pois a troca
+            // final da partição anterior costuma deixar um extremo em arr[lo]
+            int quarter = (hi - lo + 1) >>> 2;
+            int pivotIndex = medianOfThreeStrings(arr, lo + quarter, lo + ((hi - lo) >>> 1), hi - quarter, m);
+            String temp = arr[lo];
+            arr[lo] = arr[pivotIndex];
+            arr[pivotIndex] = temp;
+            String v = arr[lo];
+            long comparacoes = 0, trocas = 1;
+
+            // Invariante: arr[lo..p] == v, arr[p+1..i-1] < v, arr[j+1..q-1] > v, arr[q..hi] == v
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            while(true) {
+                while(true) {
+                    i++;
+                    if(counting) comparacoes++;
+                    if(!(arr[i].compareToIgnoreCase(v) < 0) || i == hi) break;
+                }
+                while(true) {
+                    j--;
+                    if(counting) comparacoes++;
+                    if(!(v.compareToIgnoreCase(arr[j]) < 0) || j == lo) break;
+                }
+                if(i == j) {
+                    if(counting) comparacoes++;
+                    if(arr[i].compareToIgnoreCase(v) == 0) {
+                        p++;
+                        if(counting) trocas++;
+                        temp = arr[p]; arr[p] = arr[i]; arr[i] = temp;
+                    }
+                }
+                if(i >= j) break;
+                if(counting) trocas++;
+                temp = arr[i]; arr[i] = arr[j]; arr[j] = temp;
+                if(counting) comparacoes += 2;
+                if(arr[i].compareToIgnoreCase(v) == 0) {
+                    p++;
+                    if(counting) trocas++;
+                    temp = arr[p]; arr[p] = arr[i]; arr[i] = temp;
+                }
+                if(arr[j].compareToIgnoreCase(v) == 0) {
+                    q--;
+                    if(counting) trocas++;
+                    temp = arr[q]; arr[q] = arr[j]; arr[j] = temp;
+                }
+            }
+
+            // Traz os iguais das pontas para o centro
+            i = j + 1;
+            for(int k = lo; k <= p; k++) {
+                if(counting) trocas++;
+                temp = arr[k]; arr[k] = arr[j]; arr[j--] = temp;
+            }
+            for(int k = hi; k >= q; k--) {
+                if(counting) trocas++;
+                temp = arr[k]; arr[k] = arr[i]; arr[i++] = temp;
+            }
+            m.comparacoes += comparacoes;
+            m.trocas += trocas;
+
+            // Agora arr[lo..j] < v e arr[i..hi] > v
+            if(j - lo < hi - i) {
+                quickSort3WayStrings(arr, lo, j, m);
+                lo = i;
+            } else {
+                quickSort3WayStrings(arr, i, hi, m);
+                hi = j;
+            }
+        }
+        insertionSortRangeStrings(arr, lo, hi, m);
+    }
+
+    /**
+     * Quick Sort dual-pivot (Yaroslavskiy) para strings (ignorando case). Dois pivôs, tirados nos
+     * tercis do intervalo, dividem o array em três partes (< p, entre p e q,
+     * > q) numa única varredura. Quando p == q a parte do meio é toda igual
+     * e não é ordenada de novo, o que favorece entradas com muitas repetições.
+     */
+    public static void dualPivotQuickSortStrings(String[] arr, SortMetrics m) {
+        dualPivotQuickSortStrings(arr, 0, arr.length - 1, m);
+    }
+
+    private static void dualPivotQuickSortStrings(String[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            long comparacoes = 0, trocas = 2;
+            int third = (hi - lo) / 3;
+            String temp = arr[lo]; arr[lo] = arr[lo + third]; arr[lo + third] = temp;
+            temp = arr[hi]; arr[hi] = arr[hi - third]; arr[hi - third] = temp;
+            if(counting) comparacoes++;
+            if(arr[hi].compareToIgnoreCase(arr[lo]) < 0) {
+                if(counting) trocas++;
+                temp = arr[lo]; arr[lo] = arr[hi]; arr[hi] = temp;
+            }
+            String p = arr[lo], q = arr[hi];
+
+            int lt = lo + 1, gt = hi - 1, k = lt;
+            while(k <= gt) {
+                if(counting) comparacoes++;
+                if(arr[k].compareToIgnoreCase(p) < 0) {
+                    if(counting) trocas++;
+                    temp = arr[k]; arr[k] = arr[lt]; arr[lt++] = temp;
+                } else {
+                    if(counting) comparacoes++;
+                    if(q.compareToIgnoreCase(arr[k]) < 0) {
+                        while(k < gt) {
+                            if(counting) comparacoes++;
+                            if(!(q.compareToIgnoreCase(arr[gt]) < 0)) break;
+                            gt--;
+                        }
+                        if(counting) trocas++;
+                        temp = arr[k]; arr[k] = arr[gt]; arr[gt--] = temp;
+                        if(counting) comparacoes++;
+                        if(arr[k].compareToIgnoreCase(p) < 0) {
+                            if(counting) trocas++;
+                            temp = arr[k]; arr[k] = arr[lt]; arr[lt++] = temp;
+                        }
+                    }
+                }
+                k++;
+            }
+            lt--;
+            gt++;
+            if(counting) trocas += 2;
+            temp = arr[lo]; arr[lo] = arr[lt]; arr[lt] = temp;
+            temp = arr[hi]; arr[hi] = arr[gt]; arr[gt] = temp;
+            if(counting) comparacoes++;
+            boolean samePivots = p.compareToIgnoreCase(q) == 0;
+            m.comparacoes += comparacoes;
+            m.trocas += trocas;
+
+            // Partes: [lo, lt-1] < p, [lt+1, gt-1] entre p e q, [gt+1, hi] > q.
+            // As duas menores vão para a recursão e a maior continua no laço.
+            int leftSize = lt - lo, midSize = samePivots ? 0 : gt - lt - 1, rightSize = hi - gt;
+            if(leftSize >= midSize && leftSize >= rightSize) {
+                if(!samePivots) dualPivotQuickSortStrings(arr, lt + 1, gt - 1, m);
+                dualPivotQuickSortStrings(arr, gt + 1, hi, m);
+                hi = lt - 1;
+            } else if(rightSize >= midSize) {
+                dualPivotQuickSortStrings(arr, lo, lt - 1, m);
+                if(!samePivots) dualPivotQuickSortStrings(arr, lt + 1, gt - 1, m);
+                lo = gt + 1;
+            } else {
+                dualPivotQuickSortStrings(arr, lo, lt - 1, m);
+                dualPivotQuickSortStrings(arr, gt + 1, hi, m);
+                lo = lt + 1;
+                hi = gt - 1;
+            }
+        }
+        insertionSortRangeStrings(arr, lo, hi, m);
+    }
+
+    /**
+     * Merge Sort para strings, recursivo, chamando mergeStrings.
+     */
+    public static void mergeSortStrings(String[] arr, int left, int right, SortMetrics m) {
+        if(left < right) {
+            int mid = (left + right) / 2;
+            mergeSortStrings(arr, left, mid, m);
+            mergeSortStrings(arr, mid + 1, right, m);
+            mergeStrings(arr, left, mid, right, m);
+        }
+    }
+
+    /**
+     * Mescla as partes do vetor string para ordenação,
+     * contabilizando comparações e trocas.
+     */
+    private static void mergeStrings(String[] arr, int left, int mid, int right, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n1 = mid - left + 1;
+        int n2 = right - mid;
+
+        String[] L = new String[n1];
+        String[] R = new String[n2];
+
+        System.arraycopy(arr, left, L, 0, n1);
+        System.arraycopy(arr, mid + 1, R, 0, n2);
+
+        int i = 0, j = 0, k = left;
+        long comparacoes = 0;
+
+        while(i < n1 && j < n2) {
+            if(counting) comparacoes++;
+            if(L[i].compareToIgnoreCase(R[j]) <= 0) {
+                arr[k++] = L[i++];
+            } else {
+                arr[k++] = R[j++];
+            }
+        }
+
+        while(i < n1) {
+            arr[k++] = L[i++];
+        }
+
+        while(j < n2) {
+            arr[k++] = R[j++];
+        }
+
+        m.comparacoes += comparacoes;
+        if(counting) m.trocas += n1 + n2;
+    }
+
+    /**
+     * Merge Sort para strings sem alocações por mesclagem: usa um único buffer
+     * auxiliar, alocado uma vez no início, e alterna origem e destino a cada
+     * nível da recursão, de modo que não há cópias de volta nem arrays L/R.
+     */
+    public static void mergeSortBufferedStrings(String[] arr, SortMetrics m) {
+        mergeSortBufferedStrings(arr, new String[arr.length], m);
+    }
+
+    /**
+     * Variante que recebe o buffer auxiliar do chamador (tamanho >= arr.length),
+     * permitindo reutilizá-lo entre ordenações sem nenhuma alocação.
+     */
+    public static void mergeSortBufferedStrings(String[] arr, String[] buffer, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(buffer.length < arr.length) {
+            throw new IllegalArgumentException("Buffer menor que o array: " + buffer.length + " < " + arr.length);
+        }
+        if(arr.length < 2) return;
+        System.arraycopy(arr, 0, buffer, 0, arr.length);
+        if(counting) m.trocas += arr.length;
+        mergeSortBufferedStrings(buffer, arr, 0, arr.length - 1, m);
+    }
+
+    /**
+     * Ordena dst[left..right] usando src como área auxiliar. Requer que src e
+     * dst tenham o mesmo conteúdo no intervalo; as metades são ordenadas em src
+     * (papéis invertidos) e mescladas de volta em dst.
+     */
+    static void mergeSortBufferedStrings(String[] src, String[] dst, int left, int right, SortMetrics m) {
+        if(left < right) {
+            int mid = (left + right) >>> 1;
+            mergeSortBufferedStrings(dst, src, left, mid, m);
+            mergeSortBufferedStrings(dst, src, mid + 1, right, m);
+            mergeIntoStrings(src, dst, left, mid, right, m);
+        }
+    }
+
+    /**
+     * Mescla src[left..mid] e src[mid+1..right] em dst[left..right].
+     */
+    private static void mergeIntoStrings(String[] src, String[] dst, int left, int mid, int right, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int i = left, j = mid + 1, k = left;
+        long comparacoes = 0;
+
+        while(i <= mid && j <= right) {
+            if(counting) comparacoes++;
+            if(src[i].compareToIgnoreCase(src[j]) <= 0) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+
+        while(i <= mid) {
+            dst[k++] = src[i++];
+        }
+
+        while(j <= right) {
+            dst[k++] = src[j++];
+        }
+
+        m.comparacoes += comparacoes;
+        if(counting) m.trocas += right - left + 1;
+    }
+
+    /**
+     * Merge Sort natural no estilo TimSort para strings (ignorando case), com a
+     * mesma estrutura de {@link #timSort(int[], SortMetrics)}: runs naturais
+     * estendidos até minrun com Insertion Sort binário e mesclados dois a dois em
+     * passadas alternadas entre o array e um buffer, com galope. Estável; O(n) em
+     * entradas já ordenadas e O(n log r) com r runs. Conta comparações,
+     * movimentações e runs.
+     */
+    public static void timSortStrings(String[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+        if(n < 2) return;
+        int minRun = naturalMergeMinRun(n);
+        // Início de cada run, com n como sentinela depois do último
+        int[] starts = new int[n / minRun + 2];
+        int runCount = 0;
+        for(int lo = 0; lo < n; ) {
+            m.checkCancelled();
+            int hi = naturalRunEnd(arr, lo, n, m);
+            int target = Math.min(n, lo + minRun);
+            if(hi < target) {
+                naturalInsertionSort(arr, lo, hi, target, m);
+                hi = target;
+            }
+            if(counting) m.runs++;
+            starts[runCount++] = lo;
+            lo = hi;
+        }
+        starts[runCount] = n;
+
+        String[] src = arr;
+        String[] dst = new String[n];
+        while(runCount > 1) {
+            m.checkCancelled();
+            int merged = 0;
+            for(int r = 0; r < runCount; r += 2) {
+                int lo = starts[r];
+                if(r + 1 < runCount) {
+                    naturalMerge(src, lo, starts[r + 1], starts[r + 2], dst, m);
+                } else {
+                    // Run sem par nesta passada: só muda de lado
+                    System.arraycopy(src, lo, dst, lo, n - lo);
+                    if(counting) m.trocas += n - lo;
+                }
+                starts[merged++] = lo;
+            }
+            starts[merged] = n;
+            runCount = merged;
+            String[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if(src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+            if(counting) m.trocas += n;
+        }
+    }
+
+    /**
+     * Fim (exclusivo) do run de strings que começa em lo; um run estritamente
+     * decrescente é invertido no lugar (estável).
+     */
+    private static int naturalRunEnd(String[] arr, int lo, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int hi = lo + 1;
+        if(hi == n) return hi;
+        if(counting) m.comparacoes++;
+        if(arr[hi++].compareToIgnoreCase(arr[lo]) < 0) {
+            while(hi < n) {
+                if(counting) m.comparacoes++;
+                if(arr[hi].compareToIgnoreCase(arr[hi - 1]) >= 0) break;
+                hi++;
+            }
+            if(counting) m.trocas += (hi - lo) / 2;
+            for(int i = lo, j = hi - 1; i < j; i++, j--) {
+                String temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        } else {
+            while(hi < n) {
+                if(counting) m.comparacoes++;
+                if(arr[hi].compareToIgnoreCase(arr[hi - 1]) < 0) break;
+                hi++;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * Insertion Sort binário para strings: insere arr[sorted..hi) em
+     * arr[lo..sorted), já ordenado, depois dos iguais (estável).
+     */
+    private static void naturalInsertionSort(String[] arr, int lo, int sorted, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        for(int i = sorted; i < hi; i++) {
+            String x = arr[i];
+            int left = lo;
+            int right = i;
+            while(left < right) {
+                int mid = (left + right) >>> 1;
+                if(counting) m.comparacoes++;
+                if(x.compareToIgnoreCase(arr[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            if(counting) m.trocas += i - left;
+            System.arraycopy(arr, left, arr, left + 1, i - left);
+            arr[left] = x;
+        }
+    }
+
+    /**
+     * Mescla os runs de strings src[lo..mid) e src[mid..hi) em dst[lo..hi), com
+     * galope depois de {@link #NATURAL_MERGE_GALLOP} vitórias seguidas do mesmo
+     * run. Em empate vence o run da esquerda (estável).
+     */
+    private static void naturalMerge(String[] src, int lo, int mid, int hi, String[] dst, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(counting) {
+            m.comparacoes++;
+            m.trocas += hi - lo;
+        }
+        if(src[mid - 1].compareToIgnoreCase(src[mid]) <= 0) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        int leftWins = 0;
+        int rightWins = 0;
+        while(i < mid && j < hi) {
+            if(counting) m.comparacoes++;
+            if(src[j].compareToIgnoreCase(src[i]) < 0) {
+                dst[k++] = src[j++];
+                leftWins = 0;
+                if(++rightWins == NATURAL_MERGE_GALLOP && j < hi) {
+                    // Bloco da direita estritamente menor que src[i]
+                    int end = gallopEnd(src, j, hi, src[i], false, m);
+                    System.arraycopy(src, j, dst, k, end - j);
+                    k += end - j;
+                    j = end;
+                    rightWins = 0;
+                }
+            } else {
+                dst[k++] = src[i++];
+                rightWins = 0;
+                if(++leftWins == NATURAL_MERGE_GALLOP && i < mid) {
+                    // Bloco da esquerda menor ou igual a src[j]
+                    int end = gallopEnd(src, i, mid, src[j], true, m);
+                    System.arraycopy(src, i, dst, k, end - i);
+                    k += end - i;
+                    i = end;
+                    leftWins = 0;
+                }
+            }
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Galope para strings: primeiro índice de a[from..to) que não vem antes de
+     * key (com inclusive, os iguais vêm antes), por busca exponencial e binária.
+     */
+    private static int gallopEnd(String[] a, int from, int to, String key, boolean inclusive, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int low = from;
+        int high = to;
+        for(int step = 1; step > 0 && step <= to - from; step <<= 1) {
+            int probe = from + step - 1;
+            if(counting) m.comparacoes++;
+            int cmp = a[probe].compareToIgnoreCase(key);
+            if(inclusive ? cmp <= 0 : cmp < 0) {
+                low = probe + 1;
+            } else {
+                high = probe;
+                break;
+            }
+        }
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(counting) m.comparacoes++;
+            int cmp = a[mid].compareToIgnoreCase(key);
+            if(inclusive ? cmp <= 0 : cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Heap Sort para array de strings, usa heapifyStrings.
+     */
+    public static void heapSortStrings(String[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+
+        // Constroi heap
+        SortEvents.HeapPhaseEvent build = SortEvents.beginHeapPhase(SortEvents.HEAP_BUILD, SortEvents.STRING_TYPE, n, m);
+        for(int i = n / 2 - 1; i >= 0; i--) {
+            heapifyStrings(arr, n, i, m);
+        }
+        SortEvents.endHeapPhase(build, m);
+
+        // Remove elemento da heap um por um
+        SortEvents.HeapPhaseEvent extract = SortEvents.beginHeapPhase(SortEvents.HEAP_EXTRACT, SortEvents.STRING_TYPE, n, m);
+        for(int i = n - 1; i >= 0; i--) {
+            if(counting) m.trocas++;
+            String temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+
+            heapifyStrings(arr, i, 0, m);
+        }
+        SortEvents.endHeapPhase(extract, m);
+    }
+
+    /**
+     * Reorganiza o heap para manter a propriedade máxima,
+     * aplicando para array de strings e contabilizando métricas.
+     */
+    private static void heapifyStrings(String[] arr, int n, int i, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int largest = i;
+        int left = 2 * i + 1;
+        int right = 2 * i + 2;
+
+        if(left < n) {
+            if(counting) m.comparacoes++;
+            if(arr[left].compareToIgnoreCase(arr[largest]) > 0) {
+                largest = left;
+            }
+        }
+
+        if(right < n) {
+            if(counting) m.comparacoes++;
+            if(arr[right].compareToIgnoreCase(arr[largest]) > 0) {
+                largest = right;
             }
         }
 
         if(largest != i) {
-            trocas++;
+            if(counting) m.trocas++;
             String swap = arr[i];
             arr[i] = arr[largest];
             arr[largest] = swap;
 
-            heapifyStrings(arr, n, largest);
+            heapifyStrings(arr, n, largest, m);
+        }
+    }
+
+    /**
+     * Heap Sort bottom-up (Floyd/Wegener) para strings (ignorando case), iterativo. Na descida o
+     * elemento vai direto até uma folha seguindo o maior filho (uma comparação
+     * por nível) e depois sobe até a posição correta, que costuma ficar perto da
+     * folha: cerca de n log n comparações, metade das 2 n log n do {@link #heapSortStrings}.
+     * Cada fase emite um evento JFR ({@link SortEvents}).
+     */
+    public static void bottomUpHeapSortStrings(String[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+
+        SortEvents.HeapPhaseEvent build = SortEvents.beginHeapPhase(SortEvents.HEAP_BUILD, SortEvents.STRING_TYPE, n, m);
+        for(int i = n / 2 - 1; i >= 0; i--) {
+            bottomUpSiftDownStrings(arr, i, n, m);
+        }
+        SortEvents.endHeapPhase(build, m);
+
+        SortEvents.HeapPhaseEvent extract = SortEvents.beginHeapPhase(SortEvents.HEAP_EXTRACT, SortEvents.STRING_TYPE, n, m);
+        for(int end = n - 1; end > 0; end--) {
+            if((end & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.trocas++;
+            String temp = arr[0];
+            arr[0] = arr[end];
+            arr[end] = temp;
+            bottomUpSiftDownStrings(arr, 0, end, m);
+        }
+        SortEvents.endHeapPhase(extract, m);
+    }
+
+    /**
+     * Reposiciona o elemento da posição i numa max heap de tamanho n: desce até
+     * uma folha pelo maior filho, sobe até achar um elemento maior ou igual e
+     * desloca o caminho percorrido um nível para cima.
+     */
+    private static void bottomUpSiftDownStrings(String[] arr, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        String value = arr[i];
+        int j = i;
+        int child;
+        while((child = 2 * j + 1) < n) {
+            if(child + 1 < n) {
+                if(counting) comparacoes++;
+                if(arr[child].compareToIgnoreCase(arr[child + 1]) < 0) child++;
+            }
+            j = child;
+        }
+        while(j > i) {
+            if(counting) comparacoes++;
+            if(!(value.compareToIgnoreCase(arr[j]) > 0)) break;
+            j = (j - 1) >>> 1;
+        }
+        String carried = value;
+        while(j > i) {
+            String temp = arr[j];
+            arr[j] = carried;
+            carried = temp;
+            if(counting) trocas++;
+            j = (j - 1) >>> 1;
+        }
+        arr[i] = carried;
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
+    }
+
+    /**
+     * Heap Sort com heap 4-ário para strings (ignorando case), iterativo. Os quatro filhos de i
+     * ({@code 4i+1..4i+4}) são vizinhos na memória, então cada nível lê uma
+     * única região contígua e a altura cai pela metade (log4 n), trocando
+     * falhas de cache por mais comparações por nível (até quatro).
+     * Cada fase emite um evento JFR ({@link SortEvents}).
+     */
+    public static void fourAryHeapSortStrings(String[] arr, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arr.length;
+
+        SortEvents.HeapPhaseEvent build = SortEvents.beginHeapPhase(SortEvents.HEAP_BUILD, SortEvents.STRING_TYPE, n, m);
+        for(int i = (n - 2) >> 2; i >= 0; i--) {
+            fourArySiftDownStrings(arr, i, n, m);
+        }
+        SortEvents.endHeapPhase(build, m);
+
+        SortEvents.HeapPhaseEvent extract = SortEvents.beginHeapPhase(SortEvents.HEAP_EXTRACT, SortEvents.STRING_TYPE, n, m);
+        for(int end = n - 1; end > 0; end--) {
+            if((end & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.trocas++;
+            String temp = arr[0];
+            arr[0] = arr[end];
+            arr[end] = temp;
+            fourArySiftDownStrings(arr, 0, end, m);
+        }
+        SortEvents.endHeapPhase(extract, m);
+    }
+
+    /**
+     * Desce o elemento da posição i numa max heap 4-ária de tamanho n.
+     */
+    private static void fourArySiftDownStrings(String[] arr, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        String value = arr[i];
+        int child;
+        while((child = 4 * i + 1) < n) {
+            int last = Math.min(child + 4, n);
+            int largest = child;
+            for(int c = child + 1; c < last; c++) {
+                if(counting) comparacoes++;
+                if(arr[c].compareToIgnoreCase(arr[largest]) > 0) largest = c;
+            }
+            if(counting) comparacoes++;
+            if(!(arr[largest].compareToIgnoreCase(value) > 0)) break;
+            arr[i] = arr[largest];
+            if(counting) trocas++;
+            i = largest;
+        }
+        arr[i] = value;
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
+    }
+
+    /**
+     * Introsort para strings (ignorando case): Quick Sort endurecido para uso em produção.
+     * Pivô pela mediana de três (ou ninther em intervalos grandes), partição de
+     * Hoare, Insertion Sort em intervalos pequenos, recursão apenas no lado
+     * menor (pilha O(log n)) e Heap Sort quando a profundidade passa de 2·log n,
+     * garantindo O(n log n) mesmo em entradas ordenadas ou invertidas.
+     */
+    public static void introSortStrings(String[] arr, SortMetrics m) {
+        if(arr.length < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        introSortStrings(arr, 0, arr.length - 1, depthLimit, m);
+    }
+
+    /**
+     * Laço principal do Introsort sobre arr[lo..hi] (inclusivo).
+     */
+    private static void introSortStrings(String[] arr, int lo, int hi, int depthLimit, SortMetrics m) {
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            if(depthLimit == 0) {
+                heapSortRangeStrings(arr, lo, hi, m);
+                return;
+            }
+            depthLimit--;
+            int p = hoarePartitionStrings(arr, lo, hi, m);
+            // Recursão no lado menor, iteração no maior
+            if(p - lo < hi - p) {
+                introSortStrings(arr, lo, p, depthLimit, m);
+                lo = p + 1;
+            } else {
+                introSortStrings(arr, p + 1, hi, depthLimit, m);
+                hi = p;
+            }
+        }
+        insertionSortRangeStrings(arr, lo, hi, m);
+    }
+
+    /**
+     * Partição de Hoare com o pivô (mediana de três ou ninther) movido para arr[lo].
+     * Retorna j tal que arr[lo..j] <= pivô <= arr[j+1..hi], com lo <= j < hi.
+     */
+    private static int hoarePartitionStrings(String[] arr, int lo, int hi, SortMetrics m) {
+        int n = hi - lo + 1;
+        int mid = lo + (n >>> 1);
+        int pivotIndex;
+        if(n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            int a = medianOfThreeStrings(arr, lo, lo + s, lo + 2 * s, m);
+            int b = medianOfThreeStrings(arr, mid - s, mid, mid + s, m);
+            int c = medianOfThreeStrings(arr, hi - 2 * s, hi - s, hi, m);
+            pivotIndex = medianOfThreeStrings(arr, a, b, c, m);
+        } else {
+            pivotIndex = medianOfThreeStrings(arr, lo, mid, hi, m);
+        }
+        return hoarePartitionAtStrings(arr, lo, hi, pivotIndex, m);
+    }
+
+    /**
+     * Partição de Hoare de arr[lo..hi] em torno de arr[pivotIndex], movido para arr[lo].
+     */
+    private static int hoarePartitionAtStrings(String[] arr, int lo, int hi, int pivotIndex, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        String temp = arr[lo];
+        arr[lo] = arr[pivotIndex];
+        arr[pivotIndex] = temp;
+        long comparacoes = 0, trocas = 1;
+
+        String pivot = arr[lo];
+        int i = lo - 1, j = hi + 1;
+        while(true) {
+            do {
+                i++;
+                if(counting) comparacoes++;
+            } while(arr[i].compareToIgnoreCase(pivot) < 0);
+            do {
+                j--;
+                if(counting) comparacoes++;
+            } while(arr[j].compareToIgnoreCase(pivot) > 0);
+            if(i >= j) {
+                m.comparacoes += comparacoes;
+                m.trocas += trocas;
+                return j;
+            }
+            if(counting) trocas++;
+            temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+        }
+    }
+
+    /**
+     * Retorna o índice do valor mediano entre arr[a], arr[b] e arr[c].
+     */
+    private static int medianOfThreeStrings(String[] arr, int a, int b, int c, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if(counting) m.comparacoes += 2;
+        if(arr[a].compareToIgnoreCase(arr[b]) < 0) {
+            if(arr[b].compareToIgnoreCase(arr[c]) < 0) return b;
+            if(counting) m.comparacoes++;
+            return arr[a].compareToIgnoreCase(arr[c]) < 0 ? c : a;
+        } else {
+            if(arr[a].compareToIgnoreCase(arr[c]) < 0) return a;
+            if(counting) m.comparacoes++;
+            return arr[b].compareToIgnoreCase(arr[c]) < 0 ? c : b;
+        }
+    }
+
+    /**
+     * Insertion Sort em arr[lo..hi], usado nos intervalos pequenos do Introsort.
+     */
+    private static void insertionSortRangeStrings(String[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        for(int i = lo + 1; i <= hi; i++) {
+            String key = arr[i];
+            int j = i - 1;
+            while(j >= lo) {
+                if(counting) comparacoes++;
+                if(!(arr[j].compareToIgnoreCase(key) > 0)) break;
+                arr[j + 1] = arr[j];
+                if(counting) trocas++;
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
+    }
+
+    /**
+     * Heap Sort iterativo em arr[lo..hi], fallback do Introsort quando a
+     * recursão fica profunda demais.
+     */
+    private static void heapSortRangeStrings(String[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = hi - lo + 1;
+        for(int i = n / 2 - 1; i >= 0; i--) {
+            siftDownStrings(arr, lo, i, n, m);
+        }
+        for(int end = n - 1; end > 0; end--) {
+            if(counting) m.trocas++;
+            String temp = arr[lo];
+            arr[lo] = arr[lo + end];
+            arr[lo + end] = temp;
+            siftDownStrings(arr, lo, 0, end, m);
+        }
+    }
+
+    /**
+     * Desce o elemento da posição i (relativa a lo) numa max heap de tamanho n.
+     */
+    private static void siftDownStrings(String[] arr, int lo, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        String value = arr[lo + i];
+        int child;
+        while((child = 2 * i + 1) < n) {
+            if(child + 1 < n) {
+                if(counting) m.comparacoes++;
+                if(arr[lo + child].compareToIgnoreCase(arr[lo + child + 1]) < 0) child++;
+            }
+            if(counting) m.comparacoes++;
+            if(!(arr[lo + child].compareToIgnoreCase(value) > 0)) break;
+            arr[lo + i] = arr[lo + child];
+            if(counting) m.trocas++;
+            i = child;
+        }
+        arr[lo + i] = value;
+    }
+
+    /**
+     * Introselect para strings (ignorando case): reorganiza o array de modo que
+     * arr[k] fique na posição que teria após a ordenação e o retorna, como
+     * {@link #introSelect(int[], int, SortMetrics)}.
+     */
+    public static String introSelectStrings(String[] arr, int k, SortMetrics m) {
+        if(k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("Posição fora do array: " + k + " (n = " + arr.length + ")");
+        }
+        selectStrings(arr, 0, arr.length - 1, k, 2 * (31 - Integer.numberOfLeadingZeros(arr.length)), m);
+        return arr[k];
+    }
+
+    /**
+     * Laço do Introselect para strings sobre arr[lo..hi], como
+     * {@link #select(int[], int, int, int, int, SortMetrics)}.
+     */
+    private static void selectStrings(String[] arr, int lo, int hi, int k, int depthLimit, SortMetrics m) {
+        while(hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            int p;
+            if(depthLimit == 0) {
+                p = hoarePartitionAtStrings(arr, lo, hi, medianOfMediansStrings(arr, lo, hi, m), m);
+            } else {
+                depthLimit--;
+                p = hoarePartitionStrings(arr, lo, hi, m);
+            }
+            if(k <= p) {
+                hi = p;
+            } else {
+                lo = p + 1;
+            }
+        }
+        insertionSortRangeStrings(arr, lo, hi, m);
+    }
+
+    /**
+     * Pivô da mediana das medianas para strings, como
+     * {@link #medianOfMedians(int[], int, int, SortMetrics)}.
+     */
+    private static int medianOfMediansStrings(String[] arr, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int medians = lo;
+        for(int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            insertionSortRangeStrings(arr, g, end, m);
+            int median = (g + end) >>> 1;
+            String temp = arr[median];
+            arr[median] = arr[medians];
+            arr[medians] = temp;
+            if(counting) m.trocas++;
+            medians++;
+        }
+        int mid = lo + (medians - lo - 1) / 2;
+        selectStrings(arr, lo, medians - 1, mid, 0, m);
+        return mid;
+    }
+
+    /**
+     * Ordenação parcial para strings (ignorando case): o k-ésimo menor em
+     * arr[k-1] e o lado menor da consulta em ordem, como
+     * {@link #partialSort(int[], int, SortMetrics)}.
+     */
+    public static void partialSortStrings(String[] arr, int k, SortMetrics m) {
+        checkTopK(arr.length, k);
+        if(k == 0) return;
+        int n = arr.length;
+        introSelectStrings(arr, k - 1, m);
+        if(k - 1 <= n - k) {
+            if(k > 2) {
+                introSortStrings(arr, 0, k - 2, 2 * (31 - Integer.numberOfLeadingZeros(k - 1)), m);
+            }
+        } else if(n - k > 1) {
+            introSortStrings(arr, k, n - 1, 2 * (31 - Integer.numberOfLeadingZeros(n - k)), m);
+        }
+    }
+
+    /**
+     * Top-k com heap limitado para strings (ignorando case), como
+     * {@link #heapTopK(int[], int, SortMetrics)}, inclusive o complemento para k > n/2.
+     */
+    public static void heapTopKStrings(String[] arr, int k, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        checkTopK(arr.length, k);
+        if(k == 0) return;
+        if(k - 1 > arr.length - k) {
+            heapTopLargestStrings(arr, arr.length - k + 1, m);
+            return;
+        }
+        for(int i = k / 2 - 1; i >= 0; i--) {
+            siftDownStrings(arr, 0, i, k, m);
+        }
+        for(int i = k; i < arr.length; i++) {
+            if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.comparacoes++;
+            if(arr[i].compareToIgnoreCase(arr[0]) < 0) {
+                String temp = arr[0];
+                arr[0] = arr[i];
+                arr[i] = temp;
+                if(counting) m.trocas++;
+                siftDownStrings(arr, 0, 0, k, m);
+            }
+        }
+        for(int end = k - 1; end > 0; end--) {
+            if(counting) m.trocas++;
+            String temp = arr[0];
+            arr[0] = arr[end];
+            arr[end] = temp;
+            siftDownStrings(arr, 0, 0, end, m);
+        }
+    }
+
+    /**
+     * Complemento do {@link #heapTopKStrings} para k > n/2: os c maiores numa min
+     * heap espelhada no fim do array, como {@link #heapTopLargest(int[], int, SortMetrics)}.
+     */
+    private static void heapTopLargestStrings(String[] arr, int c, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int last = arr.length - 1;
+        for(int i = c / 2 - 1; i >= 0; i--) {
+            mirroredMinSiftDownStrings(arr, last, i, c, m);
+        }
+        for(int i = arr.length - c - 1; i >= 0; i--) {
+            if((i & CANCEL_CHECK_MASK) == 0) m.checkCancelled();
+            if(counting) m.comparacoes++;
+            if(arr[i].compareToIgnoreCase(arr[last]) > 0) {
+                String temp = arr[last];
+                arr[last] = arr[i];
+                arr[i] = temp;
+                if(counting) m.trocas++;
+                mirroredMinSiftDownStrings(arr, last, 0, c, m);
+            }
+        }
+        for(int end = c - 1; end > 0; end--) {
+            if(counting) m.trocas++;
+            String temp = arr[last];
+            arr[last] = arr[last - end];
+            arr[last - end] = temp;
+            mirroredMinSiftDownStrings(arr, last, 0, end, m);
+        }
+    }
+
+    /**
+     * Desce o elemento da posição i numa min heap de strings de tamanho n
+     * guardada de trás para frente a partir de arr[last].
+     */
+    private static void mirroredMinSiftDownStrings(String[] arr, int last, int i, int n, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        String value = arr[last - i];
+        int child;
+        while((child = 2 * i + 1) < n) {
+            if(child + 1 < n) {
+                if(counting) m.comparacoes++;
+                if(arr[last - child - 1].compareToIgnoreCase(arr[last - child]) < 0) child++;
+            }
+            if(counting) m.comparacoes++;
+            if(!(arr[last - child].compareToIgnoreCase(value) < 0)) break;
+            arr[last - i] = arr[last - child];
+            if(counting) m.trocas++;
+            i = child;
         }
+        arr[last - i] = value;
     }
 }
@@ -0,0 +1,378 @@
+package com.exemple.sortinganalysis;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Armazenamento compacto de textos: todas as linhas concatenadas num único
+ * buffer (um byte por caractere quando todos cabem em Latin-1, senão um char)
+ * e um array com o início de cada linha, no lugar de um {@code String[]}.
+ * Cada {@code String} custa cabeçalho, referência e array próprio, quase
+ * sempre maiores que o texto curto que guarda; aqui o custo por linha é o
+ * texto mais dois {@code int}.
+ *
+ * As ordenações ({@link #mergeSort}, {@link #quickSort3Way}) permutam apenas
+ * os índices das linhas e comparam lendo direto do buffer, na mesma ordem de
+ * {@link String#compareToIgnoreCase}: cada par de caracteres diferentes é
+ * comparado pela normalização de {@link FoldedStringSort}, e pares surrogate
+ * (fora do BMP), que o comparador trata por code point, usam o próprio
+ * {@code compareToIgnoreCase}.
+ */
+public final class StringArena {
+
+    // Maior buffer que pode ser alocado num array Java
+    private static final int MAX_TEXT_SIZE = Integer.MAX_VALUE - 8;
+    // Intervalos com até este tamanho são finalizados com Insertion Sort
+    private static final int INSERTION_SORT_CUTOFF = 16;
+
+    // Texto concatenado: exatamente um dos dois é não nulo
+    private final byte[] latin1;
+    private final char[] utf16;
+    // A linha k ocupa o buffer de start[k] até start[k + 1]
+    private final int[] start;
+    // Permutação sendo ordenada: order[i] é a linha na posição i
+    private final int[] order;
+    // Se o texto tem pares surrogate (comparação por code point)
+    private final boolean surrogates;
+
+    private StringArena(byte[] latin1, char[] utf16, int[] start, int[] order, boolean surrogates) {
+        this.latin1 = latin1;
+        this.utf16 = utf16;
+        this.start = start;
+        this.order = order;
+        this.surrogates = surrogates;
+    }
+
+    /**
+     * Lê um arquivo de texto com as mesmas regras de
+     * {@link SortingComparisonEnhanced#readTextsFromFile(String)} (linhas vazias
+     * ignoradas, espaços nas pontas removidos), sem criar uma String por linha.
+     */
+    public static StringArena load(Path file) throws IOException {
+        Builder builder = new Builder();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            char[] buffer = new char[1 << 16];
+            // Depois de '\r', um '\n' completa o mesmo fim de linha
+            boolean skipLineFeed = false;
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    char c = buffer[i];
+                    if (c == '\n' || c == '\r') {
+                        if (c == '\r' || !skipLineFeed) {
+                            builder.endTrimmedLine();
+                        }
+                        skipLineFeed = c == '\r';
+                    } else {
+                        skipLineFeed = false;
+                        // Espaços no início da linha são descartados antes de entrar no buffer
+                        if (c > ' ' || !builder.lineEmpty()) {
+                            builder.append(c);
+                        }
+                    }
+                }
+            }
+            builder.endTrimmedLine();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copia os textos, na ordem dada, para o armazenamento compacto.
+     */
+    public static StringArena of(String[] texts) throws IOException {
+        Builder builder = new Builder();
+        for (String text : texts) {
+            for (int i = 0; i < text.length(); i++) {
+                builder.append(text.charAt(i));
+            }
+            builder.endLine();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Cópia com a ordem atual, compartilhando o texto (imutável): cada
+     * execução ordena a própria permutação.
+     */
+    public StringArena copy() {
+        return new StringArena(latin1, utf16, start, order.clone(), surrogates);
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Linha na posição i da ordem atual.
+     */
+    public String get(int i) {
+        return text(order[i]);
+    }
+
+    /**
+     * Todas as linhas, na ordem atual.
+     */
+    public String[] toArray() {
+        String[] texts = new String[order.length];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = get(i);
+        }
+        return texts;
+    }
+
+    /**
+     * Bytes ocupados pelo texto e pelos índices (sem os cabeçalhos dos arrays).
+     */
+    public long memoryBytes() {
+        long text = latin1 != null ? latin1.length : 2L * utf16.length;
+        return text + 4L * start.length + 4L * order.length;
+    }
+
+    /**
+     * Verifica se as linhas estão em ordem lexicográfica ignorando case.
+     */
+    public boolean isSorted() {
+        for (int i = 0; i < order.length - 1; i++) {
+            if (compare(order[i], order[i + 1]) > 0) return false;
+        }
+        return true;
+    }
+
+    private String text(int k) {
+        int from = start[k];
+        int length = start[k + 1] - from;
+        return latin1 != null ? new String(latin1, from, length, StandardCharsets.ISO_8859_1) : new String(utf16, from, length);
+    }
+
+    private char charAt(int pos) {
+        return latin1 != null ? (char) (latin1[pos] & 0xFF) : utf16[pos];
+    }
+
+    /**
+     * Compara as linhas a e b como {@code text(a).compareToIgnoreCase(text(b))}
+     * (mesmo sinal), lendo do buffer.
+     */
+    int compare(int a, int b) {
+        int pa = start[a], endA = start[a + 1];
+        int pb = start[b], endB = start[b + 1];
+        for (; pa < endA && pb < endB; pa++, pb++) {
+            char ca = charAt(pa), cb = charAt(pb);
+            if (ca != cb) {
+                char fa = FoldedStringSort.FOLD[ca], fb = FoldedStringSort.FOLD[cb];
+                if (fa != fb) {
+                    if (surrogates && (Character.isSurrogate(ca) || Character.isSurrogate(cb))) {
+                        return text(a).compareToIgnoreCase(text(b));
+                    }
+                    return fa - fb;
+                }
+            }
+        }
+        return (endA - start[a]) - (endB - start[b]);
+    }
+
+    // -----------------------------------------------------
+    // Ordenações (permutam apenas order)
+
+    /**
+     * Merge Sort com um único buffer de índices alternando de papel entre os
+     * níveis, como {@link SortingComparisonEnhanced#mergeSortBufferedStrings}. Estável.
+     */
+    public static void mergeSort(StringArena arena, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int n = arena.order.length;
+        if (n < 2) return;
+        int[] buffer = arena.order.clone();
+        if (counting) m.trocas += n;
+        mergeSort(arena, buffer, arena.order, 0, n - 1, m);
+    }
+
+    // Ordena dst[left..right] usando src (com o mesmo conteúdo) como área auxiliar
+    private static void mergeSort(StringArena arena, int[] src, int[] dst, int left, int right, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if (left >= right) return;
+        if (right - left > SortingComparisonEnhanced.CANCEL_CHECK_MASK) m.checkCancelled();
+        int mid = (left + right) >>> 1;
+        mergeSort(arena, dst, src, left, mid, m);
+        mergeSort(arena, dst, src, mid + 1, right, m);
+
+        int i = left, j = mid + 1, k = left;
+        long comparacoes = 0;
+        while (i <= mid && j <= right) {
+            if (counting) comparacoes++;
+            if (arena.compare(src[i], src[j]) <= 0) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        System.arraycopy(src, i, dst, k, mid + 1 - i);
+        System.arraycopy(src, j, dst, k + mid + 1 - i, right + 1 - j);
+        m.comparacoes += comparacoes;
+        if (counting) m.trocas += right - left + 1;
+    }
+
+    /**
+     * Quick Sort com partição em três vias (Dijkstra) e pivô na mediana de três,
+     * recorrendo no lado menor; as linhas iguais ao pivô saem da recursão, o que
+     * favorece textos com muitas repetições.
+     */
+    public static void quickSort3Way(StringArena arena, SortMetrics m) {
+        quickSort3Way(arena, arena.order, 0, arena.order.length - 1, m);
+    }
+
+    private static void quickSort3Way(StringArena arena, int[] idx, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        while (hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+            m.checkCancelled();
+            swap(idx, lo, medianOfThree(arena, idx, lo, (lo + hi) >>> 1, hi, m), m);
+            int v = idx[lo];
+            int lt = lo, gt = hi, i = lo + 1;
+            long comparacoes = 0, trocas = 0;
+            while (i <= gt) {
+                int c = arena.compare(idx[i], v);
+                if (counting) comparacoes++;
+                if (c < 0) {
+                    int t = idx[lt]; idx[lt++] = idx[i]; idx[i++] = t;
+                    if (counting) trocas++;
+                } else if (c > 0) {
+                    int t = idx[gt]; idx[gt--] = idx[i]; idx[i] = t;
+                    if (counting) trocas++;
+                } else {
+                    i++;
+                }
+            }
+            m.comparacoes += comparacoes;
+            m.trocas += trocas;
+
+            if (lt - lo < hi - gt) {
+                quickSort3Way(arena, idx, lo, lt - 1, m);
+                lo = gt + 1;
+            } else {
+                quickSort3Way(arena, idx, gt + 1, hi, m);
+                hi = lt - 1;
+            }
+        }
+        insertionSort(arena, idx, lo, hi, m);
+    }
+
+    private static int medianOfThree(StringArena arena, int[] idx, int a, int b, int c, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        if (counting) m.comparacoes += 2;
+        if (arena.compare(idx[a], idx[b]) < 0) {
+            if (arena.compare(idx[b], idx[c]) < 0) return b;
+            if (counting) m.comparacoes++;
+            return arena.compare(idx[a], idx[c]) < 0 ? c : a;
+        } else {
+            if (arena.compare(idx[a], idx[c]) < 0) return a;
+            if (counting) m.comparacoes++;
+            return arena.compare(idx[b], idx[c]) < 0 ? c : b;
+        }
+    }
+
+    private static void insertionSort(StringArena arena, int[] idx, int lo, int hi, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        long comparacoes = 0, trocas = 0;
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = idx[i];
+            int j = i - 1;
+            while (j >= lo) {
+                if (counting) comparacoes++;
+                if (arena.compare(idx[j], key) <= 0) break;
+                idx[j + 1] = idx[j];
+                if (counting) trocas++;
+                j--;
+            }
+            idx[j + 1] = key;
+        }
+        m.comparacoes += comparacoes;
+        m.trocas += trocas;
+    }
+
+    private static void swap(int[] idx, int i, int j, SortMetrics m) {
+        final boolean counting = m.isCounting();
+        int t = idx[i];
+        idx[i] = idx[j];
+        idx[j] = t;
+        if (counting) m.trocas++;
+    }
+
+    /**
+     * Monta o buffer crescendo por duplicação: começa em Latin-1 e passa a
+     * UTF-16 no primeiro caractere acima de 0xFF.
+     */
+    private static final class Builder {
+        private byte[] latin1 = new byte[1 << 16];
+        private char[] utf16;
+        private int length;
+        private int[] start = new int[1 << 12];
+        private int lines;
+        private boolean surrogates;
+
+        boolean lineEmpty() {
+            return length == start[lines];
+        }
+
+        void append(char c) throws IOException {
+            int capacity = latin1 != null ? latin1.length : utf16.length;
+            if (length == capacity) {
+                if (capacity == MAX_TEXT_SIZE) {
+                    throw new IOException("Texto grande demais para o armazenamento compacto (mais de " + MAX_TEXT_SIZE + " caracteres)");
+                }
+                capacity = (int) Math.min(MAX_TEXT_SIZE, 2L * capacity);
+                if (latin1 != null) {
+                    latin1 = Arrays.copyOf(latin1, capacity);
+                } else {
+                    utf16 = Arrays.copyOf(utf16, capacity);
+                }
+            }
+            if (latin1 != null && c > 0xFF) {
+                utf16 = new char[capacity];
+                for (int i = 0; i < length; i++) {
+                    utf16[i] = (char) (latin1[i] & 0xFF);
+                }
+                latin1 = null;
+            }
+            if (latin1 != null) {
+                latin1[length++] = (byte) c;
+            } else {
+                utf16[length++] = c;
+                surrogates |= Character.isSurrogate(c);
+            }
+        }
+
+        /**
+         * Fecha a linha atual sem os espaços do fim (como {@link String#trim()}),
+         * descartando-a se ficar vazia.
+         */
+        void endTrimmedLine() {
+            int lineStart = start[lines];
+            while (length > lineStart && (latin1 != null ? latin1[length - 1] & 0xFF : utf16[length - 1]) <= ' ') {
+                length--;
+            }
+            if (length > lineStart) {
+                endLine();
+            }
+        }
+
+        void endLine() {
+            if (lines + 1 == start.length) {
+                start = Arrays.copyOf(start, start.length * 2);
+            }
+            start[++lines] = length;
+        }
+
+        StringArena build() {
+            int[] order = new int[lines];
+            for (int i = 0; i < lines; i++) {
+                order[i] = i;
+            }
+            return new StringArena(latin1 != null ? Arrays.copyOf(latin1, length) : null, utf16 != null ? Arrays.copyOf(utf16, length) : null,
+                    Arrays.copyOf(start, lines + 1), order, surrogates);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 module com.exemple.sortinganalysis {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.management;
+    requires jdk.jfr;
 
 
     opens com.exemple.sortinganalysis to javafx.fxml;